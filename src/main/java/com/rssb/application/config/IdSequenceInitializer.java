@@ -0,0 +1,67 @@
+package com.rssb.application.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Moves the tables that used identity columns onto the pooled ID sequences (&lt;table&gt;_seq, increment 50)
+ * that the entities now use, so Hibernate can batch their inserts.
+ *
+ * Runs once the schema update has created the sequences and before the web server starts:
+ * drops the old identity, makes the sequence the column default (raw SQL inserts then draw from it as well)
+ * and moves the sequence past the largest existing ID. The column is checked in the catalog first, so the ALTERs
+ * (which lock the table exclusively) only run on tables not migrated yet, not on every start of every instance.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdSequenceInitializer {
+
+    // allocationSize of the entities' @SequenceGenerator (= the sequences' increment)
+    static final int ALLOCATION_SIZE = 50;
+
+    // Tables created with identity IDs before the switch to sequences
+    private static final List<String> TABLES = List.of(
+            "addresses", "attendances", "notification_preferences", "programs", "program_applications",
+            "program_dates", "program_notification_preferences", "program_workflows", "sewadars",
+            "sewadar_form_submissions", "sewadar_languages");
+
+    // true when the table's id column is still an identity or does not default to the given sequence
+    private static final String NEEDS_MIGRATION_SQL =
+            "SELECT a.attidentity <> '' OR pg_get_expr(d.adbin, d.adrelid) IS DISTINCT FROM ? " +
+            "FROM pg_attribute a LEFT JOIN pg_attrdef d ON d.adrelid = a.attrelid AND d.adnum = a.attnum " +
+            "WHERE a.attrelid = ?::regclass AND a.attname = 'id'";
+
+    // Depending on the EntityManagerFactory guarantees the schema update (which creates the sequences) has run
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void alignSequences() {
+        for (String table : TABLES) {
+            String sequence = table + "_seq";
+            String sequenceDefault = "nextval('" + sequence + "'::regclass)";
+            if (jdbcTemplate.queryForObject(NEEDS_MIGRATION_SQL, Boolean.class, sequenceDefault, table)) {
+                jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id DROP IDENTITY IF EXISTS");
+                jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id SET DEFAULT nextval('" + sequence + "')");
+                log.info("Moved the IDs of {} onto {}", table, sequence);
+            }
+
+            // The pooled optimizer takes a fetched value V as the top of its block [V - 49, V], so the sequence is kept
+            // at max(id) + 50 or above: the next block then starts above every existing ID, whatever V is fetched next
+            long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            long floor = maxId + ALLOCATION_SIZE;
+            boolean behind = jdbcTemplate.queryForObject("SELECT last_value < ? FROM " + sequence, Boolean.class, floor);
+            if (behind) {
+                jdbcTemplate.queryForObject("SELECT setval('" + sequence + "', ?)", Long.class, floor);
+                log.info("Moved {} past the largest existing ID of {} ({})", sequence, table, maxId);
+            }
+        }
+    }
+}
@@ -10,5 +10,6 @@ import org.springframework.context.annotation.Configuration;
 public class JwtConfig {
     private String secret = "your-secret-key-change-this-in-production-minimum-256-bits-required-for-security";
     private Long expiration = 86400000L; // 24 hours in milliseconds
+    private Long verifiedCacheSize = 10000L; // verified tokens kept to skip re-verification (see JwtUtil.authenticate)
 }
 
@@ -1,8 +1,11 @@
 package com.rssb.application.config;
 
 import com.rssb.application.filter.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpMethod;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -25,9 +28,10 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    // Hashes with a lower cost are re-encoded on the next successful login (see PasswordVerificationService)
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.security.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 
     @Bean
@@ -36,9 +40,12 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches (streamed exports) continue a request that was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // Public endpoints
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/bootstrap/**").permitAll() // Bootstrap endpoints
+                        .requestMatchers(HttpMethod.POST, "/api/sewadars/import").hasAnyRole("ADMIN", "INCHARGE")
                         .requestMatchers("/api/sewadars", "/api/sewadars/**").permitAll() // For now, allow all sewadar operations
                         .requestMatchers("/api/sql-query/**").permitAll() // SQL query endpoint for testing (NO AUTH - development only)
                         // Protected endpoints - require authentication
@@ -48,6 +55,8 @@ public class SecurityConfig {
                         .requestMatchers("/api/actions/**").authenticated()
                         .requestMatchers("/api/action-responses/**").authenticated()
                         .requestMatchers("/api/attendances/**").authenticated()
+                        // Metrics (e.g. sewadar lookup cache hit rate) are for admins only
+                        .requestMatchers("/actuator/metrics", "/actuator/metrics/**").hasRole("ADMIN")
                         // Static resources - allow all HTML, JS, CSS, and other static files
                         .requestMatchers("/", "/*.html", "/*.js", "/*.css", "/*.png", "/*.jpg", "/*.jpeg", "/*.gif", "/*.ico", "/assets/**").permitAll()
                         .anyRequest().authenticated()
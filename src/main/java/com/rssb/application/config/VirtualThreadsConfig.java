@@ -0,0 +1,102 @@
+package com.rssb.application.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/**
+ * Virtual-thread mode (spring.threads.virtual.enabled=true, Java 21+ runtime).
+ *
+ * Spring Boot then runs Tomcat requests, @Async/MVC async tasks and the scheduler on virtual threads, and
+ * NotificationFanOutService sends on virtual threads. This configuration adds two safeguards:
+ * the DataSource is wrapped in a {@link ConnectionLimitingDataSource} sized to the Hikari pool (callers wait up to
+ * app.virtual-threads.connection-permit-timeout-ms for a permit, then Hikari's connection-timeout), and pinned virtual
+ * threads (JFR event jdk.VirtualThreadPinned) are logged with their stack and counted (jvm.threads.virtual.pinned).
+ * Nothing here is active in the default platform-thread mode.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class VirtualThreadsConfig {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int PINNED_STACK_DEPTH = 8;
+
+    @Bean
+    static BeanPostProcessor connectionLimitingDataSourcePostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${app.virtual-threads.connection-permit-timeout-ms:10000}") long permitTimeoutMs) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikari)) {
+                    return bean;
+                }
+                ConnectionLimitingDataSource limited = new ConnectionLimitingDataSource(
+                        hikari, hikari.getMaximumPoolSize(), permitTimeoutMs);
+                meterRegistry.ifAvailable(registry -> Gauge.builder("db.connections.limiter.waiting", limited,
+                                ConnectionLimitingDataSource::getWaitingThreads)
+                        .description("Threads waiting for a database connection permit")
+                        .register(registry));
+                log.info("Virtual threads: database access limited to {} concurrent connections", hikari.getMaximumPoolSize());
+                return limited;
+            }
+        };
+    }
+
+    @Bean
+    PinnedThreadMonitor pinnedThreadMonitor(MeterRegistry meterRegistry,
+                                            @Value("${app.virtual-threads.pinned-threshold-ms:20}") long thresholdMs) {
+        return new PinnedThreadMonitor(meterRegistry, thresholdMs);
+    }
+
+    /**
+     * Streams jdk.VirtualThreadPinned events (a virtual thread blocked while holding its carrier, e.g. inside
+     * synchronized) from an in-process JFR recording.
+     */
+    static class PinnedThreadMonitor implements DisposableBean {
+
+        private final RecordingStream stream;
+
+        PinnedThreadMonitor(MeterRegistry meterRegistry, long thresholdMs) {
+            Counter pinned = Counter.builder("jvm.threads.virtual.pinned")
+                    .description("Virtual threads pinned to their carrier longer than the threshold")
+                    .register(meterRegistry);
+            stream = new RecordingStream();
+            stream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMs)).withStackTrace();
+            stream.onEvent(PINNED_EVENT, event -> {
+                pinned.increment();
+                String stack = event.getStackTrace() == null ? "(no stack)" : event.getStackTrace().getFrames().stream()
+                        .limit(PINNED_STACK_DEPTH)
+                        .map(RecordedFrame::getMethod)
+                        .map(method -> method.getType().getName() + "." + method.getName())
+                        .collect(Collectors.joining(" <- "));
+                log.warn("[VIRTUAL THREAD PINNED] {} ms on {}: {}", event.getDuration().toMillis(),
+                        event.getThread() != null ? event.getThread().getJavaName() : "?", stack);
+            });
+            stream.startAsync();
+            log.info("Virtual threads: logging pinned threads (>= {} ms)", thresholdMs);
+        }
+
+        @Override
+        public void destroy() {
+            stream.close();
+        }
+    }
+}
@@ -1,19 +1,24 @@
 package com.rssb.application.controller;
 
+import com.rssb.application.dto.AttendanceGridRequest;
 import com.rssb.application.dto.AttendanceRequest;
+import com.rssb.application.dto.AuthenticatedUser;
 import com.rssb.application.dto.AttendanceResponse;
+import com.rssb.application.dto.AttendanceStatsMaintenanceResponse;
+import com.rssb.application.dto.BulkAttendanceResponse;
 import com.rssb.application.dto.ProgramAttendeeResponse;
 import com.rssb.application.service.AttendanceService;
+import com.rssb.application.service.AttendanceStatsService;
 import com.rssb.application.util.ActionLogger;
 import com.rssb.application.util.UserContextUtil;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.HashMap;
 import java.util.List;
@@ -28,6 +33,7 @@ import java.util.Map;
 public class AttendanceController {
 
     private final AttendanceService attendanceService;
+    private final AttendanceStatsService attendanceStatsService;
     private final ActionLogger actionLogger;
 
     @PostMapping
@@ -35,16 +41,12 @@ public class AttendanceController {
         log.info("POST /api/attendances - Marking attendance");
         
         // Get current user (incharge) from JWT token
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || authentication.getPrincipal() == null) {
-            throw new IllegalStateException("User not authenticated");
-        }
-        
-        String inchargeZonalId = (String) authentication.getPrincipal();
-        String userRole = UserContextUtil.getCurrentUserRole();
+        AuthenticatedUser incharge = UserContextUtil.getCurrentUser();
+        String inchargeZonalId = incharge.getZonalId();
+        String userRole = incharge.getRole().name();
         
         long startTime = System.currentTimeMillis();
-        List<AttendanceResponse> responses = attendanceService.markAttendance(request, inchargeZonalId);
+        List<AttendanceResponse> responses = attendanceService.markAttendance(request, incharge);
         long duration = System.currentTimeMillis() - startTime;
         
         Map<String, Object> details = new HashMap<>();
@@ -60,6 +62,61 @@ public class AttendanceController {
         return ResponseEntity.status(HttpStatus.CREATED).body(responses);
     }
 
+    /**
+     * Mark a whole attendance sheet in one statement, with a result per sewadar
+     * (CREATED, UPDATED or NOT_APPROVED)
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkAttendanceResponse> markAttendanceBulk(@Valid @RequestBody AttendanceRequest request) {
+        log.info("POST /api/attendances/bulk - Marking attendance sheet");
+
+        AuthenticatedUser incharge = UserContextUtil.getCurrentUser();
+
+        long startTime = System.currentTimeMillis();
+        BulkAttendanceResponse response = attendanceService.markAttendanceBulk(request, incharge);
+        long duration = System.currentTimeMillis() - startTime;
+
+        Map<String, Object> details = new HashMap<>();
+        details.put("programId", request.getProgramId());
+        details.put("programDate", request.getProgramDate());
+        details.put("sewadarCount", request.getSewadarIds().size());
+        details.put("created", response.getCreatedCount());
+        details.put("updated", response.getUpdatedCount());
+        details.put("rejected", response.getRejectedCount());
+        details.put("durationMs", duration);
+        actionLogger.logAction("MARK_ATTENDANCE_BULK", incharge.getZonalId(), incharge.getRole().name(), details);
+        actionLogger.logPerformance("MARK_ATTENDANCE_BULK", duration);
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Mark attendance for several program dates in one request (for each sewadar, the dates attended),
+     * with a result per sewadar and date
+     */
+    @PostMapping("/grid")
+    public ResponseEntity<BulkAttendanceResponse> markAttendanceGrid(@Valid @RequestBody AttendanceGridRequest request) {
+        log.info("POST /api/attendances/grid - Marking attendance grid");
+
+        AuthenticatedUser incharge = UserContextUtil.getCurrentUser();
+
+        long startTime = System.currentTimeMillis();
+        BulkAttendanceResponse response = attendanceService.markAttendanceGrid(request, incharge);
+        long duration = System.currentTimeMillis() - startTime;
+
+        Map<String, Object> details = new HashMap<>();
+        details.put("programId", request.getProgramId());
+        details.put("sewadarCount", request.getSewadars().size());
+        details.put("created", response.getCreatedCount());
+        details.put("updated", response.getUpdatedCount());
+        details.put("rejected", response.getRejectedCount());
+        details.put("durationMs", duration);
+        actionLogger.logAction("MARK_ATTENDANCE_GRID", incharge.getZonalId(), incharge.getRole().name(), details);
+        actionLogger.logPerformance("MARK_ATTENDANCE_GRID", duration);
+
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Get approved sewadars (attendees) for a program
      * @param programId Program ID
@@ -102,11 +159,12 @@ public class AttendanceController {
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteAttendance(@PathVariable Long id) {
-        String userId = UserContextUtil.getCurrentUserId();
-        String userRole = UserContextUtil.getCurrentUserRole();
+        AuthenticatedUser user = UserContextUtil.getCurrentUser();
+        String userId = user.getZonalId();
+        String userRole = user.getRole().name();
 
         long startTime = System.currentTimeMillis();
-        attendanceService.deleteAttendance(id, userId);
+        attendanceService.deleteAttendance(id, user);
         long duration = System.currentTimeMillis() - startTime;
 
         Map<String, Object> details = new HashMap<>();
@@ -150,12 +208,62 @@ public class AttendanceController {
     }
 
     /**
-     * Get attendance summary for all sewadars with BEAS/non-BEAS breakdown
+     * Get attendance summary for all sewadars with BEAS/non-BEAS breakdown.
+     * Pass page/size (max 1000) for one page; without them all sewadars are returned.
      */
     @GetMapping("/all-sewadars/summary")
-    public ResponseEntity<com.rssb.application.dto.AllSewadarsAttendanceSummaryResponse> getAllSewadarsAttendanceSummary() {
-        log.info("GET /api/attendances/all-sewadars/summary");
-        return ResponseEntity.ok(attendanceService.getAllSewadarsAttendanceSummary());
+    public ResponseEntity<com.rssb.application.dto.AllSewadarsAttendanceSummaryResponse> getAllSewadarsAttendanceSummary(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+        log.info("GET /api/attendances/all-sewadars/summary (page: {}, size: {})", page, size);
+        return ResponseEntity.ok(attendanceService.getAllSewadarsAttendanceSummary(page, size));
+    }
+
+    /**
+     * Stream the attendance summary of all sewadars as NDJSON (one JSON object per line, ordered by zonal ID)
+     */
+    @GetMapping(value = "/all-sewadars/summary/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllSewadarsAttendanceSummary() {
+        log.info("GET /api/attendances/all-sewadars/summary/stream");
+        StreamingResponseBody body = attendanceService.streamAllSewadarsAttendanceSummary()::writeTo;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Recompute the per-sewadar attendance counters from the attendances table (ADMIN only).
+     * Run after bulk loads or direct SQL changes to attendances.
+     */
+    @PostMapping("/stats/rebuild")
+    public ResponseEntity<AttendanceStatsMaintenanceResponse> rebuildAttendanceStats() {
+        String userId = UserContextUtil.getCurrentUserId();
+        String userRole = UserContextUtil.getCurrentUserRole();
+        if (!"ADMIN".equals(userRole)) {
+            throw new IllegalArgumentException("Only admin can rebuild attendance stats");
+        }
+        
+        AttendanceStatsMaintenanceResponse response = attendanceStatsService.rebuildAll();
+        
+        Map<String, Object> details = new HashMap<>();
+        details.put("sewadarsProcessed", response.getSewadarsProcessed());
+        details.put("mismatchCount", response.getMismatchCount());
+        details.put("durationMs", response.getDurationMs());
+        actionLogger.logAction("REBUILD_ATTENDANCE_STATS", userId, userRole, details);
+        actionLogger.logPerformance("REBUILD_ATTENDANCE_STATS", response.getDurationMs());
+        
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Compare the per-sewadar attendance counters with the attendances table without changing them (ADMIN only)
+     */
+    @GetMapping("/stats/verify")
+    public ResponseEntity<AttendanceStatsMaintenanceResponse> verifyAttendanceStats() {
+        if (!"ADMIN".equals(UserContextUtil.getCurrentUserRole())) {
+            throw new IllegalArgumentException("Only admin can verify attendance stats");
+        }
+        return ResponseEntity.ok(attendanceStatsService.verifyAll());
     }
 
     /**
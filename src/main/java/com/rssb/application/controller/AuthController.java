@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -23,24 +24,29 @@ public class AuthController {
     private final AuthService authService;
     private final ActionLogger actionLogger;
 
+    /**
+     * Log in. The password is checked on the login hashing pool, so the request completes asynchronously;
+     * 503 with Retry-After when that pool's queue is full.
+     */
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest request) {
+    public CompletableFuture<ResponseEntity<LoginResponse>> login(@Valid @RequestBody LoginRequest request) {
         log.info("POST /api/auth/login - Login attempt for zonalId: {}", request.getZonalId());
         
         long startTime = System.currentTimeMillis();
-        LoginResponse response = authService.login(request);
-        long duration = System.currentTimeMillis() - startTime;
-        
-        Map<String, Object> details = new HashMap<>();
-        details.put("zonalId", request.getZonalId());
-        details.put("role", response.getSewadar() != null ? response.getSewadar().getRole() : "UNKNOWN");
-        details.put("name", response.getSewadar() != null ? 
-                response.getSewadar().getFirstName() + " " + response.getSewadar().getLastName() : "UNKNOWN");
-        details.put("durationMs", duration);
-        actionLogger.logAction("LOGIN", request.getZonalId(), response.getSewadar() != null ? response.getSewadar().getRole() : "UNKNOWN", details);
-        actionLogger.logPerformance("LOGIN", duration);
-        
-        return ResponseEntity.ok(response);
+        return authService.login(request).thenApply(response -> {
+            long duration = System.currentTimeMillis() - startTime;
+
+            Map<String, Object> details = new HashMap<>();
+            details.put("zonalId", request.getZonalId());
+            details.put("role", response.getSewadar() != null ? response.getSewadar().getRole() : "UNKNOWN");
+            details.put("name", response.getSewadar() != null ? 
+                    response.getSewadar().getFirstName() + " " + response.getSewadar().getLastName() : "UNKNOWN");
+            details.put("durationMs", duration);
+            actionLogger.logAction("LOGIN", request.getZonalId(), response.getSewadar() != null ? response.getSewadar().getRole() : "UNKNOWN", details);
+            actionLogger.logPerformance("LOGIN", duration);
+
+            return ResponseEntity.ok(response);
+        });
     }
 
     @PostMapping("/logout")
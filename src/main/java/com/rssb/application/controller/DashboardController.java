@@ -2,6 +2,7 @@ package com.rssb.application.controller;
 
 import com.rssb.application.dto.*;
 import com.rssb.application.service.DashboardService;
+import com.rssb.application.service.ExportJobService;
 import com.rssb.application.util.ActionLogger;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,7 +12,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.FilterOutputStream;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -22,6 +26,7 @@ import java.util.Map;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final ExportJobService exportJobService;
     private final ActionLogger actionLogger;
 
     /**
@@ -32,7 +37,7 @@ public class DashboardController {
         log.info("GET /api/dashboard/sewadars");
         
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String currentUserId = (String) auth.getPrincipal();
+        String currentUserId = auth.getName();
         String currentUserRole = auth.getAuthorities().iterator().next().getAuthority();
         
         SewadarDashboardResponse response = dashboardService.getSewadars(request, currentUserId, currentUserRole);
@@ -48,7 +53,7 @@ public class DashboardController {
         log.info("GET /api/dashboard/sewadar/{}/attendance", sewadarId);
         
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String currentUserId = (String) auth.getPrincipal();
+        String currentUserId = auth.getName();
         String currentUserRole = auth.getAuthorities().iterator().next().getAuthority();
         
         SewadarDetailedAttendanceResponse response = dashboardService.getSewadarDetailedAttendance(
@@ -57,14 +62,16 @@ public class DashboardController {
     }
 
     /**
-     * Get detailed attendance for a program (one row per sewadar with date columns)
+     * Get detailed attendance for a program (one row per sewadar with date columns).
+     * With compact=true each row lists the attended date indexes instead of a date -> status map.
      */
     @GetMapping("/program/{programId}/attendance")
     public ResponseEntity<ProgramDetailedAttendanceResponse> getProgramAttendance(
-            @PathVariable Long programId) {
-        log.info("GET /api/dashboard/program/{}/attendance", programId);
+            @PathVariable Long programId,
+            @RequestParam(defaultValue = "false") boolean compact) {
+        log.info("GET /api/dashboard/program/{}/attendance (compact: {})", programId, compact);
         
-        ProgramDetailedAttendanceResponse response = dashboardService.getProgramDetailedAttendance(programId);
+        ProgramDetailedAttendanceResponse response = dashboardService.getProgramDetailedAttendance(programId, compact);
         return ResponseEntity.ok(response);
     }
 
@@ -77,7 +84,7 @@ public class DashboardController {
         log.info("POST /api/dashboard/applications");
         
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String currentUserId = (String) auth.getPrincipal();
+        String currentUserId = auth.getName();
         String currentUserRole = auth.getAuthorities().iterator().next().getAuthority();
         
         ApplicationDashboardResponse response = dashboardService.getApplications(request, currentUserId, currentUserRole);
@@ -85,125 +92,203 @@ public class DashboardController {
     }
 
     /**
-     * Export sewadars to CSV/XLSX/PDF
+     * Export sewadars to CSV/XLSX/PDF (streamed row by row)
      */
     @PostMapping("/sewadars/export/{format}")
-    public ResponseEntity<byte[]> exportSewadars(
+    public ResponseEntity<StreamingResponseBody> exportSewadars(
             @RequestBody DashboardQueryRequest request,
             @PathVariable String format) {
         log.info("POST /api/dashboard/sewadars/export/{}", format);
         
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String currentUserId = (String) auth.getPrincipal();
+        String currentUserId = auth.getName();
         String currentUserRole = auth.getAuthorities().iterator().next().getAuthority();
         
-        long startTime = System.currentTimeMillis();
-        byte[] data = dashboardService.exportSewadars(request, format.toUpperCase(), currentUserId, currentUserRole);
-        long duration = System.currentTimeMillis() - startTime;
-        
-        Map<String, Object> details = new HashMap<>();
-        details.put("format", format.toUpperCase());
-        details.put("fileSizeBytes", data.length);
-        details.put("durationMs", duration);
-        actionLogger.logAction("EXPORT_SEWADARS", currentUserId, currentUserRole, details);
-        actionLogger.logPerformance("EXPORT_SEWADARS", duration);
-        
-        HttpHeaders headers = new HttpHeaders();
-        String contentType = getContentType(format);
-        String filename = "sewadars." + format.toLowerCase();
+        return exportResponse("sewadars." + format.toLowerCase(), format,
+                sewadarsExport(request, format, currentUserId, currentUserRole));
+    }
+
+    /**
+     * Queue a sewadars export as an export job (?async=true); returns 202 with the job status, see ExportJobController
+     */
+    @PostMapping(value = "/sewadars/export/{format}", params = "async=true")
+    public ResponseEntity<ExportJobResponse> queueSewadarsExport(
+            @RequestBody DashboardQueryRequest request,
+            @PathVariable String format) {
+        log.info("POST /api/dashboard/sewadars/export/{}?async=true", format);
         
-        headers.setContentType(MediaType.parseMediaType(contentType));
-        headers.setContentDispositionFormData("attachment", filename);
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String currentUserId = auth.getName();
+        String currentUserRole = auth.getAuthorities().iterator().next().getAuthority();
         
-        return ResponseEntity.ok()
-                .headers(headers)
-                .body(data);
+        return queueExport("SEWADARS", request.toString(), "sewadars." + format.toLowerCase(), format,
+                currentUserId, currentUserRole, sewadarsExport(request, format, currentUserId, currentUserRole));
     }
 
     /**
      * Export sewadar detailed attendance
      */
     @GetMapping("/sewadar/{sewadarId}/attendance/export/{format}")
-    public ResponseEntity<byte[]> exportSewadarAttendance(
+    public ResponseEntity<StreamingResponseBody> exportSewadarAttendance(
             @PathVariable String sewadarId,
             @PathVariable String format) {
         log.info("GET /api/dashboard/sewadar/{}/attendance/export/{}", sewadarId, format);
         
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String currentUserId = (String) auth.getPrincipal();
+        String currentUserId = auth.getName();
         String currentUserRole = auth.getAuthorities().iterator().next().getAuthority();
         
-        byte[] data = dashboardService.exportSewadarAttendance(sewadarId, format.toUpperCase(), currentUserId, currentUserRole);
+        StreamingResponseBody body = dashboardService.streamSewadarAttendanceExport(sewadarId, format, currentUserId, currentUserRole)::writeTo;
         
-        HttpHeaders headers = new HttpHeaders();
-        String contentType = getContentType(format);
-        String filename = "sewadar_" + sewadarId + "_attendance." + format.toLowerCase();
+        return exportResponse("sewadar_" + sewadarId + "_attendance." + format.toLowerCase(), format, body);
+    }
+
+    /**
+     * Queue a sewadar detailed attendance export as an export job (?async=true)
+     */
+    @GetMapping(value = "/sewadar/{sewadarId}/attendance/export/{format}", params = "async=true")
+    public ResponseEntity<ExportJobResponse> queueSewadarAttendanceExport(
+            @PathVariable String sewadarId,
+            @PathVariable String format) {
+        log.info("GET /api/dashboard/sewadar/{}/attendance/export/{}?async=true", sewadarId, format);
         
-        headers.setContentType(MediaType.parseMediaType(contentType));
-        headers.setContentDispositionFormData("attachment", filename);
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String currentUserId = auth.getName();
+        String currentUserRole = auth.getAuthorities().iterator().next().getAuthority();
         
-        return ResponseEntity.ok()
-                .headers(headers)
-                .body(data);
+        StreamingResponseBody body = dashboardService.streamSewadarAttendanceExport(sewadarId, format, currentUserId, currentUserRole)::writeTo;
+        
+        return queueExport("SEWADAR_ATTENDANCE", sewadarId, "sewadar_" + sewadarId + "_attendance." + format.toLowerCase(),
+                format, currentUserId, currentUserRole, body);
     }
 
     /**
      * Export program detailed attendance
      */
     @GetMapping("/program/{programId}/attendance/export/{format}")
-    public ResponseEntity<byte[]> exportProgramAttendance(
+    public ResponseEntity<StreamingResponseBody> exportProgramAttendance(
             @PathVariable Long programId,
             @PathVariable String format) {
         log.info("GET /api/dashboard/program/{}/attendance/export/{}", programId, format);
         
-        byte[] data = dashboardService.exportProgramAttendance(programId, format.toUpperCase());
+        StreamingResponseBody body = dashboardService.streamProgramAttendanceExport(programId, format)::writeTo;
         
-        HttpHeaders headers = new HttpHeaders();
-        String contentType = getContentType(format);
-        String filename = "program_" + programId + "_attendance." + format.toLowerCase();
+        return exportResponse("program_" + programId + "_attendance." + format.toLowerCase(), format, body);
+    }
+
+    /**
+     * Queue a program detailed attendance export as an export job (?async=true)
+     */
+    @GetMapping(value = "/program/{programId}/attendance/export/{format}", params = "async=true")
+    public ResponseEntity<ExportJobResponse> queueProgramAttendanceExport(
+            @PathVariable Long programId,
+            @PathVariable String format) {
+        log.info("GET /api/dashboard/program/{}/attendance/export/{}?async=true", programId, format);
         
-        headers.setContentType(MediaType.parseMediaType(contentType));
-        headers.setContentDispositionFormData("attachment", filename);
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String currentUserId = auth.getName();
+        String currentUserRole = auth.getAuthorities().iterator().next().getAuthority();
         
-        return ResponseEntity.ok()
-                .headers(headers)
-                .body(data);
+        StreamingResponseBody body = dashboardService.streamProgramAttendanceExport(programId, format)::writeTo;
+        
+        return queueExport("PROGRAM_ATTENDANCE", String.valueOf(programId),
+                "program_" + programId + "_attendance." + format.toLowerCase(), format, currentUserId, currentUserRole, body);
     }
 
     /**
      * Export applications
      */
     @PostMapping("/applications/export/{format}")
-    public ResponseEntity<byte[]> exportApplications(
+    public ResponseEntity<StreamingResponseBody> exportApplications(
             @RequestBody DashboardQueryRequest request,
             @PathVariable String format) {
         log.info("POST /api/dashboard/applications/export/{}", format);
         
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String currentUserId = (String) auth.getPrincipal();
+        String currentUserId = auth.getName();
         String currentUserRole = auth.getAuthorities().iterator().next().getAuthority();
         
-        long startTime = System.currentTimeMillis();
-        byte[] data = dashboardService.exportApplications(request, format.toUpperCase(), currentUserId, currentUserRole);
-        long duration = System.currentTimeMillis() - startTime;
+        return exportResponse("applications." + format.toLowerCase(), format,
+                applicationsExport(request, format, currentUserId, currentUserRole));
+    }
+
+    /**
+     * Queue an applications export as an export job (?async=true)
+     */
+    @PostMapping(value = "/applications/export/{format}", params = "async=true")
+    public ResponseEntity<ExportJobResponse> queueApplicationsExport(
+            @RequestBody DashboardQueryRequest request,
+            @PathVariable String format) {
+        log.info("POST /api/dashboard/applications/export/{}?async=true", format);
         
-        Map<String, Object> details = new HashMap<>();
-        details.put("format", format.toUpperCase());
-        details.put("fileSizeBytes", data.length);
-        details.put("durationMs", duration);
-        actionLogger.logAction("EXPORT_APPLICATIONS", currentUserId, currentUserRole, details);
-        actionLogger.logPerformance("EXPORT_APPLICATIONS", duration);
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String currentUserId = auth.getName();
+        String currentUserRole = auth.getAuthorities().iterator().next().getAuthority();
         
+        return queueExport("APPLICATIONS", request.toString(), "applications." + format.toLowerCase(), format,
+                currentUserId, currentUserRole, applicationsExport(request, format, currentUserId, currentUserRole));
+    }
+
+    private StreamingResponseBody sewadarsExport(DashboardQueryRequest request, String format, String currentUserId, String currentUserRole) {
+        StreamingResponseBody body = dashboardService.streamSewadarsExport(request, format, currentUserId, currentUserRole)::writeTo;
+        return withActionLog("EXPORT_SEWADARS", format, currentUserId, currentUserRole, body);
+    }
+
+    private StreamingResponseBody applicationsExport(DashboardQueryRequest request, String format, String currentUserId, String currentUserRole) {
+        StreamingResponseBody body = dashboardService.streamApplicationsExport(request, format, currentUserId, currentUserRole)::writeTo;
+        return withActionLog("EXPORT_APPLICATIONS", format, currentUserId, currentUserRole, body);
+    }
+
+    /**
+     * Queue the prepared export as an export job (202 Accepted with the job status)
+     */
+    private ResponseEntity<ExportJobResponse> queueExport(String exportType, String parameters, String filename, String format,
+                                                          String currentUserId, String currentUserRole, StreamingResponseBody body) {
+        ExportJobResponse job = exportJobService.submit(exportType, format, parameters, filename, getContentType(format),
+                currentUserId, currentUserRole, body::writeTo);
+        return ResponseEntity.accepted().body(job);
+    }
+
+    private ResponseEntity<StreamingResponseBody> exportResponse(String filename, String format, StreamingResponseBody body) {
         HttpHeaders headers = new HttpHeaders();
-        String contentType = getContentType(format);
-        String filename = "applications." + format.toLowerCase();
-        
-        headers.setContentType(MediaType.parseMediaType(contentType));
+        headers.setContentType(MediaType.parseMediaType(getContentType(format)));
         headers.setContentDispositionFormData("attachment", filename);
         
         return ResponseEntity.ok()
                 .headers(headers)
-                .body(data);
+                .body(body);
+    }
+
+    /**
+     * Log the export action once the body has been fully written (size and duration include streaming)
+     */
+    private StreamingResponseBody withActionLog(String action, String format, String currentUserId, String currentUserRole,
+                                                StreamingResponseBody body) {
+        return out -> {
+            long startTime = System.currentTimeMillis();
+            long[] bytesWritten = {0};
+            body.writeTo(new FilterOutputStream(out) {
+                @Override
+                public void write(int b) throws IOException {
+                    out.write(b);
+                    bytesWritten[0]++;
+                }
+                
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                    bytesWritten[0] += len;
+                }
+            });
+            long duration = System.currentTimeMillis() - startTime;
+            
+            Map<String, Object> details = new HashMap<>();
+            details.put("format", format.toUpperCase());
+            details.put("fileSizeBytes", bytesWritten[0]);
+            details.put("durationMs", duration);
+            actionLogger.logAction(action, currentUserId, currentUserRole, details);
+            actionLogger.logPerformance(action, duration);
+        };
     }
 
     private String getContentType(String format) {
@@ -0,0 +1,113 @@
+package com.rssb.application.controller;
+
+import com.rssb.application.dto.ExportJobResponse;
+import com.rssb.application.service.ExportJobService;
+import com.rssb.application.util.UserContextUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Status and download of asynchronous export jobs (queued with ?async=true on the dashboard export endpoints)
+ */
+@RestController
+@RequestMapping("/api/export-jobs")
+@RequiredArgsConstructor
+@Slf4j
+public class ExportJobController {
+
+    // Tomcat sendfile: the connector writes the file region to the socket itself (FileChannel.transferTo)
+    private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    private final ExportJobService exportJobService;
+
+    /**
+     * Get the status of an export job
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ExportJobResponse> getJob(@PathVariable String jobId) {
+        log.info("GET /api/export-jobs/{}", jobId);
+        return ResponseEntity.ok(exportJobService.getJob(jobId,
+                UserContextUtil.getCurrentUserId(), UserContextUtil.getCurrentUserRole()));
+    }
+
+    /**
+     * Download the file of a completed export job.
+     * Supports a single byte range (Range: bytes=start-end) so interrupted downloads can be resumed.
+     */
+    @GetMapping("/{jobId}/download")
+    public void download(@PathVariable String jobId, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.info("GET /api/export-jobs/{}/download", jobId);
+        ExportJobService.ExportJobFile file = exportJobService.getCompletedFile(jobId,
+                UserContextUtil.getCurrentUserId(), UserContextUtil.getCurrentUserRole());
+
+        long length = Files.size(file.path());
+        long start = 0;
+        long end = length - 1;
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(file.fileName()).build().toString());
+        response.setContentType(file.contentType());
+
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                // Multiple ranges are not supported; those requests get the whole file
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                    if (start >= length || start > end) {
+                        throw new IllegalArgumentException("Range not satisfiable: " + rangeHeader);
+                    }
+                    response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+                }
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if (count <= 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))) {
+            request.setAttribute(SENDFILE_FILENAME_ATTR, file.path().toString());
+            request.setAttribute(SENDFILE_START_ATTR, start);
+            request.setAttribute(SENDFILE_END_ATTR, end + 1);
+            return;
+        }
+
+        // No sendfile support (e.g. another container): copy the region with transferTo into the response stream
+        try (FileChannel channel = FileChannel.open(file.path(), StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position <= end) {
+                position += channel.transferTo(position, end + 1 - position, target);
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.rssb.application.controller;
 
+import com.rssb.application.dto.AuthenticatedUser;
 import com.rssb.application.dto.ProgramApplicationRequest;
 import com.rssb.application.dto.ProgramApplicationResponse;
 import com.rssb.application.service.ProgramApplicationService;
@@ -69,14 +70,16 @@ public class ProgramApplicationController {
      * @param programId Program ID
      * @param sortBy Sort by: attendance, beasAttendance, nonBeasAttendance, days, beasDays, nonBeasDays, profession, joiningDate, priorityScore
      * @param order Sort order: asc or desc (default: desc)
+     * @param limit Optional maximum number of applications to return (top-K in the requested order)
      */
     @GetMapping("/program/{programId}/prioritized")
     public ResponseEntity<List<com.rssb.application.dto.PrioritizedApplicationResponse>> getPrioritizedApplications(
             @PathVariable Long programId,
             @RequestParam(required = false, defaultValue = "priorityScore") String sortBy,
-            @RequestParam(required = false, defaultValue = "desc") String order) {
-        log.info("GET /api/program-applications/program/{}/prioritized - sortBy: {}, order: {}", programId, sortBy, order);
-        return ResponseEntity.ok(applicationService.getPrioritizedApplications(programId, sortBy, order));
+            @RequestParam(required = false, defaultValue = "desc") String order,
+            @RequestParam(required = false) Integer limit) {
+        log.info("GET /api/program-applications/program/{}/prioritized - sortBy: {}, order: {}, limit: {}", programId, sortBy, order, limit);
+        return ResponseEntity.ok(applicationService.getPrioritizedApplications(programId, sortBy, order, limit));
     }
 
     @PutMapping("/{id}/status")
@@ -138,30 +141,31 @@ public class ProgramApplicationController {
      * Incharge approves drop request
      * Note: Reapply is always allowed (reapply_allowed field removed from schema)
      * @param id Application ID
-     * @param inchargeId Incharge zonal ID (must be program creator)
+     * @param inchargeId Deprecated - kept for backward compatibility; the authenticated user (must be program creator) is used
      * @param allowReapply Deprecated - kept for backward compatibility, always true
      */
     @PutMapping("/{id}/approve-drop")
     public ResponseEntity<ProgramApplicationResponse> approveDropRequest(
             @PathVariable Long id,
-            @RequestParam String inchargeId,
+            @RequestParam(required = false) String inchargeId,
             @RequestParam(required = false, defaultValue = "true") Boolean allowReapply) {
         log.info("PUT /api/program-applications/{}/approve-drop - incharge: {}", id, inchargeId);
-        String userId = UserContextUtil.getCurrentUserId();
-        String userRole = UserContextUtil.getCurrentUserRole();
+        AuthenticatedUser incharge = UserContextUtil.getCurrentUser();
+        String userId = incharge.getZonalId();
+        String userRole = incharge.getRole().name();
         
         long startTime = System.currentTimeMillis();
-        ProgramApplicationResponse response = applicationService.approveDropRequest(id, inchargeId, allowReapply);
+        ProgramApplicationResponse response = applicationService.approveDropRequest(id, incharge, allowReapply);
         long duration = System.currentTimeMillis() - startTime;
         
         Map<String, Object> details = new HashMap<>();
         details.put("applicationId", id);
-        details.put("inchargeId", inchargeId);
+        details.put("inchargeId", userId);
         details.put("sewadarId", response.getSewadar() != null ? response.getSewadar().getZonalId() : "N/A");
         details.put("programId", response.getProgramId());
         details.put("allowReapply", allowReapply);
         details.put("durationMs", duration);
-        actionLogger.logAction("APPROVE_DROP_REQUEST", userId != null ? userId : inchargeId, userRole, details);
+        actionLogger.logAction("APPROVE_DROP_REQUEST", userId, userRole, details);
         actionLogger.logPerformance("APPROVE_DROP_REQUEST", duration);
         
         return ResponseEntity.ok(response);
@@ -180,28 +184,29 @@ public class ProgramApplicationController {
      * Rollback an application from APPROVED or REJECTED to PENDING
      * Only the program creator (incharge) can rollback applications
      * @param id Application ID
-     * @param inchargeId Incharge zonal ID (must be program creator)
+     * @param inchargeId Deprecated - kept for backward compatibility; the authenticated user (must be program creator) is used
      */
     @PutMapping("/{id}/rollback")
     public ResponseEntity<ProgramApplicationResponse> rollbackApplication(
             @PathVariable Long id,
-            @RequestParam String inchargeId) {
+            @RequestParam(required = false) String inchargeId) {
         log.info("PUT /api/program-applications/{}/rollback - incharge: {}", id, inchargeId);
-        String userId = UserContextUtil.getCurrentUserId();
-        String userRole = UserContextUtil.getCurrentUserRole();
+        AuthenticatedUser incharge = UserContextUtil.getCurrentUser();
+        String userId = incharge.getZonalId();
+        String userRole = incharge.getRole().name();
         
         long startTime = System.currentTimeMillis();
-        ProgramApplicationResponse response = applicationService.rollbackApplication(id, inchargeId);
+        ProgramApplicationResponse response = applicationService.rollbackApplication(id, incharge);
         long duration = System.currentTimeMillis() - startTime;
         
         Map<String, Object> details = new HashMap<>();
         details.put("applicationId", id);
-        details.put("inchargeId", inchargeId);
+        details.put("inchargeId", userId);
         details.put("sewadarId", response.getSewadar() != null ? response.getSewadar().getZonalId() : "N/A");
         details.put("programId", response.getProgramId());
         details.put("newStatus", response.getStatus());
         details.put("durationMs", duration);
-        actionLogger.logAction("ROLLBACK_APPLICATION", userId != null ? userId : inchargeId, userRole, details);
+        actionLogger.logAction("ROLLBACK_APPLICATION", userId, userRole, details);
         actionLogger.logPerformance("ROLLBACK_APPLICATION", duration);
         
         return ResponseEntity.ok(response);
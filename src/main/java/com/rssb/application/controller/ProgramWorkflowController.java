@@ -1,7 +1,9 @@
 package com.rssb.application.controller;
 
+import com.rssb.application.dto.NotificationDeliveryResponse;
 import com.rssb.application.dto.ProgramWorkflowResponse;
 import com.rssb.application.dto.SewadarResponse;
+import com.rssb.application.service.NotificationOutboxService;
 import com.rssb.application.service.ProgramWorkflowService;
 import com.rssb.application.util.ActionLogger;
 import com.rssb.application.util.UserContextUtil;
@@ -24,6 +26,7 @@ import java.util.Map;
 public class ProgramWorkflowController {
 
     private final ProgramWorkflowService workflowService;
+    private final NotificationOutboxService notificationOutboxService;
     private final ActionLogger actionLogger;
 
     @GetMapping("/program/{programId}")
@@ -48,7 +51,7 @@ public class ProgramWorkflowController {
     public ResponseEntity<ProgramWorkflowResponse> moveToNextNode(
             @PathVariable Long programId) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String inchargeId = (String) auth.getPrincipal();
+        String inchargeId = auth.getName();
         String userRole = UserContextUtil.getCurrentUserRole();
         
         long startTime = System.currentTimeMillis();
@@ -69,7 +72,7 @@ public class ProgramWorkflowController {
     public ResponseEntity<ProgramWorkflowResponse> releaseForm(
             @PathVariable Long programId) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String inchargeId = (String) auth.getPrincipal();
+        String inchargeId = auth.getName();
         String userRole = UserContextUtil.getCurrentUserRole();
         
         long startTime = System.currentTimeMillis();
@@ -91,7 +94,7 @@ public class ProgramWorkflowController {
     public ResponseEntity<ProgramWorkflowResponse> markDetailsCollected(
             @PathVariable Long programId) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String inchargeId = (String) auth.getPrincipal();
+        String inchargeId = auth.getName();
         String userRole = UserContextUtil.getCurrentUserRole();
         
         long startTime = System.currentTimeMillis();
@@ -131,7 +134,7 @@ public class ProgramWorkflowController {
     public ResponseEntity<Map<String, Object>> notifyMissingFormSubmissions(
             @PathVariable Long programId) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String inchargeId = (String) auth.getPrincipal();
+        String inchargeId = auth.getName();
         String userRole = UserContextUtil.getCurrentUserRole();
         
         long startTime = System.currentTimeMillis();
@@ -146,10 +149,19 @@ public class ProgramWorkflowController {
         
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
-        response.put("message", "Notifications sent to missing form submitters");
+        response.put("message", "Notifications queued for missing form submitters");
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Delivery status of the notifications queued for this program (one entry per recipient), newest first.
+     */
+    @GetMapping("/program/{programId}/notifications")
+    public ResponseEntity<List<NotificationDeliveryResponse>> getNotificationDeliveries(
+            @PathVariable Long programId) {
+        return ResponseEntity.ok(notificationOutboxService.getDeliveries(programId));
+    }
+
     /**
      * Archive a workflow (mark as complete and archived).
      * Only workflows at node 6 can be archived.
@@ -158,7 +170,7 @@ public class ProgramWorkflowController {
     public ResponseEntity<ProgramWorkflowResponse> archiveWorkflow(
             @PathVariable Long programId) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String inchargeId = (String) auth.getPrincipal();
+        String inchargeId = auth.getName();
         String userRole = UserContextUtil.getCurrentUserRole();
         
         long startTime = System.currentTimeMillis();
@@ -182,7 +194,7 @@ public class ProgramWorkflowController {
     public ResponseEntity<ProgramWorkflowResponse> unarchiveWorkflow(
             @PathVariable Long programId) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String inchargeId = (String) auth.getPrincipal();
+        String inchargeId = auth.getName();
         String userRole = UserContextUtil.getCurrentUserRole();
         
         long startTime = System.currentTimeMillis();
@@ -207,7 +219,7 @@ public class ProgramWorkflowController {
     @PostMapping("/trigger-notifications")
     public ResponseEntity<Map<String, Object>> triggerNotifications() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String userId = (String) auth.getPrincipal();
+        String userId = auth.getName();
         String userRole = UserContextUtil.getCurrentUserRole();
         
         log.info("Manual notification trigger requested by user: {} ({})", userId, userRole);
@@ -1,7 +1,9 @@
 package com.rssb.application.controller;
 
+import com.rssb.application.dto.SewadarImportResponse;
 import com.rssb.application.dto.SewadarRequest;
 import com.rssb.application.dto.SewadarResponse;
+import com.rssb.application.service.SewadarImportService;
 import com.rssb.application.service.SewadarService;
 import com.rssb.application.util.ActionLogger;
 import com.rssb.application.util.UserContextUtil;
@@ -9,9 +11,13 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,6 +34,7 @@ import java.util.Map;
 public class SewadarController {
 
     private final SewadarService sewadarService;
+    private final SewadarImportService sewadarImportService;
     private final ActionLogger actionLogger;
 
     /**
@@ -84,6 +91,36 @@ public class SewadarController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdSewadar);
     }
 
+    /**
+     * Import sewadars from a .csv or .xlsx file (multipart field "file").
+     * The first row is the header; rows that fail validation or insertion are listed in the response.
+     *
+     * @param file The uploaded file
+     * @return Import counts and per-row errors
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<SewadarImportResponse> importSewadars(@RequestParam("file") MultipartFile file) throws IOException {
+        log.info("POST /api/sewadars/import - Importing sewadars from {} ({} bytes)", file.getOriginalFilename(), file.getSize());
+        String userId = UserContextUtil.getCurrentUserId();
+        String userRole = UserContextUtil.getCurrentUserRole();
+
+        SewadarImportResponse response;
+        try (InputStream in = file.getInputStream()) {
+            response = sewadarImportService.importSewadars(file.getOriginalFilename(), in);
+        }
+
+        Map<String, Object> details = new HashMap<>();
+        details.put("fileName", response.getFileName());
+        details.put("totalRows", response.getTotalRows());
+        details.put("importedCount", response.getImportedCount());
+        details.put("failedCount", response.getFailedCount());
+        details.put("durationMs", response.getDurationMs());
+        actionLogger.logAction("IMPORT_SEWADARS", userId, userRole, details);
+        actionLogger.logPerformance("IMPORT_SEWADARS", response.getDurationMs());
+
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Update an existing sewadar.
      *
@@ -2,6 +2,7 @@ package com.rssb.application.controller;
 
 import com.rssb.application.dto.SewadarFormSubmissionRequest;
 import com.rssb.application.dto.SewadarFormSubmissionResponse;
+import com.rssb.application.service.ExportWriter;
 import com.rssb.application.service.SewadarFormSubmissionService;
 import com.rssb.application.util.ActionLogger;
 import com.rssb.application.util.UserContextUtil;
@@ -13,6 +14,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.HashMap;
 import java.util.List;
@@ -32,7 +34,7 @@ public class SewadarFormSubmissionController {
     public ResponseEntity<SewadarFormSubmissionResponse> submitForm(
             @Valid @RequestBody SewadarFormSubmissionRequest request) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String sewadarId = (String) auth.getPrincipal();
+        String sewadarId = auth.getName();
         String userRole = UserContextUtil.getCurrentUserRole();
         
         long startTime = System.currentTimeMillis();
@@ -99,25 +101,36 @@ public class SewadarFormSubmissionController {
         return ResponseEntity.ok(response);
     }
 
-    @GetMapping("/program/{programId}/export/csv")
-    public ResponseEntity<byte[]> exportFormSubmissionsCsv(@PathVariable Long programId) {
+    /**
+     * Export a program's form submissions to CSV or XLSX (streamed to the response)
+     */
+    @GetMapping("/program/{programId}/export/{format}")
+    public ResponseEntity<StreamingResponseBody> exportFormSubmissions(@PathVariable Long programId, @PathVariable String format) {
         String userId = UserContextUtil.getCurrentUserId();
         String userRole = UserContextUtil.getCurrentUserRole();
         
         long startTime = System.currentTimeMillis();
-        byte[] csvData = formSubmissionService.exportFormSubmissionsCsv(programId);
-        long duration = System.currentTimeMillis() - startTime;
+        ExportWriter export = formSubmissionService.exportFormSubmissions(programId, format);
         
-        Map<String, Object> details = new HashMap<>();
-        details.put("programId", programId);
-        details.put("durationMs", duration);
-        actionLogger.logAction("EXPORT_FORM_SUBMISSIONS_CSV", userId, userRole, details);
-        actionLogger.logPerformance("EXPORT_FORM_SUBMISSIONS_CSV", duration);
+        StreamingResponseBody body = out -> {
+            export.writeTo(out);
+            long duration = System.currentTimeMillis() - startTime;
+            
+            Map<String, Object> details = new HashMap<>();
+            details.put("programId", programId);
+            details.put("durationMs", duration);
+            String action = "EXPORT_FORM_SUBMISSIONS_" + format.toUpperCase();
+            actionLogger.logAction(action, userId, userRole, details);
+            actionLogger.logPerformance(action, duration);
+        };
         
+        String contentType = "XLSX".equalsIgnoreCase(format)
+                ? "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"
+                : "text/csv";
         return ResponseEntity.ok()
-                .header("Content-Type", "text/csv")
-                .header("Content-Disposition", "attachment; filename=form_submissions_program_" + programId + ".csv")
-                .body(csvData);
+                .header("Content-Type", contentType)
+                .header("Content-Disposition", "attachment; filename=form_submissions_program_" + programId + "." + format.toLowerCase())
+                .body(body);
     }
 }
 
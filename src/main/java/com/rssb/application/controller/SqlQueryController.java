@@ -1,8 +1,10 @@
 package com.rssb.application.controller;
 
+import jakarta.persistence.EntityManagerFactory;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.web.bind.annotation.*;
@@ -27,6 +29,7 @@ import java.util.Map;
 public class SqlQueryController {
 
     private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
 
     /**
      * Execute a SQL query and return results.
@@ -66,6 +69,8 @@ public class SqlQueryController {
             } else {
                 // Execute UPDATE, INSERT, DELETE, etc.
                 int rowsAffected = jdbcTemplate.update(query);
+                // The write bypassed Hibernate, so cached entities and query results may now be stale
+                entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
                 
                 response.put("success", true);
                 response.put("query", query);
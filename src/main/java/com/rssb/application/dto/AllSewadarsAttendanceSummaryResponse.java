@@ -8,7 +8,8 @@ import lombok.NoArgsConstructor;
 import java.util.List;
 
 /**
- * DTO for all sewadars attendance summary
+ * DTO for all sewadars attendance summary.
+ * Paging fields are only set when a page was requested.
  */
 @Data
 @NoArgsConstructor
@@ -16,6 +17,10 @@ import java.util.List;
 @Builder
 public class AllSewadarsAttendanceSummaryResponse {
     private List<SewadarSummary> sewadars;
+    private Long totalElements;
+    private Integer totalPages;
+    private Integer currentPage;
+    private Integer pageSize;
     
     @Data
     @NoArgsConstructor
@@ -21,6 +21,10 @@ public class ApplicationDashboardResponse {
     private Integer currentPage;
     private Integer pageSize;
     
+    // CURSOR mode only (totalElements/totalPages/currentPage are not computed)
+    private String nextCursor; // Pass as cursor to fetch the next page, null when there are no more rows
+    private Boolean hasMore;
+    
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -0,0 +1,42 @@
+package com.rssb.application.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Attendance for several program dates at once: for each sewadar, the dates attended
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttendanceGridRequest {
+    @NotNull(message = "Program ID is required")
+    private Long programId;
+
+    @NotEmpty(message = "At least one sewadar is required")
+    @Valid
+    private List<SewadarDates> sewadars;
+
+    private String notes; // Optional notes (applied to all records)
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class SewadarDates {
+        @NotNull(message = "Sewadar zonal ID is required")
+        private String sewadarId;
+
+        @NotNull(message = "Dates are required")
+        private List<LocalDate> dates; // Program dates the sewadar attended
+    }
+}
@@ -0,0 +1,36 @@
+package com.rssb.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Attendance counters for one sewadar (programs and days, split by BEAS / NON_BEAS).
+ * A program is either BEAS or NON_BEAS, so the non-BEAS values are derived from total - BEAS.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttendanceStats {
+    private long totalPrograms;
+    private long totalDays;
+    private long beasPrograms;
+    private long beasDays;
+
+    public long getNonBeasPrograms() {
+        return totalPrograms - beasPrograms;
+    }
+
+    public long getNonBeasDays() {
+        return totalDays - beasDays;
+    }
+
+    /**
+     * Stats for a sewadar with no attendance records.
+     */
+    public static AttendanceStats empty() {
+        return new AttendanceStats();
+    }
+}
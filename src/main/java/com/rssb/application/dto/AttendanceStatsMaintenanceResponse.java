@@ -0,0 +1,24 @@
+package com.rssb.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result of rebuilding or verifying the sewadar attendance counters
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttendanceStatsMaintenanceResponse {
+    private String mode; // REBUILD or VERIFY
+    private Long sewadarsProcessed;
+    private Integer chunks;
+    private Long mismatchCount; // Rows that differed from attendances (VERIFY), or were corrected (REBUILD)
+    private List<String> sampleMismatches; // First few mismatched zonal IDs
+    private Long durationMs;
+}
@@ -0,0 +1,34 @@
+package com.rssb.application.dto;
+
+import com.rssb.application.entity.Role;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+
+import java.security.Principal;
+import java.time.Instant;
+
+/**
+ * Identity carried by a verified JWT: the zonal ID (subject), role claim and expiry.
+ * Set as the principal of the request's Authentication, so permission checks need no database lookup.
+ */
+@Value
+@Builder
+@AllArgsConstructor
+public class AuthenticatedUser implements Principal {
+    String zonalId;
+    Role role;
+    Instant expiresAt;
+
+    /**
+     * Zonal ID (Authentication.getName() returns it)
+     */
+    @Override
+    public String getName() {
+        return zonalId;
+    }
+
+    public boolean isExpired() {
+        return !expiresAt.isAfter(Instant.now());
+    }
+}
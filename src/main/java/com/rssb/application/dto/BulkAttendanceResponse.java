@@ -0,0 +1,39 @@
+package com.rssb.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Result of marking attendance in bulk, with one result per requested sewadar and date.
+ * programDate/programDateId are only set for a single-date sheet.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkAttendanceResponse {
+    private Long programId;
+    private LocalDate programDate;
+    private Long programDateId;
+    private Integer createdCount;
+    private Integer updatedCount;
+    private Integer rejectedCount;
+    private List<RowResult> results; // Grouped by date, in request order (duplicates reported once)
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RowResult {
+        private String sewadarId;
+        private LocalDate programDate;
+        private String status; // CREATED, UPDATED or NOT_APPROVED
+        private Long attendanceId; // Null when rejected
+        private String message;
+    }
+}
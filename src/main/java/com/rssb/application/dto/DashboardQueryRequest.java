@@ -20,6 +20,8 @@ public class DashboardQueryRequest {
     // Pagination
     private Integer page = 0; // 0-based page number
     private Integer size = 25; // Page size
+    private String paginationMode; // "OFFSET" (default) or "CURSOR" - keyset pagination, no total count
+    private String cursor; // nextCursor from the previous response (CURSOR mode, null for the first page)
     
     // Filters
     private List<String> languages; // Languages to filter by
@@ -0,0 +1,28 @@
+package com.rssb.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Status of an asynchronous export job
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ExportJobResponse {
+    private String jobId;
+    private String exportType; // SEWADARS, SEWADAR_ATTENDANCE, PROGRAM_ATTENDANCE, APPLICATIONS
+    private String format; // CSV, XLSX, PDF
+    private String status; // QUEUED, RUNNING, COMPLETED, FAILED
+    private String fileName;
+    private Long fileSizeBytes; // Set once COMPLETED
+    private String downloadUrl; // Set once COMPLETED
+    private String error; // Set when FAILED
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+}
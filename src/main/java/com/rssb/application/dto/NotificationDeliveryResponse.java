@@ -0,0 +1,29 @@
+package com.rssb.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Delivery status of one queued notification
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationDeliveryResponse {
+    private Long id;
+    private String channel; // EMAIL, WHATSAPP, WHATSAPP_BATCH
+    private String recipient;
+    private String recipientZonalId;
+    private Integer nodeNumber;
+    private String status; // PENDING, SENDING, SENT, FAILED
+    private Integer attempts;
+    private String lastError;
+    private LocalDateTime nextAttemptAt; // Set while PENDING (next retry)
+    private LocalDateTime createdAt;
+    private LocalDateTime sentAt;
+}
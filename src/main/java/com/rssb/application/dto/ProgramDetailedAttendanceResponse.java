@@ -1,5 +1,6 @@
 package com.rssb.application.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -10,7 +11,8 @@ import java.util.List;
 import java.util.Map;
 
 /**
- * Detailed attendance report for a program (one row per sewadar with date columns)
+ * Detailed attendance report for a program (one row per sewadar with date columns).
+ * Rows carry either dateStatusMap (full view) or presentDateIndexes (compact view, indexes into programDates).
  */
 @Data
 @NoArgsConstructor
@@ -27,11 +29,13 @@ public class ProgramDetailedAttendanceResponse {
     @NoArgsConstructor
     @AllArgsConstructor
     @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     public static class SewadarAttendanceRow {
         private String zonalId;
         private String sewadarName;
         private String mobile;
-        private Map<LocalDate, String> dateStatusMap; // Date -> "Present" or "Absent"
+        private Map<LocalDate, String> dateStatusMap; // Date -> "Present" or "Absent" (full view)
+        private List<Integer> presentDateIndexes; // Indexes into programDates of the attended dates (compact view)
     }
 }
 
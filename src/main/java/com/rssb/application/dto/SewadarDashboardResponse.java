@@ -22,6 +22,10 @@ public class SewadarDashboardResponse {
     private Integer currentPage;
     private Integer pageSize;
     
+    // CURSOR mode only (totalElements/totalPages/currentPage are not computed)
+    private String nextCursor; // Pass as cursor to fetch the next page, null when there are no more rows
+    private Boolean hasMore;
+    
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -0,0 +1,34 @@
+package com.rssb.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result of a bulk sewadar import, with an error for every row that was not imported
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SewadarImportResponse {
+    private String fileName;
+    private Integer totalRows; // Data rows (header and blank rows excluded)
+    private Integer importedCount;
+    private Integer failedCount;
+    private Long durationMs;
+    private List<RowError> errors; // In row order
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RowError {
+        private Integer rowNumber; // Spreadsheet row number (header is row 1)
+        private String zonalId;
+        private String message;
+    }
+}
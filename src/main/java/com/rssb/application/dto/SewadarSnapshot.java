@@ -0,0 +1,28 @@
+package com.rssb.application.dto;
+
+import com.rssb.application.entity.Role;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Immutable snapshot of the sewadar fields used by permission checks and lookups.
+ * Cached by SewadarLookupService; never carries the password hash.
+ */
+@Value
+@Builder
+@AllArgsConstructor
+public class SewadarSnapshot {
+    Long id;
+    String zonalId;
+    Role role;
+    String firstName;
+    String lastName;
+    String mobile;
+    String emailId;
+    String location;
+
+    public String getFullName() {
+        return firstName + " " + lastName;
+    }
+}
@@ -0,0 +1,89 @@
+package com.rssb.application.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A notification waiting to be sent, or the record of its delivery (one row per recipient).
+ * Rows are written in the transaction of the workflow change that triggers them and delivered afterwards
+ * by NotificationOutboxService.
+ */
+@Entity
+@Table(name = "notification_outbox", indexes = {
+    @Index(name = "idx_notification_outbox_due", columnList = "status, next_attempt_at"),
+    @Index(name = "idx_notification_outbox_program", columnList = "program_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationOutbox {
+
+    public enum Channel {
+        EMAIL,
+        WHATSAPP,
+        WHATSAPP_BATCH // One email to the WhatsApp bridge listing all recipients (whatsapp.mode=email-bridge)
+    }
+
+    public enum Status {
+        PENDING,
+        SENDING,
+        SENT,
+        FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_outbox_seq")
+    @SequenceGenerator(name = "notification_outbox_seq", sequenceName = "notification_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "channel", nullable = false, length = 20)
+    private Channel channel;
+
+    @Column(name = "recipient", nullable = false, columnDefinition = "TEXT")
+    private String recipient; // Email address or mobile; comma-separated mobiles for WHATSAPP_BATCH
+
+    @Column(name = "recipient_zonal_id")
+    private String recipientZonalId; // null for WHATSAPP_BATCH
+
+    @Column(name = "subject")
+    private String subject; // Email subject; program title for WHATSAPP_BATCH
+
+    @Column(name = "message", nullable = false, columnDefinition = "TEXT")
+    private String message;
+
+    @Column(name = "program_id")
+    private Long programId;
+
+    @Column(name = "node_number")
+    private Integer nodeNumber;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    private Status status = Status.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    @Builder.Default
+    private LocalDateTime nextAttemptAt = LocalDateTime.now(); // While SENDING: when the claim expires
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+}
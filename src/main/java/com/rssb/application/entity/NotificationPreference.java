@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
@@ -13,6 +15,8 @@ import java.time.LocalDateTime;
  * Each node can be enabled/disabled globally for all programs.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "notificationPreferences")
 @Table(name = "notification_preferences")
 @Data
 @NoArgsConstructor
@@ -21,7 +25,8 @@ import java.time.LocalDateTime;
 public class NotificationPreference {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_preferences_seq")
+    @SequenceGenerator(name = "notification_preferences_seq", sequenceName = "notification_preferences_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "node_number", nullable = false, unique = true)
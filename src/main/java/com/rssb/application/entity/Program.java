@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -14,6 +16,8 @@ import java.util.List;
  * Program entity representing a spiritual program/event.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "programs")
 @Table(name = "programs")
 @Data
 @NoArgsConstructor
@@ -22,7 +26,8 @@ import java.util.List;
 public class Program {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "programs_seq")
+    @SequenceGenerator(name = "programs_seq", sequenceName = "programs_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "title", nullable = false, length = 255)
@@ -64,6 +69,7 @@ public class Program {
     private List<ProgramApplication> applications = new ArrayList<>();
 
     @OneToMany(mappedBy = "program", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "programDateCollections")
     @Builder.Default
     private List<ProgramDate> programDates = new ArrayList<>();
 }
@@ -12,7 +12,9 @@ import java.time.LocalDateTime;
  * ProgramApplication entity - when a sewadar applies/consents to a program.
  */
 @Entity
-@Table(name = "program_applications")
+@Table(name = "program_applications", indexes = {
+        @Index(name = "idx_program_applications_applied_at_id", columnList = "applied_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,7 +22,8 @@ import java.time.LocalDateTime;
 public class ProgramApplication {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "program_applications_seq")
+    @SequenceGenerator(name = "program_applications_seq", sequenceName = "program_applications_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
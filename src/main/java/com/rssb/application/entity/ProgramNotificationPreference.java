@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
@@ -13,6 +15,8 @@ import java.time.LocalDateTime;
  * Each program can have its own notification settings per node.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "programNotificationPreferences")
 @Table(name = "program_notification_preferences", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"program_id", "node_number"})
 })
@@ -23,7 +27,8 @@ import java.time.LocalDateTime;
 public class ProgramNotificationPreference {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "program_notification_preferences_seq")
+    @SequenceGenerator(name = "program_notification_preferences_seq", sequenceName = "program_notification_preferences_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -21,7 +21,8 @@ import java.time.LocalDateTime;
 public class ProgramWorkflow {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "program_workflows_seq")
+    @SequenceGenerator(name = "program_workflows_seq", sequenceName = "program_workflows_seq", allocationSize = 50)
     private Long id;
 
     @OneToOne(fetch = FetchType.LAZY)
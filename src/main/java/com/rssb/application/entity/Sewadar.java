@@ -15,7 +15,9 @@ import java.util.List;
  * This entity has a relationship with Address entity.
  */
 @Entity
-@Table(name = "sewadars")
+@Table(name = "sewadars", indexes = {
+        @Index(name = "idx_sewadars_joining_date_zonal_id", columnList = "joining_date, zonal_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,7 +25,8 @@ import java.util.List;
 public class Sewadar {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sewadars_seq")
+    @SequenceGenerator(name = "sewadars_seq", sequenceName = "sewadars_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id; // Internal primary key (auto-generated)
 
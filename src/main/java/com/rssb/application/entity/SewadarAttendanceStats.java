@@ -0,0 +1,49 @@
+package com.rssb.application.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Per-sewadar attendance counters, maintained incrementally by attendance writes.
+ * One row per sewadar (keyed by zonal_id) so dashboard and summary reads are a primary key lookup
+ * instead of COUNT(DISTINCT ...) over the attendances table.
+ * Can be recomputed from attendances with the rebuild command (see AttendanceStatsService).
+ */
+@Entity
+@Table(name = "sewadar_attendance_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SewadarAttendanceStats {
+
+    @Id
+    @Column(name = "zonal_id", length = 50)
+    private String zonalId;
+
+    @Column(name = "total_programs", nullable = false)
+    private long totalPrograms;
+
+    @Column(name = "total_days", nullable = false)
+    private long totalDays;
+
+    @Column(name = "beas_programs", nullable = false)
+    private long beasPrograms;
+
+    @Column(name = "beas_days", nullable = false)
+    private long beasDays;
+
+    @Column(name = "non_beas_programs", nullable = false)
+    private long nonBeasPrograms;
+
+    @Column(name = "non_beas_days", nullable = false)
+    private long nonBeasDays;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
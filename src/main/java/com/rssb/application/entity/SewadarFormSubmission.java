@@ -20,7 +20,8 @@ import java.time.LocalDateTime;
 public class SewadarFormSubmission {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sewadar_form_submissions_seq")
+    @SequenceGenerator(name = "sewadar_form_submissions_seq", sequenceName = "sewadar_form_submissions_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
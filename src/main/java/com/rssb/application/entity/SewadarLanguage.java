@@ -11,7 +11,9 @@ import lombok.NoArgsConstructor;
  * Many-to-many relationship between Sewadar and Language.
  */
 @Entity
-@Table(name = "sewadar_languages")
+@Table(name = "sewadar_languages", indexes = {
+        @Index(name = "idx_sewadar_languages_sewadar_id", columnList = "sewadar_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,7 +21,8 @@ import lombok.NoArgsConstructor;
 public class SewadarLanguage {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sewadar_languages_seq")
+    @SequenceGenerator(name = "sewadar_languages_seq", sequenceName = "sewadar_languages_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
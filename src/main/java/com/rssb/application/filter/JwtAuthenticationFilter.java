@@ -1,5 +1,6 @@
 package com.rssb.application.filter;
 
+import com.rssb.application.dto.AuthenticatedUser;
 import com.rssb.application.util.JwtUtil;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -34,20 +35,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         try {
-            final String token = authHeader.substring(7);
-            final String zonalId = jwtUtil.getZonalIdFromToken(token);
-            final String role = jwtUtil.getRoleFromToken(token);
-
-            if (zonalId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                if (jwtUtil.validateToken(token, zonalId)) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            zonalId, // Store zonalId (String) as principal
-                            null,
-                            Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role))
-                    );
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                }
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                // One verification (signature + expiry) per token; repeated tokens come from JwtUtil's cache
+                final AuthenticatedUser user = jwtUtil.authenticate(authHeader.substring(7));
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        user, // Zonal ID and role from the token claims (auth.getName() is the zonal ID)
+                        null,
+                        Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()))
+                );
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         } catch (Exception e) {
             logger.error("Cannot set user authentication: {}", e);
@@ -1,14 +1,21 @@
 package com.rssb.application.repository;
 
 import com.rssb.application.entity.Attendance;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
@@ -25,6 +32,12 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
             @Param("programDateId") Long programDateId, 
             @Param("sewadarZonalId") String sewadarZonalId);
     
+    // Existing attendance of a set of sewadars on one program date (one query for a whole attendance sheet)
+    @Query("SELECT a FROM Attendance a JOIN FETCH a.sewadar WHERE a.programDate.id = :programDateId AND a.sewadar.zonalId IN :sewadarZonalIds")
+    List<Attendance> findByProgramDateIdAndSewadarZonalIdIn(
+            @Param("programDateId") Long programDateId,
+            @Param("sewadarZonalIds") Collection<String> sewadarZonalIds);
+
     // Find all attendance records for a sewadar in a program (all dates)
     @Query("SELECT a FROM Attendance a WHERE a.program.id = :programId AND a.sewadar.zonalId = :sewadarZonalId")
     List<Attendance> findByProgramIdAndSewadarZonalId(@Param("programId") Long programId, @Param("sewadarZonalId") String sewadarZonalId);
@@ -53,8 +66,47 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
     @Query("SELECT a FROM Attendance a WHERE a.sewadar.zonalId = :sewadarZonalId")
     List<Attendance> findAttendedBySewadarId(@Param("sewadarZonalId") String sewadarZonalId);
     
-    // Get attendance records by location type
-    @Query("SELECT a FROM Attendance a WHERE a.sewadar.zonalId = :sewadarZonalId AND (CASE WHEN UPPER(a.program.location) = 'BEAS' THEN 'BEAS' ELSE 'NON_BEAS' END) = :locationType")
-    List<Attendance> findAttendedBySewadarIdAndLocationType(@Param("sewadarZonalId") String sewadarZonalId, @Param("locationType") String locationType);
-}
+    // Attendance of a sewadar grouped by program (for the summary).
+    // Row: [programId, programTitle, programLocation, daysAttended, lastMarkedAt]
+    @Query("SELECT p.id, p.title, p.location, COUNT(a), MAX(a.markedAt) FROM Attendance a JOIN a.program p " +
+           "WHERE a.sewadar.zonalId = :sewadarZonalId GROUP BY p.id, p.title, p.location ORDER BY p.id")
+    List<Object[]> summarizeBySewadarIdGroupedByProgram(@Param("sewadarZonalId") String sewadarZonalId);
 
+    // Aggregate attendance stats for a set of sewadars in one grouped query
+    // Row: [zonalId, totalPrograms, totalDays, beasPrograms, beasDays] (non-BEAS = total - BEAS)
+    @Query("SELECT a.sewadar.zonalId, COUNT(DISTINCT a.program.id), COUNT(a), " +
+           "COUNT(DISTINCT CASE WHEN UPPER(a.program.location) = 'BEAS' THEN a.program.id END), " +
+           "SUM(CASE WHEN UPPER(a.program.location) = 'BEAS' THEN 1 ELSE 0 END) " +
+           "FROM Attendance a WHERE a.sewadar.zonalId IN :sewadarZonalIds GROUP BY a.sewadar.zonalId")
+    List<Object[]> aggregateStatsBySewadarIds(@Param("sewadarZonalIds") Collection<String> sewadarZonalIds);
+
+    // Sewadars (out of the given set) that already have attendance in a program
+    @Query("SELECT DISTINCT a.sewadar.zonalId FROM Attendance a WHERE a.program.id = :programId AND a.sewadar.zonalId IN :sewadarZonalIds")
+    List<String> findSewadarIdsWithAttendanceInProgram(@Param("programId") Long programId, @Param("sewadarZonalIds") Collection<String> sewadarZonalIds);
+    
+    // Count days a sewadar attended in one program
+    @Query("SELECT COUNT(a) FROM Attendance a WHERE a.program.id = :programId AND a.sewadar.zonalId = :sewadarZonalId")
+    long countByProgramIdAndSewadarZonalId(@Param("programId") Long programId, @Param("sewadarZonalId") String sewadarZonalId);
+    
+    // Days attended per sewadar in one program. Row: [zonalId, days]
+    @Query("SELECT a.sewadar.zonalId, COUNT(a) FROM Attendance a WHERE a.program.id = :programId GROUP BY a.sewadar.zonalId")
+    List<Object[]> countDaysBySewadarForProgram(@Param("programId") Long programId);
+    
+    // Attended program dates of all sewadars in one program. Row: [zonalId, programDateId]
+    @Query("SELECT a.sewadar.zonalId, a.programDate.id FROM Attendance a WHERE a.program.id = :programId")
+    List<Object[]> findAttendedDateIdsByProgram(@Param("programId") Long programId);
+    
+    // Attended program dates for a set of sewadars in one program. Row: [zonalId, programDateId]
+    @Query("SELECT a.sewadar.zonalId, a.programDate.id FROM Attendance a WHERE a.program.id = :programId AND a.sewadar.zonalId IN :sewadarZonalIds")
+    List<Object[]> findAttendedDateIdsByProgramAndSewadars(@Param("programId") Long programId, @Param("sewadarZonalIds") Collection<String> sewadarZonalIds);
+    
+    // Attendance history of a sewadar as a forward-only stream (for exports).
+    // Row: [programId, programTitle, programLocation, attendanceDate]
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p.id, p.title, p.location, pd.programDate FROM Attendance a JOIN a.program p JOIN a.programDate pd " +
+           "WHERE a.sewadar.zonalId = :sewadarZonalId ORDER BY pd.programDate, p.title")
+    Stream<Object[]> streamAttendanceHistoryBySewadarId(@Param("sewadarZonalId") String sewadarZonalId);
+}
@@ -0,0 +1,39 @@
+package com.rssb.application.repository;
+
+import com.rssb.application.entity.NotificationOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    // Due rows (pending, or claimed by a dispatcher whose claim has expired), locked for the caller's transaction;
+    // rows locked by another dispatcher are skipped rather than waited for
+    @Query(value = "SELECT * FROM notification_outbox WHERE status IN ('PENDING', 'SENDING') AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at, id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<NotificationOutbox> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // Outcome of one delivery attempt, without loading the entity
+    @Transactional
+    @Modifying
+    @Query("UPDATE NotificationOutbox n SET n.status = :status, n.nextAttemptAt = :nextAttemptAt, n.lastError = :lastError, " +
+            "n.sentAt = :sentAt WHERE n.id = :id")
+    int recordAttempt(@Param("id") Long id, @Param("status") NotificationOutbox.Status status,
+                      @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("lastError") String lastError,
+                      @Param("sentAt") LocalDateTime sentAt);
+
+    List<NotificationOutbox> findByProgramIdOrderByIdDesc(Long programId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM NotificationOutbox n WHERE n.status IN :statuses AND n.createdAt < :cutoff")
+    int deleteByStatusInAndCreatedAtBefore(@Param("statuses") List<NotificationOutbox.Status> statuses,
+                                           @Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,7 +1,10 @@
 package com.rssb.application.repository;
 
 import com.rssb.application.entity.NotificationPreference;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,7 +12,10 @@ import java.util.Optional;
 
 @Repository
 public interface NotificationPreferenceRepository extends JpaRepository<NotificationPreference, Long> {
+    // Query cache: the global preferences (six rows) are read on every notification and rarely change
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<NotificationPreference> findByNodeNumber(Integer nodeNumber);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<NotificationPreference> findAllByOrderByNodeNumberAsc();
 }
 
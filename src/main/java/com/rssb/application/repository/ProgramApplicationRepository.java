@@ -1,12 +1,14 @@
 package com.rssb.application.repository;
 
 import com.rssb.application.entity.ProgramApplication;
+import com.rssb.application.entity.Sewadar;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,6 +31,34 @@ public interface ProgramApplicationRepository extends JpaRepository<ProgramAppli
     // Get drop requests for a program
     List<ProgramApplication> findByProgramIdAndStatus(Long programId, String status);
     
+    // Applications of a program (except the given status) with their sewadar and attendance counters, in one query.
+    // Counters are null when the sewadar has no counters row. Row: [applicationId, appliedAt, status,
+    // zonalId, firstName, lastName, mobile, location, profession, joiningDate, role, photoUrl, screenerCode, emailId,
+    // totalPrograms, totalDays, beasPrograms, beasDays, nonBeasPrograms, nonBeasDays]
+    @Query("SELECT pa.id, pa.appliedAt, pa.status, s.zonalId, s.firstName, s.lastName, s.mobile, s.location, " +
+           "s.profession, s.joiningDate, s.role, s.photoUrl, s.screenerCode, s.emailId, " +
+           "st.totalPrograms, st.totalDays, st.beasPrograms, st.beasDays, st.nonBeasPrograms, st.nonBeasDays " +
+           "FROM ProgramApplication pa JOIN pa.sewadar s LEFT JOIN SewadarAttendanceStats st ON st.zonalId = s.zonalId " +
+           "WHERE pa.program.id = :programId AND pa.status <> :excludedStatus ORDER BY pa.id")
+    List<Object[]> findApplicantMetricRows(@Param("programId") Long programId, @Param("excludedStatus") String excludedStatus);
+    
+    // Sewadars of a program's applications with a given status, in application order.
+    // Row: [zonalId, firstName, lastName, mobile]
+    @Query("SELECT s.zonalId, s.firstName, s.lastName, s.mobile FROM ProgramApplication pa JOIN pa.sewadar s " +
+           "WHERE pa.program.id = :programId AND pa.status = :status ORDER BY pa.id")
+    List<Object[]> findSewadarRowsByProgramIdAndStatus(@Param("programId") Long programId, @Param("status") String status);
+    
+    // Sewadar entities of a program's applications with a given status, in one query
+    // (the application -> sewadar association joins on zonal_id, so it is loaded by a query per application)
+    @Query("SELECT s FROM ProgramApplication pa JOIN pa.sewadar s WHERE pa.program.id = :programId AND pa.status = :status")
+    List<Sewadar> findSewadarsByProgramIdAndStatus(@Param("programId") Long programId, @Param("status") String status);
+    
+    // Zonal IDs (out of the given set) with an approved application for a program
+    @Query("SELECT pa.sewadar.zonalId FROM ProgramApplication pa WHERE pa.program.id = :programId " +
+           "AND pa.status = 'APPROVED' AND pa.sewadar.zonalId IN :sewadarZonalIds")
+    List<String> findApprovedSewadarIdsByProgramId(@Param("programId") Long programId,
+                                                   @Param("sewadarZonalIds") Collection<String> sewadarZonalIds);
+    
     // Count applications by program and status
     long countByProgramIdAndStatus(Long programId, String status);
     
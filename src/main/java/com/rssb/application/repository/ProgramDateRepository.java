@@ -1,7 +1,10 @@
 package com.rssb.application.repository;
 
 import com.rssb.application.entity.ProgramDate;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,6 +12,8 @@ import java.util.List;
 @Repository
 public interface ProgramDateRepository extends JpaRepository<ProgramDate, Long> {
     List<ProgramDate> findByProgramId(Long programId);
+    // Query cache: results are invalidated whenever program_dates changes
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<ProgramDate> findByProgramIdOrderByProgramDateAsc(Long programId);
 }
 
@@ -2,7 +2,10 @@ package com.rssb.application.repository;
 
 import com.rssb.application.entity.Program;
 import com.rssb.application.entity.ProgramNotificationPreference;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,6 +13,7 @@ import java.util.Optional;
 
 @Repository
 public interface ProgramNotificationPreferenceRepository extends JpaRepository<ProgramNotificationPreference, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<ProgramNotificationPreference> findByProgramAndNodeNumber(Program program, Integer nodeNumber);
     List<ProgramNotificationPreference> findByProgram(Program program);
     List<ProgramNotificationPreference> findByProgramId(Long programId);
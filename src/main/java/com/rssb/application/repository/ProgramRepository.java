@@ -21,5 +21,9 @@ public interface ProgramRepository extends JpaRepository<Program, Long> {
     
     @Query("SELECT p FROM Program p WHERE p.createdBy.zonalId = :inchargeZonalId")
     List<Program> findByCreatedByZonalId(@Param("inchargeZonalId") String inchargeZonalId);
+
+    // Zonal ID of the program creator without loading the program or the creator (empty if the program does not exist)
+    @Query("SELECT p.createdBy.zonalId FROM Program p WHERE p.id = :programId")
+    List<String> findCreatorZonalIdById(@Param("programId") Long programId);
 }
 
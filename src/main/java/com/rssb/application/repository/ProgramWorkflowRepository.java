@@ -3,13 +3,23 @@ package com.rssb.application.repository;
 import com.rssb.application.entity.Program;
 import com.rssb.application.entity.ProgramWorkflow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ProgramWorkflowRepository extends JpaRepository<ProgramWorkflow, Long> {
     Optional<ProgramWorkflow> findByProgram(Program program);
     Optional<ProgramWorkflow> findByProgramId(Long programId);
+
+    // Workflows for the daily notification run: not archived, program not cancelled, and in the given shard
+    // (program id modulo the shard count); programs are fetched in the same query
+    @Query("SELECT w FROM ProgramWorkflow w JOIN FETCH w.program p WHERE w.archived = false " +
+            "AND (p.status IS NULL OR LOWER(p.status) <> 'cancelled') AND MOD(p.id, :shardCount) = :shardIndex " +
+            "ORDER BY p.id")
+    List<ProgramWorkflow> findForDailyNotifications(@Param("shardCount") int shardCount, @Param("shardIndex") int shardIndex);
 }
 
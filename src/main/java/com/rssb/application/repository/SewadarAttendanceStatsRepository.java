@@ -0,0 +1,9 @@
+package com.rssb.application.repository;
+
+import com.rssb.application.entity.SewadarAttendanceStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SewadarAttendanceStatsRepository extends JpaRepository<SewadarAttendanceStats, String> {
+}
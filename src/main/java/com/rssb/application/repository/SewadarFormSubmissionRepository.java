@@ -3,11 +3,19 @@ package com.rssb.application.repository;
 import com.rssb.application.entity.Program;
 import com.rssb.application.entity.Sewadar;
 import com.rssb.application.entity.SewadarFormSubmission;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface SewadarFormSubmissionRepository extends JpaRepository<SewadarFormSubmission, Long> {
@@ -16,5 +24,13 @@ public interface SewadarFormSubmissionRepository extends JpaRepository<SewadarFo
     Optional<SewadarFormSubmission> findByProgramAndSewadar(Program program, Sewadar sewadar);
     Optional<SewadarFormSubmission> findByProgramIdAndSewadarZonalId(Long programId, String sewadarZonalId);
     boolean existsByProgramIdAndSewadarZonalId(Long programId, String sewadarZonalId);
+
+    // Submissions of a program with their sewadar as a forward-only stream (for exports)
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT f FROM SewadarFormSubmission f JOIN FETCH f.sewadar WHERE f.program.id = :programId ORDER BY f.id")
+    Stream<SewadarFormSubmission> streamByProgramIdWithSewadar(@Param("programId") Long programId);
 }
 
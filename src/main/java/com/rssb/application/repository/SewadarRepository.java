@@ -2,10 +2,16 @@ package com.rssb.application.repository;
 
 import com.rssb.application.entity.Role;
 import com.rssb.application.entity.Sewadar;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,5 +21,37 @@ public interface SewadarRepository extends JpaRepository<Sewadar, Long>, JpaSpec
     List<Sewadar> findByProfession(String profession);
     Optional<Sewadar> findByMobile(String mobile);
     Optional<Sewadar> findByZonalId(String zonalId); // For login by zonal_id (String type)
+
+    // Replace only the password hash (re-encoding on login), without loading the entity
+    @Transactional
+    @Modifying
+    @Query("UPDATE Sewadar s SET s.password = :password WHERE s.zonalId = :zonalId")
+    int updatePasswordByZonalId(@Param("zonalId") String zonalId, @Param("password") String password);
+
+    @Query("SELECT s.zonalId FROM Sewadar s ORDER BY s.zonalId")
+    List<String> findAllZonalIds();
+
+    // Unique keys of all sewadars, for validating a bulk import in memory. Row: [zonalId, mobile, aadharNumber]
+    @Query("SELECT s.zonalId, s.mobile, s.aadharNumber FROM Sewadar s")
+    List<Object[]> findAllUniqueKeys();
+
+    // Languages for a set of sewadars in one query. Row: [zonalId, language]
+    @Query("SELECT l.sewadar.zonalId, l.language FROM SewadarLanguage l WHERE l.sewadar.zonalId IN :zonalIds ORDER BY l.id")
+    List<Object[]> findLanguagesBySewadarZonalIds(@Param("zonalIds") Collection<String> zonalIds);
+
+    // Fields of a SewadarSnapshot without loading the entity (and its address and languages).
+    // Row: [id, zonalId, role, firstName, lastName, mobile, emailId, location] (empty if not found)
+    @Query("SELECT s.id, s.zonalId, s.role, s.firstName, s.lastName, s.mobile, s.emailId, s.location " +
+           "FROM Sewadar s WHERE s.zonalId = :zonalId")
+    List<Object[]> findSnapshotRowByZonalId(@Param("zonalId") String zonalId);
+
+    // Sewadars with their attendance counters (nulls when the sewadar has no counters row), ordered by zonal ID.
+    // Pass "" to start from the first sewadar. Row: [zonalId, firstName, lastName, mobile,
+    // totalPrograms, totalDays, beasPrograms, beasDays, nonBeasPrograms, nonBeasDays]
+    @Query("SELECT s.zonalId, s.firstName, s.lastName, s.mobile, st.totalPrograms, st.totalDays, " +
+           "st.beasPrograms, st.beasDays, st.nonBeasPrograms, st.nonBeasDays " +
+           "FROM Sewadar s LEFT JOIN SewadarAttendanceStats st ON st.zonalId = s.zonalId " +
+           "WHERE s.zonalId > :afterZonalId ORDER BY s.zonalId")
+    List<Object[]> findAttendanceSummaryRows(@Param("afterZonalId") String afterZonalId, Pageable pageable);
 }
 
@@ -0,0 +1,64 @@
+package com.rssb.application.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Weighted priority score of program applicants, computed over a primitive metrics array.
+ * score = sum(weight[m] * metric[m]) over the six attendance metrics; weights come from app.priority.weights.*
+ * (the defaults give the original 10 x programs + days).
+ */
+@Component
+@Slf4j
+public class ApplicantPriorityScorer {
+
+    // Metric columns of the row-major metrics array
+    public static final int TOTAL_PROGRAMS = 0;
+    public static final int TOTAL_DAYS = 1;
+    public static final int BEAS_PROGRAMS = 2;
+    public static final int BEAS_DAYS = 3;
+    public static final int NON_BEAS_PROGRAMS = 4;
+    public static final int NON_BEAS_DAYS = 5;
+    public static final int METRIC_COUNT = 6;
+
+    private final long[] weights;
+
+    public ApplicantPriorityScorer(
+            @Value("${app.priority.weights.total-programs:10}") long totalProgramsWeight,
+            @Value("${app.priority.weights.total-days:1}") long totalDaysWeight,
+            @Value("${app.priority.weights.beas-programs:0}") long beasProgramsWeight,
+            @Value("${app.priority.weights.beas-days:0}") long beasDaysWeight,
+            @Value("${app.priority.weights.non-beas-programs:0}") long nonBeasProgramsWeight,
+            @Value("${app.priority.weights.non-beas-days:0}") long nonBeasDaysWeight) {
+        this.weights = new long[METRIC_COUNT];
+        weights[TOTAL_PROGRAMS] = totalProgramsWeight;
+        weights[TOTAL_DAYS] = totalDaysWeight;
+        weights[BEAS_PROGRAMS] = beasProgramsWeight;
+        weights[BEAS_DAYS] = beasDaysWeight;
+        weights[NON_BEAS_PROGRAMS] = nonBeasProgramsWeight;
+        weights[NON_BEAS_DAYS] = nonBeasDaysWeight;
+        log.info("Applicant priority weights (programs, days, BEAS programs, BEAS days, non-BEAS programs, non-BEAS days): {}",
+                Arrays.toString(weights));
+    }
+
+    /**
+     * Score every applicant.
+     *
+     * @param metrics Row-major metrics, METRIC_COUNT values per applicant
+     * @return Score per applicant, in the same order
+     */
+    public long[] score(long[] metrics) {
+        long[] scores = new long[metrics.length / METRIC_COUNT];
+        for (int i = 0, offset = 0; i < scores.length; i++, offset += METRIC_COUNT) {
+            long score = 0;
+            for (int m = 0; m < METRIC_COUNT; m++) {
+                score += weights[m] * metrics[offset + m];
+            }
+            scores[i] = score;
+        }
+        return scores;
+    }
+}
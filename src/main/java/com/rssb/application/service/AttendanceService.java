@@ -1,19 +1,45 @@
 package com.rssb.application.service;
 
+import com.rssb.application.dto.AttendanceGridRequest;
 import com.rssb.application.dto.AttendanceRequest;
 import com.rssb.application.dto.AttendanceResponse;
+import com.rssb.application.dto.AuthenticatedUser;
+import com.rssb.application.dto.BulkAttendanceResponse;
 import com.rssb.application.dto.ProgramAttendeeResponse;
 
 import java.util.List;
 
 public interface AttendanceService {
-    List<AttendanceResponse> markAttendance(AttendanceRequest request, String inchargeZonalId);
+    List<AttendanceResponse> markAttendance(AttendanceRequest request, AuthenticatedUser incharge);
+
+    /**
+     * Mark a whole attendance sheet with one multi-row INSERT ... ON CONFLICT DO UPDATE.
+     * Sewadars that are not approved for the program are reported per row instead of failing the request;
+     * concurrent markings of the same sheet do not collide on the unique (program_date_id, sewadar_id) key.
+     */
+    BulkAttendanceResponse markAttendanceBulk(AttendanceRequest request, AuthenticatedUser incharge);
+
+    /**
+     * Mark a sewadar x date grid (e.g. a whole week) in one transaction: all program dates are resolved once
+     * and every cell is written by the same bulk upsert as markAttendanceBulk.
+     */
+    BulkAttendanceResponse markAttendanceGrid(AttendanceGridRequest request, AuthenticatedUser incharge);
     AttendanceResponse updateAttendance(Long id, Boolean attended, Integer daysParticipated, String notes);
     List<AttendanceResponse> getAttendanceByProgram(Long programId);
     List<AttendanceResponse> getAttendanceBySewadar(String sewadarId);
     List<AttendanceResponse> getAttendanceStatistics(Long programId);
     com.rssb.application.dto.SewadarAttendanceSummaryResponse getSewadarAttendanceSummary(String sewadarId);
-    com.rssb.application.dto.AllSewadarsAttendanceSummaryResponse getAllSewadarsAttendanceSummary();
+    /**
+     * Attendance summary of all sewadars, ordered by zonal ID.
+     * With page/size only that page is returned (with totals); without them the whole population is returned.
+     */
+    com.rssb.application.dto.AllSewadarsAttendanceSummaryResponse getAllSewadarsAttendanceSummary(Integer page, Integer size);
+
+    /**
+     * Prepare the attendance summary of all sewadars as NDJSON (one SewadarSummary object per line),
+     * read in keyset chunks so memory stays flat regardless of the number of sewadars
+     */
+    ExportWriter streamAllSewadarsAttendanceSummary();
     List<ProgramAttendeeResponse> getApprovedAttendeesForProgram(Long programId);
 
     /**
@@ -21,9 +47,9 @@ public interface AttendanceService {
      * Used when incharge/admin accidentally marked attendance and wants to revert.
      *
      * @param id Attendance record ID
-     * @param inchargeZonalId Incharge/admin zonal ID performing the operation
+     * @param incharge Incharge/admin performing the operation
      */
-    void deleteAttendance(Long id, String inchargeZonalId);
+    void deleteAttendance(Long id, AuthenticatedUser incharge);
     
     /**
      * Quick lookup: Check if a sewadar is present on a given date for a program
@@ -1,26 +1,48 @@
 package com.rssb.application.service;
 
 import com.rssb.application.dto.AllSewadarsAttendanceSummaryResponse;
+import com.rssb.application.dto.AttendanceGridRequest;
 import com.rssb.application.dto.AttendanceResponse;
 import com.rssb.application.dto.AttendanceRequest;
+import com.rssb.application.dto.AuthenticatedUser;
+import com.rssb.application.dto.BulkAttendanceResponse;
 import com.rssb.application.dto.ProgramAttendeeResponse;
 import com.rssb.application.dto.SewadarAttendanceSummaryResponse;
 import com.rssb.application.dto.SewadarResponse;
+import com.rssb.application.dto.SewadarSnapshot;
 import com.rssb.application.entity.Attendance;
 import com.rssb.application.entity.Program;
 import com.rssb.application.entity.ProgramDate;
 import com.rssb.application.entity.Sewadar;
 import com.rssb.application.exception.ResourceNotFoundException;
 import com.rssb.application.repository.AttendanceRepository;
+import com.rssb.application.repository.ProgramApplicationRepository;
 import com.rssb.application.repository.ProgramRepository;
 import com.rssb.application.repository.SewadarRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,74 +51,68 @@ import java.util.stream.Collectors;
 @Transactional
 public class AttendanceServiceImpl implements AttendanceService {
 
+    private static final int SUMMARY_CHUNK_SIZE = 1000;
+    private static final int DEFAULT_SUMMARY_PAGE_SIZE = 100;
+    private static final int MAX_SUMMARY_PAGE_SIZE = 1000;
+    // Rows per bulk upsert statement (5 bind parameters each, well under the PostgreSQL limit of 32767)
+    private static final int BULK_CHUNK_SIZE = 1000;
+
     private final AttendanceRepository attendanceRepository;
     private final ProgramRepository programRepository;
+    private final ProgramApplicationRepository programApplicationRepository;
     private final SewadarRepository sewadarRepository;
+    private final SewadarLookupService sewadarLookupService;
+    private final ProgramCreatorLookupService programCreatorLookupService;
+    private final AttendanceStatsService attendanceStatsService;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
 
     @Override
-    public List<AttendanceResponse> markAttendance(AttendanceRequest request, String inchargeZonalId) {
-        log.info("Incharge {} marking attendance for program {} on date {}", inchargeZonalId, request.getProgramId(), request.getProgramDate());
+    public List<AttendanceResponse> markAttendance(AttendanceRequest request, AuthenticatedUser incharge) {
+        log.info("Incharge {} marking attendance for program {} on date {}", incharge.getZonalId(), request.getProgramId(), request.getProgramDate());
 
-        Program program = programRepository.findById(request.getProgramId())
-                .orElseThrow(() -> new ResourceNotFoundException("Program", "id", request.getProgramId()));
+        ProgramDate programDate = resolveMarkableProgramDate(request, incharge);
+        Program program = programDate.getProgram();
 
-        // Validate user role and permission
-        Sewadar incharge = sewadarRepository.findByZonalId(inchargeZonalId)
-                .orElseThrow(() -> new ResourceNotFoundException("Sewadar", "zonal_id", inchargeZonalId));
-        
-        // ADMIN can mark attendance for any program, INCHARGE only for their own programs
-        if (!com.rssb.application.util.PermissionUtil.canManageProgram(incharge, program)) {
-            throw new IllegalArgumentException("Only the program creator (or ADMIN) can mark attendance");
-        }
-        
-        if (!com.rssb.application.util.PermissionUtil.hasInchargePermission(incharge)) {
-            throw new IllegalArgumentException("Only incharge or admin can mark attendance");
+        // Approved sewadars of the program, taken from the applications instead of one lookup per sewadar
+        Map<String, Sewadar> approvedSewadars = new HashMap<>();
+        for (Sewadar approved : programApplicationRepository.findSewadarsByProgramIdAndStatus(program.getId(), "APPROVED")) {
+            approvedSewadars.put(approved.getZonalId(), approved);
         }
 
-        // Find the ProgramDate entity for the given date (ensures referential integrity)
-        ProgramDate programDate = program.getProgramDates().stream()
-                .filter(pd -> pd.getProgramDate().equals(request.getProgramDate()))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException(
-                        "Date " + request.getProgramDate() + " is not a valid program date. Valid dates: " + 
-                        program.getProgramDates().stream().map(pd -> pd.getProgramDate()).toList()));
-        
-        // Optional: Validate that attendance cannot be marked for future dates
-        // (Allow past dates in case incharge forgot to mark on the actual day)
-        java.time.LocalDate today = java.time.LocalDate.now();
-        if (request.getProgramDate().isAfter(today)) {
-            throw new IllegalArgumentException(
-                    "Cannot mark attendance for future dates. " +
-                    "Requested date: " + request.getProgramDate() + ", Today: " + today);
+        // Sewadars that already have attendance in this program (their program count must not change), read with
+        // their counters locked so a concurrent marking of another date of this program is seen once it commits
+        attendanceStatsService.lockCounters(request.getSewadarIds().stream()
+                .filter(approvedSewadars::containsKey)
+                .toList());
+        Set<String> alreadyInProgram = new HashSet<>(attendanceRepository.findSewadarIdsWithAttendanceInProgram(
+                program.getId(), request.getSewadarIds()));
+        List<String> newlyMarked = new ArrayList<>();
+
+        // Attendance already marked on this date, loaded in one query (a query per sewadar would also force
+        // a flush per sewadar and defeat insert batching). Unique constraint on (program_date_id, sewadar_id).
+        Map<String, Attendance> existingBySewadar = new HashMap<>();
+        for (Attendance existing : attendanceRepository.findByProgramDateIdAndSewadarZonalIdIn(
+                programDate.getId(), request.getSewadarIds())) {
+            existingBySewadar.put(existing.getSewadar().getZonalId(), existing);
         }
 
-        return request.getSewadarIds().stream().map(sewadarZonalId -> {
-            Sewadar sewadar = sewadarRepository.findByZonalId(sewadarZonalId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Sewadar", "zonal_id", sewadarZonalId));
-
+        List<Attendance> attendances = new ArrayList<>();
+        for (String sewadarZonalId : request.getSewadarIds()) {
             // Verify sewadar is approved for this program
-            boolean isApproved = program.getApplications().stream()
-                    .anyMatch(app -> app.getSewadar().getZonalId().equals(sewadarZonalId) 
-                            && "APPROVED".equals(app.getStatus()));
-            
-            if (!isApproved) {
+            Sewadar sewadar = approvedSewadars.get(sewadarZonalId);
+            if (sewadar == null) {
+                sewadarLookupService.getByZonalId(sewadarZonalId); // 404 for unknown sewadars
                 throw new IllegalArgumentException("Sewadar " + sewadarZonalId + " is not approved for this program");
             }
 
-            // Check if attendance already exists for this sewadar-program-date combination
-            // Unique constraint on (program_date_id, sewadar_id) prevents duplicates
-            Attendance existing = attendanceRepository.findByProgramDateIdAndSewadarZonalId(
-                    programDate.getId(), sewadarZonalId)
-                    .orElse(null);
-
-            Attendance attendance;
-            if (existing != null) {
+            Attendance attendance = existingBySewadar.get(sewadarZonalId);
+            if (attendance != null) {
                 // Update existing (if notes changed, etc.)
                 if (request.getNotes() != null && !request.getNotes().trim().isEmpty()) {
-                    existing.setNotes(request.getNotes());
+                    attendance.setNotes(request.getNotes());
                 }
-                existing.setMarkedAt(LocalDateTime.now());
-                attendance = attendanceRepository.save(existing);
+                attendance.setMarkedAt(LocalDateTime.now());
             } else {
                 // Create new attendance record for this date
                 attendance = Attendance.builder()
@@ -106,13 +122,209 @@ public class AttendanceServiceImpl implements AttendanceService {
                         .markedAt(LocalDateTime.now())
                         .notes(request.getNotes())
                         .build();
-                attendance = attendanceRepository.save(attendance);
+                existingBySewadar.put(sewadarZonalId, attendance);
+                newlyMarked.add(sewadarZonalId);
             }
+            attendances.add(attendance);
+        }
+
+        // Inserts go out as JDBC batches (pooled sequence IDs, hibernate.jdbc.batch_size)
+        List<AttendanceResponse> responses = attendanceRepository.saveAll(attendances).stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+        log.info("Attendance marked for {} sewadars in program {} on date {}",
+                responses.size(), request.getProgramId(), request.getProgramDate());
+
+        // Keep attendance counters in step (same transaction)
+        attendanceStatsService.recordAttendanceAdded(program, newlyMarked, alreadyInProgram);
+        return responses;
+    }
+
+    @Override
+    public BulkAttendanceResponse markAttendanceBulk(AttendanceRequest request, AuthenticatedUser incharge) {
+        log.info("Incharge {} bulk marking attendance for program {} on date {}", incharge.getZonalId(), request.getProgramId(), request.getProgramDate());
+
+        ProgramDate programDate = resolveMarkableProgramDate(request, incharge);
+        Map<ProgramDate, List<String>> sheet = Map.of(programDate, request.getSewadarIds());
 
-            log.info("Attendance marked for sewadar {} in program {} on date {}", 
-                    sewadarZonalId, request.getProgramId(), request.getProgramDate());
-            return mapToResponse(attendance);
-        }).collect(Collectors.toList());
+        BulkAttendanceResponse response = upsertAttendance(programDate.getProgram(), sheet, request.getNotes());
+        response.setProgramDate(programDate.getProgramDate());
+        response.setProgramDateId(programDate.getId());
+        return response;
+    }
+
+    @Override
+    public BulkAttendanceResponse markAttendanceGrid(AttendanceGridRequest request, AuthenticatedUser incharge) {
+        log.info("Incharge {} marking an attendance grid of {} sewadars for program {}",
+                incharge.getZonalId(), request.getSewadars().size(), request.getProgramId());
+
+        Program program = resolveManagedProgram(request.getProgramId(), incharge);
+
+        // Every ProgramDate of the grid resolved once from the (cached) program dates
+        Map<LocalDate, ProgramDate> programDatesByDate = new HashMap<>();
+        for (ProgramDate pd : program.getProgramDates()) {
+            programDatesByDate.put(pd.getProgramDate(), pd);
+        }
+        Map<ProgramDate, List<String>> grid = new LinkedHashMap<>();
+        for (AttendanceGridRequest.SewadarDates row : request.getSewadars()) {
+            for (LocalDate date : row.getDates()) {
+                ProgramDate programDate = programDatesByDate.get(date);
+                if (programDate == null) {
+                    throw new IllegalArgumentException("Date " + date + " is not a valid program date. Valid dates: " +
+                            program.getProgramDates().stream().map(ProgramDate::getProgramDate).toList());
+                }
+                checkNotFuture(date);
+                grid.computeIfAbsent(programDate, k -> new ArrayList<>()).add(row.getSewadarId());
+            }
+        }
+
+        return upsertAttendance(program, grid, request.getNotes());
+    }
+
+    /**
+     * Write (program date x sewadar) cells with multi-row INSERT ... ON CONFLICT DO UPDATE statements
+     * and record the counters for the rows actually inserted.
+     * Approval is checked with one query; unapproved sewadars are reported per cell instead of failing the request.
+     */
+    private BulkAttendanceResponse upsertAttendance(Program program, Map<ProgramDate, List<String>> sewadarsByDate,
+                                                    String notes) {
+        // Duplicate cells would make ON CONFLICT touch the same row twice in one statement
+        Map<ProgramDate, Set<String>> cells = new LinkedHashMap<>();
+        Set<String> sewadarIds = new LinkedHashSet<>();
+        sewadarsByDate.forEach((programDate, ids) -> {
+            cells.computeIfAbsent(programDate, k -> new LinkedHashSet<>()).addAll(ids);
+            sewadarIds.addAll(ids);
+        });
+
+        Set<String> approved = new HashSet<>(programApplicationRepository.findApprovedSewadarIdsByProgramId(
+                program.getId(), sewadarIds));
+        // Read with the counters locked, like markAttendance (concurrent sheets for other dates of this program)
+        attendanceStatsService.lockCounters(approved);
+        Set<String> alreadyInProgram = new HashSet<>(attendanceRepository.findSewadarIdsWithAttendanceInProgram(
+                program.getId(), sewadarIds));
+
+        // Approved cells as [programDateId, sewadarId]
+        List<Object[]> toMark = new ArrayList<>();
+        cells.forEach((programDate, ids) -> ids.stream()
+                .filter(approved::contains)
+                .forEach(sewadarId -> toMark.add(new Object[]{programDate.getId(), sewadarId})));
+
+        // "programDateId:zonalId" -> [attendanceId, inserted]
+        Map<String, Object[]> written = new HashMap<>();
+        LocalDateTime markedAt = LocalDateTime.now();
+        for (int start = 0; start < toMark.size(); start += BULK_CHUNK_SIZE) {
+            List<Object[]> chunk = toMark.subList(start, Math.min(start + BULK_CHUNK_SIZE, toMark.size()));
+            List<Object> params = new ArrayList<>(chunk.size() * 5);
+            for (Object[] cell : chunk) {
+                params.addAll(Arrays.asList(program.getId(), cell[1], cell[0], markedAt, notes));
+            }
+            jdbcTemplate.query(upsertAttendanceSql(chunk.size()), rs -> {
+                written.put(rs.getLong("program_date_id") + ":" + rs.getString("sewadar_id"),
+                        new Object[]{rs.getLong("id"), rs.getBoolean("inserted")});
+            }, params.toArray());
+        }
+
+        List<String> newlyMarked = new ArrayList<>();
+        List<BulkAttendanceResponse.RowResult> results = new ArrayList<>();
+        cells.forEach((programDate, ids) -> {
+            for (String sewadarZonalId : ids) {
+                Object[] row = written.get(programDate.getId() + ":" + sewadarZonalId);
+                if (row == null) {
+                    results.add(BulkAttendanceResponse.RowResult.builder()
+                            .sewadarId(sewadarZonalId)
+                            .programDate(programDate.getProgramDate())
+                            .status("NOT_APPROVED")
+                            .message("Sewadar " + sewadarZonalId + " is not approved for this program")
+                            .build());
+                    continue;
+                }
+                boolean inserted = (Boolean) row[1];
+                if (inserted) {
+                    newlyMarked.add(sewadarZonalId); // once per inserted day
+                }
+                results.add(BulkAttendanceResponse.RowResult.builder()
+                        .sewadarId(sewadarZonalId)
+                        .programDate(programDate.getProgramDate())
+                        .status(inserted ? "CREATED" : "UPDATED")
+                        .attendanceId((Long) row[0])
+                        .build());
+            }
+        });
+
+        // Days follow what the statements actually inserted (a cell marked by a concurrent request counts once);
+        // the program count follows alreadyInProgram, read under the counter locks
+        attendanceStatsService.recordAttendanceAdded(program, newlyMarked, alreadyInProgram);
+        log.info("Bulk attendance for program {} over {} dates: {} created, {} updated, {} rejected",
+                program.getId(), cells.size(), newlyMarked.size(),
+                written.size() - newlyMarked.size(), results.size() - written.size());
+
+        return BulkAttendanceResponse.builder()
+                .programId(program.getId())
+                .createdCount(newlyMarked.size())
+                .updatedCount(written.size() - newlyMarked.size())
+                .rejectedCount(results.size() - written.size())
+                .results(results)
+                .build();
+    }
+
+    /**
+     * Permission and date checks shared by the attendance marking paths.
+     * Returns the program date being marked (its program is loaded).
+     */
+    private ProgramDate resolveMarkableProgramDate(AttendanceRequest request, AuthenticatedUser incharge) {
+        Program program = resolveManagedProgram(request.getProgramId(), incharge);
+
+        // Find the ProgramDate entity for the given date (ensures referential integrity)
+        ProgramDate programDate = program.getProgramDates().stream()
+                .filter(pd -> pd.getProgramDate().equals(request.getProgramDate()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Date " + request.getProgramDate() + " is not a valid program date. Valid dates: " + 
+                        program.getProgramDates().stream().map(pd -> pd.getProgramDate()).toList()));
+        checkNotFuture(request.getProgramDate());
+        return programDate;
+    }
+
+    /**
+     * Load a program the incharge may mark attendance for.
+     */
+    private Program resolveManagedProgram(Long programId, AuthenticatedUser incharge) {
+        // Validate user role and permission (token claims + cached program creator, no queries)
+        String creatorZonalId = programCreatorLookupService.getCreatorZonalId(programId);
+
+        // ADMIN can mark attendance for any program, INCHARGE only for their own programs
+        if (!com.rssb.application.util.PermissionUtil.canManageProgram(incharge, creatorZonalId)) {
+            throw new IllegalArgumentException("Only the program creator (or ADMIN) can mark attendance");
+        }
+        
+        if (!com.rssb.application.util.PermissionUtil.hasInchargePermission(incharge)) {
+            throw new IllegalArgumentException("Only incharge or admin can mark attendance");
+        }
+
+        return programRepository.findById(programId)
+                .orElseThrow(() -> new ResourceNotFoundException("Program", "id", programId));
+    }
+
+    // Attendance cannot be marked for future dates
+    // (Allow past dates in case incharge forgot to mark on the actual day)
+    private static void checkNotFuture(LocalDate date) {
+        LocalDate today = LocalDate.now();
+        if (date.isAfter(today)) {
+            throw new IllegalArgumentException(
+                    "Cannot mark attendance for future dates. " +
+                    "Requested date: " + date + ", Today: " + today);
+        }
+    }
+
+    // Multi-row upsert of attendance cells; IDs come from the column default (attendances_seq).
+    // On conflict only marked_at is refreshed, and notes when new non-blank notes are given (as in markAttendance).
+    // xmax = 0 only for rows this statement inserted. Returns: [id, program_date_id, sewadar_id, inserted]
+    private static String upsertAttendanceSql(int rows) {
+        return "INSERT INTO attendances (program_id, sewadar_id, program_date_id, marked_at, notes) VALUES " +
+               String.join(", ", Collections.nCopies(rows, "(?, ?, ?, ?, ?)")) +
+               " ON CONFLICT (program_date_id, sewadar_id) DO UPDATE SET marked_at = EXCLUDED.marked_at, " +
+               "notes = CASE WHEN TRIM(EXCLUDED.notes) <> '' THEN EXCLUDED.notes ELSE attendances.notes END " +
+               "RETURNING id, program_date_id, sewadar_id, (xmax = 0) AS inserted";
     }
 
     @Override
@@ -165,116 +377,145 @@ public class AttendanceServiceImpl implements AttendanceService {
     public SewadarAttendanceSummaryResponse getSewadarAttendanceSummary(String sewadarZonalId) {
         log.info("Fetching attendance summary for sewadar: {}", sewadarZonalId);
         
-        Sewadar sewadar = sewadarRepository.findByZonalId(sewadarZonalId)
-                .orElseThrow(() -> new ResourceNotFoundException("Sewadar", "zonal_id", sewadarZonalId));
-        
-        // Use SQL aggregations for counts (more efficient)
-        Long beasProgramsCount = attendanceRepository.countAttendedProgramsBySewadarIdAndLocationType(sewadarZonalId, "BEAS");
-        Long nonBeasProgramsCount = attendanceRepository.countAttendedProgramsBySewadarIdAndLocationType(sewadarZonalId, "NON_BEAS");
-        Long totalProgramsCount = attendanceRepository.countAttendedProgramsBySewadarId(sewadarZonalId);
-        
-        // Count days using SQL (count of attendance records)
-        Long beasDays = attendanceRepository.countDaysAttendedBySewadarIdAndLocationType(sewadarZonalId, "BEAS");
-        Long nonBeasDays = attendanceRepository.countDaysAttendedBySewadarIdAndLocationType(sewadarZonalId, "NON_BEAS");
-        Long totalDays = attendanceRepository.countDaysAttendedBySewadarId(sewadarZonalId);
-        
-        // Get attendance records by location for detail list
-        List<Attendance> beasAttendanceEntities = attendanceRepository.findAttendedBySewadarIdAndLocationType(sewadarZonalId, "BEAS");
-        List<Attendance> nonBeasAttendanceEntities = attendanceRepository.findAttendedBySewadarIdAndLocationType(sewadarZonalId, "NON_BEAS");
-        
-        // Group by program and map to DTOs (one detail per program, with day count)
-        List<SewadarAttendanceSummaryResponse.AttendanceDetail> beasAttendances = 
-                groupAttendancesByProgram(beasAttendanceEntities);
+        // At most two scalar queries: the sewadar snapshot (cached) and their attendance grouped by program (no entities loaded)
+        SewadarSnapshot sewadar = sewadarLookupService.getByZonalId(sewadarZonalId);
         
-        List<SewadarAttendanceSummaryResponse.AttendanceDetail> nonBeasAttendances = 
-                groupAttendancesByProgram(nonBeasAttendanceEntities);
+        List<SewadarAttendanceSummaryResponse.AttendanceDetail> beasAttendances = new ArrayList<>();
+        List<SewadarAttendanceSummaryResponse.AttendanceDetail> nonBeasAttendances = new ArrayList<>();
+        int beasDays = 0;
+        int nonBeasDays = 0;
+        for (Object[] row : attendanceRepository.summarizeBySewadarIdGroupedByProgram(sewadarZonalId)) {
+            SewadarAttendanceSummaryResponse.AttendanceDetail detail = mapToAttendanceDetail(row);
+            if ("BEAS".equals(detail.getLocationType())) {
+                beasAttendances.add(detail);
+                beasDays += detail.getDaysParticipated();
+            } else {
+                nonBeasAttendances.add(detail);
+                nonBeasDays += detail.getDaysParticipated();
+            }
+        }
         
         return SewadarAttendanceSummaryResponse.builder()
-                .sewadarId(sewadar.getZonalId())
-                .sewadarName(sewadar.getFirstName() + " " + sewadar.getLastName())
+                .sewadarId(sewadarZonalId)
+                .sewadarName(sewadar.getFullName())
                 .mobile(sewadar.getMobile())
-                .beasProgramsCount(beasProgramsCount)
-                .beasDaysAttended(beasDays != null ? beasDays.intValue() : 0)
+                .beasProgramsCount((long) beasAttendances.size())
+                .beasDaysAttended(beasDays)
                 .beasAttendances(beasAttendances)
-                .nonBeasProgramsCount(nonBeasProgramsCount)
-                .nonBeasDaysAttended(nonBeasDays != null ? nonBeasDays.intValue() : 0)
+                .nonBeasProgramsCount((long) nonBeasAttendances.size())
+                .nonBeasDaysAttended(nonBeasDays)
                 .nonBeasAttendances(nonBeasAttendances)
-                .totalProgramsCount(totalProgramsCount)
-                .totalDaysAttended(totalDays != null ? totalDays.intValue() : 0)
+                .totalProgramsCount((long) (beasAttendances.size() + nonBeasAttendances.size()))
+                .totalDaysAttended(beasDays + nonBeasDays)
                 .build();
     }
     
     /**
-     * Group attendance records by program and create summary details
-     * Each program gets one detail entry with the count of days attended
+     * Map one row of summarizeBySewadarIdGroupedByProgram to a summary detail
+     * (one detail per program, with the count of days attended)
      */
-    private List<SewadarAttendanceSummaryResponse.AttendanceDetail> groupAttendancesByProgram(List<Attendance> attendances) {
-        return attendances.stream()
-                .collect(Collectors.groupingBy(Attendance::getProgram))
-                .entrySet().stream()
-                .map(entry -> {
-                    Program program = entry.getKey();
-                    List<Attendance> programAttendances = entry.getValue();
-                    String locationType = "BEAS".equalsIgnoreCase(program.getLocation()) ? "BEAS" : "NON_BEAS";
-                    
-                    return SewadarAttendanceSummaryResponse.AttendanceDetail.builder()
-                            .programId(program.getId())
-                            .programTitle(program.getTitle())
-                            .location(program.getLocation())
-                            .locationType(locationType)
-                            .attended(true) // If record exists, they attended
-                            .daysParticipated(programAttendances.size()) // Count of attendance records = days
-                            .markedAt(programAttendances.stream()
-                                    .map(Attendance::getMarkedAt)
-                                    .max(LocalDateTime::compareTo)
-                                    .orElse(LocalDateTime.now()))
-                            .build();
-                })
-                .collect(Collectors.toList());
+    private SewadarAttendanceSummaryResponse.AttendanceDetail mapToAttendanceDetail(Object[] row) {
+        String location = (String) row[2];
+        return SewadarAttendanceSummaryResponse.AttendanceDetail.builder()
+                .programId((Long) row[0])
+                .programTitle((String) row[1])
+                .location(location)
+                .locationType("BEAS".equalsIgnoreCase(location) ? "BEAS" : "NON_BEAS")
+                .attended(true) // If record exists, they attended
+                .daysParticipated(((Long) row[3]).intValue())
+                .markedAt((LocalDateTime) row[4])
+                .build();
     }
     
     @Override
     @Transactional(readOnly = true)
-    public AllSewadarsAttendanceSummaryResponse getAllSewadarsAttendanceSummary() {
-        log.info("Fetching attendance summary for all sewadars");
+    public AllSewadarsAttendanceSummaryResponse getAllSewadarsAttendanceSummary(Integer page, Integer size) {
+        log.info("Fetching attendance summary for all sewadars (page: {}, size: {})", page, size);
         
-        List<Sewadar> allSewadars = sewadarRepository.findAll();
+        if (page == null && size == null) {
+            // Whole population, read in keyset chunks (one joined query per chunk)
+            List<AllSewadarsAttendanceSummaryResponse.SewadarSummary> summaries = new ArrayList<>();
+            String after = "";
+            List<AllSewadarsAttendanceSummaryResponse.SewadarSummary> chunk;
+            do {
+                chunk = findSummaryChunk(after);
+                summaries.addAll(chunk);
+                after = chunk.isEmpty() ? after : chunk.get(chunk.size() - 1).getSewadarId();
+            } while (chunk.size() == SUMMARY_CHUNK_SIZE);
+            
+            return AllSewadarsAttendanceSummaryResponse.builder()
+                    .sewadars(summaries)
+                    .build();
+        }
         
-        List<AllSewadarsAttendanceSummaryResponse.SewadarSummary> summaries = allSewadars.stream()
-                .map(sewadar -> {
-                    Long beasCount = attendanceRepository.countAttendedProgramsBySewadarIdAndLocationType(
-                            sewadar.getZonalId(), "BEAS");
-                    Long nonBeasCount = attendanceRepository.countAttendedProgramsBySewadarIdAndLocationType(
-                            sewadar.getZonalId(), "NON_BEAS");
-                    Long totalCount = attendanceRepository.countAttendedProgramsBySewadarId(sewadar.getZonalId());
-                    
-                    // Use SQL aggregations for efficient counting
-                    Long beasDays = attendanceRepository.countDaysAttendedBySewadarIdAndLocationType(
-                            sewadar.getZonalId(), "BEAS");
-                    Long nonBeasDays = attendanceRepository.countDaysAttendedBySewadarIdAndLocationType(
-                            sewadar.getZonalId(), "NON_BEAS");
-                    Long totalDays = attendanceRepository.countDaysAttendedBySewadarId(sewadar.getZonalId());
-                    
-                    return AllSewadarsAttendanceSummaryResponse.SewadarSummary.builder()
-                            .sewadarId(sewadar.getZonalId())
-                            .sewadarName(sewadar.getFirstName() + " " + sewadar.getLastName())
-                            .mobile(sewadar.getMobile())
-                            .beasProgramsCount(beasCount)
-                            .beasDaysAttended(beasDays != null ? beasDays.intValue() : 0)
-                            .nonBeasProgramsCount(nonBeasCount)
-                            .nonBeasDaysAttended(nonBeasDays != null ? nonBeasDays.intValue() : 0)
-                            .totalProgramsCount(totalCount)
-                            .totalDaysAttended(totalDays != null ? totalDays.intValue() : 0)
-                            .build();
-                })
+        int pageNumber = page != null ? page : 0;
+        int pageSize = size != null ? size : DEFAULT_SUMMARY_PAGE_SIZE;
+        if (pageNumber < 0 || pageSize < 1 || pageSize > MAX_SUMMARY_PAGE_SIZE) {
+            throw new IllegalArgumentException("page must be >= 0 and size between 1 and " + MAX_SUMMARY_PAGE_SIZE);
+        }
+        
+        List<AllSewadarsAttendanceSummaryResponse.SewadarSummary> summaries = sewadarRepository
+                .findAttendanceSummaryRows("", PageRequest.of(pageNumber, pageSize)).stream()
+                .map(this::mapToSewadarSummary)
                 .collect(Collectors.toList());
+        long totalElements = sewadarRepository.count();
         
         return AllSewadarsAttendanceSummaryResponse.builder()
                 .sewadars(summaries)
+                .totalElements(totalElements)
+                .totalPages((int) ((totalElements + pageSize - 1) / pageSize))
+                .currentPage(pageNumber)
+                .pageSize(pageSize)
                 .build();
     }
     
-    // mapToAttendanceDetail removed - now using groupAttendancesByProgram for summary
+    @Override
+    public ExportWriter streamAllSewadarsAttendanceSummary() {
+        log.info("Streaming attendance summary for all sewadars");
+        
+        // Each chunk is its own short read; nothing is held between chunks but the last zonal ID
+        return out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            String after = "";
+            List<AllSewadarsAttendanceSummaryResponse.SewadarSummary> chunk;
+            do {
+                chunk = findSummaryChunk(after);
+                for (AllSewadarsAttendanceSummaryResponse.SewadarSummary summary : chunk) {
+                    writer.write(objectMapper.writeValueAsString(summary));
+                    writer.write('\n');
+                }
+                writer.flush();
+                after = chunk.isEmpty() ? after : chunk.get(chunk.size() - 1).getSewadarId();
+            } while (chunk.size() == SUMMARY_CHUNK_SIZE);
+        };
+    }
+    
+    private List<AllSewadarsAttendanceSummaryResponse.SewadarSummary> findSummaryChunk(String afterZonalId) {
+        return sewadarRepository.findAttendanceSummaryRows(afterZonalId, PageRequest.of(0, SUMMARY_CHUNK_SIZE)).stream()
+                .map(this::mapToSewadarSummary)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Map one row of SewadarRepository.findAttendanceSummaryRows (missing counters count as zero)
+     */
+    private AllSewadarsAttendanceSummaryResponse.SewadarSummary mapToSewadarSummary(Object[] row) {
+        return AllSewadarsAttendanceSummaryResponse.SewadarSummary.builder()
+                .sewadarId((String) row[0])
+                .sewadarName(row[1] + " " + row[2])
+                .mobile((String) row[3])
+                .totalProgramsCount(counter(row[4]))
+                .totalDaysAttended((int) counter(row[5]))
+                .beasProgramsCount(counter(row[6]))
+                .beasDaysAttended((int) counter(row[7]))
+                .nonBeasProgramsCount(counter(row[8]))
+                .nonBeasDaysAttended((int) counter(row[9]))
+                .build();
+    }
+    
+    private long counter(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
 
     private AttendanceResponse mapToResponse(Attendance attendance) {
         SewadarResponse sewadar = SewadarResponse.builder()
@@ -346,8 +587,8 @@ public class AttendanceServiceImpl implements AttendanceService {
     }
 
     @Override
-    public void deleteAttendance(Long id, String inchargeZonalId) {
-        log.info("Incharge {} deleting attendance record {}", inchargeZonalId, id);
+    public void deleteAttendance(Long id, AuthenticatedUser incharge) {
+        log.info("Incharge {} deleting attendance record {}", incharge.getZonalId(), id);
 
         Attendance attendance = attendanceRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Attendance", "id", id));
@@ -355,10 +596,9 @@ public class AttendanceServiceImpl implements AttendanceService {
         Program program = attendance.getProgram();
 
         // Validate user role and permission (same rules as markAttendance)
-        Sewadar incharge = sewadarRepository.findByZonalId(inchargeZonalId)
-                .orElseThrow(() -> new ResourceNotFoundException("Sewadar", "zonal_id", inchargeZonalId));
+        String creatorZonalId = programCreatorLookupService.getCreatorZonalId(program.getId());
 
-        if (!com.rssb.application.util.PermissionUtil.canManageProgram(incharge, program)) {
+        if (!com.rssb.application.util.PermissionUtil.canManageProgram(incharge, creatorZonalId)) {
             throw new IllegalArgumentException("Only the program creator (or ADMIN) can unmark attendance");
         }
 
@@ -366,7 +606,15 @@ public class AttendanceServiceImpl implements AttendanceService {
             throw new IllegalArgumentException("Only incharge or admin can unmark attendance");
         }
 
+        String sewadarZonalId = attendance.getSewadar().getZonalId();
+        // Counted with the counters locked, so of two concurrent deletes in this program the second sees the first
+        attendanceStatsService.lockCounters(List.of(sewadarZonalId));
+        boolean lastDayInProgram = attendanceRepository.countByProgramIdAndSewadarZonalId(
+                program.getId(), sewadarZonalId) <= 1;
+
         attendanceRepository.delete(attendance);
+        attendanceStatsService.recordAttendanceRemoved(program, Map.of(sewadarZonalId, 1L),
+                lastDayInProgram ? Set.of(sewadarZonalId) : Set.of());
         log.info("Attendance record {} deleted successfully", id);
     }
 }
@@ -0,0 +1,382 @@
+package com.rssb.application.service;
+
+import com.rssb.application.dto.AttendanceStats;
+import com.rssb.application.dto.AttendanceStatsMaintenanceResponse;
+import com.rssb.application.entity.Program;
+import com.rssb.application.entity.SewadarAttendanceStats;
+import com.rssb.application.repository.AttendanceRepository;
+import com.rssb.application.repository.SewadarAttendanceStatsRepository;
+import com.rssb.application.repository.SewadarRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-sewadar attendance statistics (total / BEAS / NON_BEAS program and day counts).
+ *
+ * Reads come from the sewadar_attendance_stats counters table (primary key lookups).
+ * Attendance writes call the record* methods inside their own transaction so the counters commit or roll back with them.
+ * rebuildAll / verifyAll recompute the counters from the attendances table in parallel chunks,
+ * e.g. after a bulk load.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class AttendanceStatsService {
+
+    // Keeps the IN-list well under the PostgreSQL bind parameter limit (32767)
+    private static final int CHUNK_SIZE = 1000;
+    private static final int MAX_SAMPLE_MISMATCHES = 50;
+
+    // Add deltas to existing counters (creating the row if missing)
+    private static final String UPSERT_DELTA_SQL =
+            "INSERT INTO sewadar_attendance_stats (zonal_id, total_programs, total_days, beas_programs, beas_days, " +
+            "non_beas_programs, non_beas_days, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, now()) " +
+            "ON CONFLICT (zonal_id) DO UPDATE SET " +
+            "total_programs = sewadar_attendance_stats.total_programs + EXCLUDED.total_programs, " +
+            "total_days = sewadar_attendance_stats.total_days + EXCLUDED.total_days, " +
+            "beas_programs = sewadar_attendance_stats.beas_programs + EXCLUDED.beas_programs, " +
+            "beas_days = sewadar_attendance_stats.beas_days + EXCLUDED.beas_days, " +
+            "non_beas_programs = sewadar_attendance_stats.non_beas_programs + EXCLUDED.non_beas_programs, " +
+            "non_beas_days = sewadar_attendance_stats.non_beas_days + EXCLUDED.non_beas_days, " +
+            "updated_at = EXCLUDED.updated_at";
+
+    // Overwrite counters with recomputed values
+    private static final String UPSERT_ABSOLUTE_SQL =
+            "INSERT INTO sewadar_attendance_stats (zonal_id, total_programs, total_days, beas_programs, beas_days, " +
+            "non_beas_programs, non_beas_days, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, now()) " +
+            "ON CONFLICT (zonal_id) DO UPDATE SET " +
+            "total_programs = EXCLUDED.total_programs, total_days = EXCLUDED.total_days, " +
+            "beas_programs = EXCLUDED.beas_programs, beas_days = EXCLUDED.beas_days, " +
+            "non_beas_programs = EXCLUDED.non_beas_programs, non_beas_days = EXCLUDED.non_beas_days, " +
+            "updated_at = EXCLUDED.updated_at";
+
+    // Create the counter row if missing and lock it until the transaction ends (the update leaves the values unchanged)
+    private static final String LOCK_SQL =
+            "INSERT INTO sewadar_attendance_stats (zonal_id, total_programs, total_days, beas_programs, beas_days, " +
+            "non_beas_programs, non_beas_days, updated_at) VALUES (?, 0, 0, 0, 0, 0, 0, now()) " +
+            "ON CONFLICT (zonal_id) DO UPDATE SET updated_at = sewadar_attendance_stats.updated_at";
+
+    private final AttendanceRepository attendanceRepository;
+    private final SewadarAttendanceStatsRepository statsRepository;
+    private final SewadarRepository sewadarRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.attendance-stats.rebuild-threads:4}")
+    private int rebuildThreads;
+
+    @Value("${app.attendance-stats.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    /**
+     * Get attendance stats for a set of sewadars.
+     * Every requested zonal ID is present in the result (sewadars with no attendance get empty stats).
+     *
+     * @param sewadarZonalIds Zonal IDs of the sewadars
+     * @return Map of zonalId -> stats
+     */
+    public Map<String, AttendanceStats> getStatsForSewadars(Collection<String> sewadarZonalIds) {
+        Map<String, AttendanceStats> statsByZonalId = new HashMap<>();
+        if (sewadarZonalIds == null || sewadarZonalIds.isEmpty()) {
+            return statsByZonalId;
+        }
+
+        List<String> ids = new ArrayList<>(new LinkedHashSet<>(sewadarZonalIds));
+        for (List<String> chunk : chunk(ids)) {
+            for (SewadarAttendanceStats row : statsRepository.findAllById(chunk)) {
+                statsByZonalId.put(row.getZonalId(), AttendanceStats.builder()
+                        .totalPrograms(row.getTotalPrograms())
+                        .totalDays(row.getTotalDays())
+                        .beasPrograms(row.getBeasPrograms())
+                        .beasDays(row.getBeasDays())
+                        .build());
+            }
+        }
+
+        for (String zonalId : ids) {
+            statsByZonalId.computeIfAbsent(zonalId, k -> AttendanceStats.empty());
+        }
+        return statsByZonalId;
+    }
+
+    /**
+     * Get attendance stats for a single sewadar.
+     */
+    public AttendanceStats getStatsForSewadar(String sewadarZonalId) {
+        return getStatsForSewadars(List.of(sewadarZonalId)).get(sewadarZonalId);
+    }
+
+    /**
+     * Compute stats directly from the attendances table (one grouped query per chunk).
+     * Used by rebuild/verify; regular reads should use getStatsForSewadars.
+     */
+    public Map<String, AttendanceStats> computeStatsFromAttendances(Collection<String> sewadarZonalIds) {
+        Map<String, AttendanceStats> statsByZonalId = new HashMap<>();
+        List<String> ids = new ArrayList<>(new LinkedHashSet<>(sewadarZonalIds));
+        for (List<String> chunk : chunk(ids)) {
+            for (Object[] row : attendanceRepository.aggregateStatsBySewadarIds(chunk)) {
+                statsByZonalId.put((String) row[0], AttendanceStats.builder()
+                        .totalPrograms(toLong(row[1]))
+                        .totalDays(toLong(row[2]))
+                        .beasPrograms(toLong(row[3]))
+                        .beasDays(toLong(row[4]))
+                        .build());
+            }
+        }
+        for (String zonalId : ids) {
+            statsByZonalId.computeIfAbsent(zonalId, k -> AttendanceStats.empty());
+        }
+        return statsByZonalId;
+    }
+
+    /**
+     * Lock the counters of these sewadars until the current transaction ends.
+     * Attendance writers call this before reading what their deltas depend on (whether the sewadar already attended
+     * the program, or attends it on other days), so concurrent writers for the same sewadar wait for each other and
+     * read committed state. rebuildAll takes the same locks before recomputing a chunk.
+     * Rows are locked in zonal ID order, so writers locking overlapping sets cannot deadlock.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lockCounters(Collection<String> sewadarZonalIds) {
+        List<Object[]> batch = new TreeSet<>(sewadarZonalIds).stream()
+                .map(zonalId -> new Object[]{zonalId})
+                .toList();
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(LOCK_SQL, batch);
+        }
+    }
+
+    /**
+     * Record newly created attendance rows (one day each) for a program.
+     *
+     * @param program Program the attendance was marked for
+     * @param newlyMarkedZonalIds Sewadars that got a new attendance row
+     * @param alreadyInProgramZonalIds Sewadars that already had attendance in this program before the new rows
+     *                                 (read after {@link #lockCounters})
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAttendanceAdded(Program program, Collection<String> newlyMarkedZonalIds,
+                                      Set<String> alreadyInProgramZonalIds) {
+        Map<String, Long> daysBySewadar = new HashMap<>();
+        for (String zonalId : newlyMarkedZonalIds) {
+            daysBySewadar.merge(zonalId, 1L, Long::sum);
+        }
+        Set<String> newToProgram = new LinkedHashSet<>(daysBySewadar.keySet());
+        newToProgram.removeAll(alreadyInProgramZonalIds);
+        applyProgramDeltas(program, daysBySewadar, newToProgram, 1);
+    }
+
+    /**
+     * Record deleted attendance rows for a program.
+     *
+     * @param program Program the attendance belonged to
+     * @param removedDaysBySewadar Number of deleted attendance rows per sewadar
+     * @param leftProgramZonalIds Sewadars that have no attendance left in this program after the delete
+     *                            (read after {@link #lockCounters})
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAttendanceRemoved(Program program, Map<String, Long> removedDaysBySewadar,
+                                        Set<String> leftProgramZonalIds) {
+        applyProgramDeltas(program, removedDaysBySewadar, leftProgramZonalIds, -1);
+    }
+
+    /**
+     * Move a program's attendance between the BEAS and NON_BEAS counters after its location type changed.
+     *
+     * @param daysBySewadar Remaining attendance rows per sewadar in the program
+     * @param nowBeas true if the program is now at BEAS (was NON_BEAS), false for the reverse
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordLocationTypeChanged(Map<String, Long> daysBySewadar, boolean nowBeas) {
+        int sign = nowBeas ? 1 : -1;
+        List<Object[]> batch = new ArrayList<>();
+        // In zonal ID order, like lockCounters
+        new TreeMap<>(daysBySewadar).forEach((zonalId, days) -> {
+            if (days > 0) {
+                batch.add(new Object[]{zonalId, 0L, 0L, sign * 1L, sign * days, -sign * 1L, -sign * days});
+            }
+        });
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_DELTA_SQL, batch);
+        }
+    }
+
+    /**
+     * Remove the counters of a deleted sewadar (its attendance goes with it).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordSewadarDeleted(String zonalId) {
+        jdbcTemplate.update("DELETE FROM sewadar_attendance_stats WHERE zonal_id = ?", zonalId);
+    }
+
+    private void applyProgramDeltas(Program program, Map<String, Long> daysBySewadar,
+                                    Set<String> programCountChanged, int sign) {
+        if (daysBySewadar.isEmpty()) {
+            return;
+        }
+        boolean beas = isBeas(program.getLocation());
+        List<Object[]> batch = new ArrayList<>(daysBySewadar.size());
+        new TreeMap<>(daysBySewadar).forEach((zonalId, days) -> {
+            long programs = programCountChanged.contains(zonalId) ? sign : 0L;
+            long dayDelta = sign * days;
+            batch.add(new Object[]{zonalId, programs, dayDelta,
+                    beas ? programs : 0L, beas ? dayDelta : 0L,
+                    beas ? 0L : programs, beas ? 0L : dayDelta});
+        });
+        jdbcTemplate.batchUpdate(UPSERT_DELTA_SQL, batch);
+    }
+
+    /**
+     * Recompute all counters from the attendances table, in parallel chunks.
+     * Each chunk runs in its own transaction and locks its counters before reading attendance, so deltas of attendance
+     * writes committed meanwhile are either included in the recomputed values or applied on top of them.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AttendanceStatsMaintenanceResponse rebuildAll() {
+        return runChunked("REBUILD", true);
+    }
+
+    /**
+     * Compare all counters with the attendances table without changing them.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AttendanceStatsMaintenanceResponse verifyAll() {
+        return runChunked("VERIFY", false);
+    }
+
+    private AttendanceStatsMaintenanceResponse runChunked(String mode, boolean write) {
+        long startTime = System.currentTimeMillis();
+        List<String> allZonalIds = sewadarRepository.findAllZonalIds();
+        List<List<String>> chunks = chunk(allZonalIds);
+        log.info("Attendance stats {}: {} sewadars in {} chunks using {} threads",
+                mode, allZonalIds.size(), chunks.size(), rebuildThreads);
+
+        TransactionTemplate chunkTransaction = new TransactionTemplate(transactionManager);
+        chunkTransaction.setReadOnly(!write);
+        AtomicLong mismatchCount = new AtomicLong();
+        List<String> sampleMismatches = Collections.synchronizedList(new ArrayList<>());
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, rebuildThreads));
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (List<String> chunkIds : chunks) {
+                futures.add(executor.submit(() -> chunkTransaction.executeWithoutResult(status -> {
+                    if (write) {
+                        lockCounters(chunkIds);
+                    }
+                    Map<String, AttendanceStats> computed = computeStatsFromAttendances(chunkIds);
+                    Map<String, SewadarAttendanceStats> stored = new HashMap<>();
+                    statsRepository.findAllById(chunkIds).forEach(row -> stored.put(row.getZonalId(), row));
+
+                    List<Object[]> batch = new ArrayList<>();
+                    for (String zonalId : chunkIds) {
+                        AttendanceStats expected = computed.get(zonalId);
+                        if (!matches(expected, stored.get(zonalId))) {
+                            mismatchCount.incrementAndGet();
+                            if (sampleMismatches.size() < MAX_SAMPLE_MISMATCHES) {
+                                sampleMismatches.add(zonalId);
+                            }
+                        }
+                        if (write) {
+                            batch.add(new Object[]{zonalId, expected.getTotalPrograms(), expected.getTotalDays(),
+                                    expected.getBeasPrograms(), expected.getBeasDays(),
+                                    expected.getNonBeasPrograms(), expected.getNonBeasDays()});
+                        }
+                    }
+                    if (!batch.isEmpty()) {
+                        jdbcTemplate.batchUpdate(UPSERT_ABSOLUTE_SQL, batch);
+                    }
+                })));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Attendance stats " + mode + " interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Attendance stats " + mode + " failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long duration = System.currentTimeMillis() - startTime;
+        log.info("Attendance stats {} completed: {} sewadars, {} mismatches, {}ms",
+                mode, allZonalIds.size(), mismatchCount.get(), duration);
+
+        return AttendanceStatsMaintenanceResponse.builder()
+                .mode(mode)
+                .sewadarsProcessed((long) allZonalIds.size())
+                .chunks(chunks.size())
+                .mismatchCount(mismatchCount.get())
+                .sampleMismatches(new ArrayList<>(sampleMismatches))
+                .durationMs(duration)
+                .build();
+    }
+
+    /**
+     * Build the counters on first start after upgrade (table empty but attendance exists).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebuildIfEmpty() {
+        if (rebuildOnStartup && statsRepository.count() == 0 && attendanceRepository.count() > 0) {
+            log.info("sewadar_attendance_stats is empty - rebuilding from attendances");
+            rebuildAll();
+        }
+    }
+
+    private static boolean matches(AttendanceStats expected, SewadarAttendanceStats stored) {
+        if (stored == null) {
+            return expected.getTotalDays() == 0 && expected.getTotalPrograms() == 0;
+        }
+        return stored.getTotalPrograms() == expected.getTotalPrograms()
+                && stored.getTotalDays() == expected.getTotalDays()
+                && stored.getBeasPrograms() == expected.getBeasPrograms()
+                && stored.getBeasDays() == expected.getBeasDays()
+                && stored.getNonBeasPrograms() == expected.getNonBeasPrograms()
+                && stored.getNonBeasDays() == expected.getNonBeasDays();
+    }
+
+    private static List<List<String>> chunk(List<String> ids) {
+        List<List<String>> chunks = new ArrayList<>();
+        for (int start = 0; start < ids.size(); start += CHUNK_SIZE) {
+            chunks.add(ids.subList(start, Math.min(start + CHUNK_SIZE, ids.size())));
+        }
+        return chunks;
+    }
+
+    static boolean isBeas(String location) {
+        return "BEAS".equalsIgnoreCase(location);
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+}
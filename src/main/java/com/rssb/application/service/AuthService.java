@@ -3,8 +3,10 @@ package com.rssb.application.service;
 import com.rssb.application.dto.LoginRequest;
 import com.rssb.application.dto.LoginResponse;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface AuthService {
-    LoginResponse login(LoginRequest request);
+    CompletableFuture<LoginResponse> login(LoginRequest request);
     void logout(String token);
     Boolean validateToken(String token);
 }
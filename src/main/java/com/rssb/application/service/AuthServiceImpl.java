@@ -11,11 +11,11 @@ import com.rssb.application.repository.SewadarRepository;
 import com.rssb.application.util.JwtUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,37 +25,49 @@ import java.util.stream.Collectors;
 public class AuthServiceImpl implements AuthService {
 
     private final SewadarRepository sewadarRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordVerificationService passwordVerificationService;
     private final JwtUtil jwtUtil;
 
+    /**
+     * The sewadar is loaded and mapped on the calling thread; the password is checked on the login hashing pool,
+     * and the token is issued when the check completes. A hash below the configured BCrypt cost is replaced.
+     */
     @Override
-    public LoginResponse login(LoginRequest request) {
+    public CompletableFuture<LoginResponse> login(LoginRequest request) {
         log.info("Login attempt for zonal_id: {}", request.getZonalId());
 
         // Use zonalId directly as String (no parsing needed)
         Sewadar sewadar = sewadarRepository.findByZonalId(request.getZonalId())
                 .orElseThrow(() -> new IllegalArgumentException("Invalid zonal ID or password"));
 
-        // Verify password
-        if (!passwordEncoder.matches(request.getPassword(), sewadar.getPassword())) {
-            throw new IllegalArgumentException("Invalid zonal ID or password");
-        }
-
-        // Generate JWT token with String zonalId
+        // Map to response while the session is open - use the service method to ensure all fields are included
+        String zonalId = sewadar.getZonalId();
         String role = sewadar.getRole() != null ? sewadar.getRole().name() : "SEWADAR";
-        String token = jwtUtil.generateToken(sewadar.getZonalId(), role);
-
-        // Map to response - use the service method to ensure all fields are included
         SewadarResponse sewadarResponse = mapSewadarToResponse(sewadar, role);
 
-        log.info("Login successful for sewadar: {}", sewadar.getZonalId());
-
-        return LoginResponse.builder()
-                .token(token)
-                .tokenType("Bearer")
-                .sewadar(sewadarResponse)
-                .expiresIn(jwtUtil.getExpirationDateFromToken(token).getTime() / 1000)
-                .build();
+        // Verify password
+        return passwordVerificationService.verify(request.getPassword(), sewadar.getPassword())
+                .thenApply(result -> {
+                    if (!result.matches()) {
+                        throw new IllegalArgumentException("Invalid zonal ID or password");
+                    }
+                    if (result.upgradedHash() != null) {
+                        sewadarRepository.updatePasswordByZonalId(zonalId, result.upgradedHash());
+                        log.info("Password hash of sewadar {} re-encoded at the configured cost", zonalId);
+                    }
+
+                    // Generate JWT token with String zonalId
+                    String token = jwtUtil.generateToken(zonalId, role);
+
+                    log.info("Login successful for sewadar: {}", zonalId);
+
+                    return LoginResponse.builder()
+                            .token(token)
+                            .tokenType("Bearer")
+                            .sewadar(sewadarResponse)
+                            .expiresIn(jwtUtil.getExpirationDateFromToken(token).getTime() / 1000)
+                            .build();
+                });
     }
 
     @Override
@@ -15,9 +15,10 @@ public interface DashboardService {
     SewadarDetailedAttendanceResponse getSewadarDetailedAttendance(String sewadarId, String currentUserId, String currentUserRole);
     
     /**
-     * Get detailed attendance for a program (one row per sewadar with date columns)
+     * Get detailed attendance for a program (one row per sewadar with date columns).
+     * The compact view returns the attended date indexes per sewadar instead of a date -> status map.
      */
-    ProgramDetailedAttendanceResponse getProgramDetailedAttendance(Long programId);
+    ProgramDetailedAttendanceResponse getProgramDetailedAttendance(Long programId, boolean compact);
     
     /**
      * Get applications with filters and pagination
@@ -25,23 +26,23 @@ public interface DashboardService {
     ApplicationDashboardResponse getApplications(DashboardQueryRequest request, String currentUserId, String currentUserRole);
     
     /**
-     * Export sewadars to CSV/XLSX/PDF
+     * Prepare a streamed CSV/XLSX/PDF export of sewadars (forward-only cursor, bounded memory)
      */
-    byte[] exportSewadars(DashboardQueryRequest request, String format, String currentUserId, String currentUserRole);
+    ExportWriter streamSewadarsExport(DashboardQueryRequest request, String format, String currentUserId, String currentUserRole);
     
     /**
-     * Export sewadar detailed attendance to CSV/XLSX/PDF
+     * Prepare a streamed CSV/XLSX/PDF export of sewadar detailed attendance
      */
-    byte[] exportSewadarAttendance(String sewadarId, String format, String currentUserId, String currentUserRole);
+    ExportWriter streamSewadarAttendanceExport(String sewadarId, String format, String currentUserId, String currentUserRole);
     
     /**
-     * Export program detailed attendance to CSV/XLSX/PDF
+     * Prepare a streamed CSV/XLSX/PDF export of program detailed attendance (forward-only cursor, bounded memory)
      */
-    byte[] exportProgramAttendance(Long programId, String format);
+    ExportWriter streamProgramAttendanceExport(Long programId, String format);
     
     /**
-     * Export applications to CSV/XLSX/PDF
+     * Prepare a streamed CSV/XLSX/PDF export of applications (forward-only cursor, bounded memory)
      */
-    byte[] exportApplications(DashboardQueryRequest request, String format, String currentUserId, String currentUserRole);
+    ExportWriter streamApplicationsExport(DashboardQueryRequest request, String format, String currentUserId, String currentUserRole);
 }
 
@@ -4,20 +4,38 @@ import com.rssb.application.dto.*;
 import com.rssb.application.entity.*;
 import com.rssb.application.exception.ResourceNotFoundException;
 import com.rssb.application.repository.*;
+import com.rssb.application.util.AttendanceMatrix;
+import com.rssb.application.util.CursorUtil;
+import com.rssb.application.util.ExportUtil;
+import com.rssb.application.util.ReportWriter;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.criteria.JpaEntityJoin;
+import org.hibernate.query.criteria.JpaRoot;
+import org.hibernate.query.sqm.tree.SqmJoinType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import jakarta.persistence.criteria.*;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -26,10 +44,18 @@ import java.util.stream.Collectors;
 public class DashboardServiceImpl implements DashboardService {
 
     private final SewadarRepository sewadarRepository;
+    private final SewadarLookupService sewadarLookupService;
     private final AttendanceRepository attendanceRepository;
     private final ProgramRepository programRepository;
     private final ProgramApplicationRepository applicationRepository;
     private final ProgramDateRepository programDateRepository;
+    private final AttendanceStatsService attendanceStatsService;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    
+    // Rows fetched per round trip by export cursors, and rows mapped/written per batch before clearing the persistence context
+    private static final int EXPORT_FETCH_SIZE = 500;
+    private static final int EXPORT_CHUNK_SIZE = 500;
 
     @Override
     public SewadarDashboardResponse getSewadars(DashboardQueryRequest request, String currentUserId, String currentUserRole) {
@@ -41,45 +67,30 @@ public class DashboardServiceImpl implements DashboardService {
         // Build specification for filtering
         Specification<Sewadar> spec = buildSewadarSpecification(request, currentUserId, currentUserRole);
         
-        // For attendance-based sorting, we need to fetch all, sort in memory, then paginate
-        boolean needsMemorySort = isAttendanceBasedSort(request.getSortBy());
+        // Keyset (cursor) mode: no OFFSET and no count query
+        if (isCursorMode(request)) {
+            return getSewadarsByCursor(request, spec);
+        }
         
-        List<SewadarDashboardResponse.SewadarDashboardItem> items;
-        long totalElements;
-        int totalPages;
+        // Attendance-based sorts join the per-sewadar counters table and are ordered/limited by the database
+        String attendanceSortField = resolveAttendanceSortField(request.getSortBy());
         
-        if (needsMemorySort) {
-            // Fetch all matching sewadars
-            List<Sewadar> allSewadars = sewadarRepository.findAll(spec);
-            
-            // Map to items with attendance stats
-            items = allSewadars.stream()
-                    .map(this::mapToSewadarDashboardItem)
-                    .collect(Collectors.toList());
-            
-            // Sort in memory
-            items = sortSewadarItems(items, request.getSortBy(), request.getSortOrder());
-            
-            // Manual pagination
-            totalElements = items.size();
-            totalPages = (int) Math.ceil((double) totalElements / request.getSize());
-            int start = request.getPage() * request.getSize();
-            int end = Math.min(start + request.getSize(), items.size());
-            items = items.subList(start, end);
+        Page<Sewadar> sewadarPage;
+        if (attendanceSortField != null) {
+            boolean descending = "DESC".equalsIgnoreCase(request.getSortOrder());
+            Specification<Sewadar> sortedSpec = spec.and(orderByAttendanceStat(attendanceSortField, descending));
+            sewadarPage = sewadarRepository.findAll(sortedSpec, PageRequest.of(request.getPage(), request.getSize()));
         } else {
             // Use database sorting
             Sort sort = buildSewadarSort(request);
             Pageable pageable = PageRequest.of(request.getPage(), request.getSize(), sort);
-            Page<Sewadar> sewadarPage = sewadarRepository.findAll(spec, pageable);
-            
-            items = sewadarPage.getContent().stream()
-                    .map(this::mapToSewadarDashboardItem)
-                    .collect(Collectors.toList());
-            
-            totalElements = sewadarPage.getTotalElements();
-            totalPages = sewadarPage.getTotalPages();
+            sewadarPage = sewadarRepository.findAll(spec, pageable);
         }
         
+        List<SewadarDashboardResponse.SewadarDashboardItem> items = mapToSewadarDashboardItems(sewadarPage.getContent());
+        long totalElements = sewadarPage.getTotalElements();
+        int totalPages = sewadarPage.getTotalPages();
+        
         return SewadarDashboardResponse.builder()
                 .sewadars(items)
                 .totalElements(totalElements)
@@ -89,37 +100,173 @@ public class DashboardServiceImpl implements DashboardService {
                 .build();
     }
     
-    private boolean isAttendanceBasedSort(String sortBy) {
-        if (sortBy == null) return false;
-        String lower = sortBy.toLowerCase();
-        return lower.contains("program") || lower.contains("day") || lower.contains("beas") || lower.contains("nonbeas");
+    /**
+     * Map an attendance-based sortBy value to the matching SewadarAttendanceStats field.
+     * Returns null for non-attendance sorts.
+     */
+    private String resolveAttendanceSortField(String sortBy) {
+        if (sortBy == null) return null;
+        
+        return switch (sortBy.toLowerCase()) {
+            case "totalprograms", "totalprogramscount" -> "totalPrograms";
+            case "totaldays", "totaldaysattended" -> "totalDays";
+            case "beasprograms", "beasprogramscount" -> "beasPrograms";
+            case "beasdays", "beasdaysattended" -> "beasDays";
+            case "nonbeasprograms", "nonbeasprogramscount" -> "nonBeasPrograms";
+            case "nonbeasdays", "nonbeasdaysattended" -> "nonBeasDays";
+            default -> null;
+        };
     }
     
-    private List<SewadarDashboardResponse.SewadarDashboardItem> sortSewadarItems(
-            List<SewadarDashboardResponse.SewadarDashboardItem> items, String sortBy, String sortOrder) {
-        if (sortBy == null) return items;
-        
-        Comparator<SewadarDashboardResponse.SewadarDashboardItem> comparator = null;
-        String lower = sortBy.toLowerCase();
-        
-        if (lower.contains("totalprogram") || lower.contains("totalprograms")) {
-            comparator = Comparator.comparing(SewadarDashboardResponse.SewadarDashboardItem::getTotalProgramsCount);
-        } else if (lower.contains("totalday") || lower.contains("totaldays")) {
-            comparator = Comparator.comparing(SewadarDashboardResponse.SewadarDashboardItem::getTotalDaysAttended);
-        } else if (lower.contains("beasday") || lower.contains("beasdays")) {
-            comparator = Comparator.comparing(SewadarDashboardResponse.SewadarDashboardItem::getBeasDaysAttended);
-        } else if (lower.contains("nonbeasday") || lower.contains("nonbeasdays")) {
-            comparator = Comparator.comparing(SewadarDashboardResponse.SewadarDashboardItem::getNonBeasDaysAttended);
+    /**
+     * Order sewadars by a counter in sewadar_attendance_stats (LEFT JOIN, missing row = 0), then by zonalId.
+     * The ordering is skipped for the pagination count query.
+     */
+    private Specification<Sewadar> orderByAttendanceStat(String statField, boolean descending) {
+        return (root, query, cb) -> {
+            if (Long.class.equals(query.getResultType()) || long.class.equals(query.getResultType())) {
+                return null;
+            }
+            
+            JpaEntityJoin<SewadarAttendanceStats> stats =
+                    ((JpaRoot<Sewadar>) root).join(SewadarAttendanceStats.class, SqmJoinType.LEFT);
+            stats.on(cb.equal(stats.get("zonalId"), root.get("zonalId")));
+            
+            Expression<Long> value = cb.coalesce(stats.<Long>get(statField), 0L);
+            query.orderBy(descending ? cb.desc(value) : cb.asc(value), cb.asc(root.get("zonalId")));
+            return null;
+        };
+    }
+
+    /**
+     * Keyset page of sewadars ordered by (sort column, zonalId). Fetches size + 1 rows to know if there is a next page.
+     */
+    private SewadarDashboardResponse getSewadarsByCursor(DashboardQueryRequest request, Specification<Sewadar> spec) {
+        int size = request.getSize();
+        String statField = resolveAttendanceSortField(request.getSortBy());
+        String sortKey = statField != null ? statField
+                : "joiningdate".equalsIgnoreCase(request.getSortBy()) ? "joiningDate" : "zonalId";
+        // Same as buildSewadarSort: without sortBy the order is always zonalId ASC
+        boolean hasSortBy = request.getSortBy() != null && !request.getSortBy().isEmpty();
+        String direction = hasSortBy && "DESC".equalsIgnoreCase(request.getSortOrder()) ? "DESC" : "ASC";
+        
+        String[] after = request.getCursor() != null ? decodeCursor(request.getCursor(), sortKey, direction) : null;
+        
+        List<Sewadar> rows = sewadarRepository.findBy(
+                spec.and(sewadarKeyset(sortKey, statField != null, "DESC".equals(direction), after)),
+                q -> q.limit(size + 1).all());
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows = rows.subList(0, size);
         }
         
-        if (comparator != null) {
-            if ("DESC".equalsIgnoreCase(sortOrder)) {
-                comparator = comparator.reversed();
+        List<SewadarDashboardResponse.SewadarDashboardItem> items = mapToSewadarDashboardItems(rows);
+        
+        String nextCursor = null;
+        if (hasMore) {
+            SewadarDashboardResponse.SewadarDashboardItem last = items.get(items.size() - 1);
+            String value = switch (sortKey) {
+                case "zonalId" -> "";
+                case "joiningDate" -> last.getJoiningDate() != null ? last.getJoiningDate().toString() : "";
+                default -> String.valueOf(getAttendanceStatValue(last, sortKey));
+            };
+            nextCursor = CursorUtil.encode(sortKey, direction, value, last.getZonalId());
+        }
+        
+        return SewadarDashboardResponse.builder()
+                .sewadars(items)
+                .pageSize(size)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+    
+    /**
+     * Order by the sort column then zonalId, and (when a cursor is given) keep only rows after the cursor key.
+     * Matches the OFFSET-mode ordering: missing stats rows count as 0, null joining dates sort last in ASC / first in DESC.
+     */
+    private Specification<Sewadar> sewadarKeyset(String sortKey, boolean statSort, boolean descending, String[] after) {
+        return (root, query, cb) -> {
+            Path<String> zonalId = root.get("zonalId");
+            
+            if ("zonalId".equals(sortKey)) {
+                query.orderBy(descending ? cb.desc(zonalId) : cb.asc(zonalId));
+                if (after == null) return null;
+                return descending ? cb.lessThan(zonalId, after[3]) : cb.greaterThan(zonalId, after[3]);
+            }
+            
+            if (statSort) {
+                JpaEntityJoin<SewadarAttendanceStats> stats =
+                        ((JpaRoot<Sewadar>) root).join(SewadarAttendanceStats.class, SqmJoinType.LEFT);
+                stats.on(cb.equal(stats.get("zonalId"), zonalId));
+                Expression<Long> value = cb.coalesce(stats.<Long>get(sortKey), 0L);
+                query.orderBy(descending ? cb.desc(value) : cb.asc(value), cb.asc(zonalId));
+                if (after == null) return null;
+                return keysetAfter(cb, value, parseCursorValue(after[2], Long::valueOf), descending, false, zonalId, after[3], false);
             }
-            items.sort(comparator);
+            
+            Path<LocalDate> value = root.get("joiningDate");
+            query.orderBy(descending ? cb.desc(value) : cb.asc(value), cb.asc(zonalId));
+            if (after == null) return null;
+            LocalDate cursorValue = after[2].isEmpty() ? null : parseCursorValue(after[2], LocalDate::parse);
+            return keysetAfter(cb, value, cursorValue, descending, true, zonalId, after[3], false);
+        };
+    }
+    
+    /**
+     * Rows strictly after (cursorValue, cursorTie) in "value [ASC|DESC], tieBreaker [ASC|DESC]" order.
+     * For nullable columns, Postgres puts nulls last in ASC and first in DESC.
+     */
+    private <T extends Comparable<? super T>, K extends Comparable<? super K>> Predicate keysetAfter(
+            CriteriaBuilder cb, Expression<T> value, T cursorValue, boolean descending, boolean nullable,
+            Expression<K> tieBreaker, K cursorTie, boolean tieDescending) {
+        Predicate tieAfter = tieDescending ? cb.lessThan(tieBreaker, cursorTie) : cb.greaterThan(tieBreaker, cursorTie);
+        if (cursorValue == null) {
+            Predicate sameNullKey = cb.and(cb.isNull(value), tieAfter);
+            return descending ? cb.or(cb.isNotNull(value), sameNullKey) : sameNullKey;
         }
         
-        return items;
+        Predicate after = cb.or(
+                descending ? cb.lessThan(value, cursorValue) : cb.greaterThan(value, cursorValue),
+                cb.and(cb.equal(value, cursorValue), tieAfter));
+        if (nullable && !descending) {
+            after = cb.or(after, cb.isNull(value));
+        }
+        return after;
+    }
+    
+    private long getAttendanceStatValue(SewadarDashboardResponse.SewadarDashboardItem item, String statField) {
+        return switch (statField) {
+            case "totalPrograms" -> item.getTotalProgramsCount();
+            case "totalDays" -> item.getTotalDaysAttended();
+            case "beasPrograms" -> item.getBeasProgramsCount();
+            case "beasDays" -> item.getBeasDaysAttended();
+            case "nonBeasPrograms" -> item.getNonBeasProgramsCount();
+            default -> item.getNonBeasDaysAttended();
+        };
+    }
+    
+    private boolean isCursorMode(DashboardQueryRequest request) {
+        return "CURSOR".equalsIgnoreCase(request.getPaginationMode()) || request.getCursor() != null;
+    }
+    
+    /**
+     * Decode a cursor [sortKey, direction, value, id] and check it was issued for the same sort.
+     */
+    private String[] decodeCursor(String cursor, String sortKey, String direction) {
+        String[] parts = CursorUtil.decode(cursor, 4);
+        if (!sortKey.equals(parts[0]) || !direction.equals(parts[1])) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort");
+        }
+        return parts;
+    }
+    
+    private <T> T parseCursorValue(String value, Function<String, T> parser) {
+        try {
+            return parser.apply(value);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
     }
 
     @Override
@@ -132,8 +279,7 @@ public class DashboardServiceImpl implements DashboardService {
             throw new IllegalArgumentException("Sewadars can only view their own attendance");
         }
         
-        Sewadar sewadar = sewadarRepository.findByZonalId(sewadarId)
-                .orElseThrow(() -> new ResourceNotFoundException("Sewadar", "zonal_id", sewadarId));
+        SewadarSnapshot sewadar = sewadarLookupService.getByZonalId(sewadarId);
         
         // Get all attendance records for this sewadar
         List<Attendance> attendances = attendanceRepository.findBySewadarZonalId(sewadarId);
@@ -166,53 +312,46 @@ public class DashboardServiceImpl implements DashboardService {
     }
 
     @Override
-    public ProgramDetailedAttendanceResponse getProgramDetailedAttendance(Long programId) {
-        log.info("Dashboard: Getting detailed attendance for program: {}", programId);
+    public ProgramDetailedAttendanceResponse getProgramDetailedAttendance(Long programId, boolean compact) {
+        log.info("Dashboard: Getting detailed attendance for program: {} (compact: {})", programId, compact);
         
         Program program = programRepository.findById(programId)
                 .orElseThrow(() -> new ResourceNotFoundException("Program", "id", programId));
         
-        // Get all program dates (fixed set)
+        // Get all program dates (fixed set); the position in this list is the date index
         List<ProgramDate> programDates = programDateRepository.findByProgramIdOrderByProgramDateAsc(programId);
-        List<LocalDate> dates = programDates.stream()
-                .map(ProgramDate::getProgramDate)
-                .collect(Collectors.toList());
-        
-        // Get all approved sewadars for this program
-        List<ProgramAttendeeResponse> approvedAttendees = getApprovedAttendeesForProgram(programId);
+        List<LocalDate> dates = new ArrayList<>(programDates.size());
+        Map<Long, Integer> dateIndexById = new HashMap<>();
+        for (ProgramDate programDate : programDates) {
+            dateIndexById.put(programDate.getId(), dates.size());
+            dates.add(programDate.getProgramDate());
+        }
         
-        // Get all attendance records for this program
-        List<Attendance> attendances = attendanceRepository.findByProgramId(programId);
+        // Approved sewadars, one matrix row each: [zonalId, firstName, lastName, mobile]
+        List<Object[]> approvedSewadars = applicationRepository.findSewadarRowsByProgramIdAndStatus(programId, "APPROVED");
+        Map<String, List<Integer>> rowsByZonalId = rowsByZonalId(approvedSewadars, row -> (String) row[0]);
         
-        // Create a map: sewadarId -> date -> status
-        Map<String, Map<LocalDate, String>> sewadarDateStatusMap = new HashMap<>();
-        for (Attendance att : attendances) {
-            String sewadarId = att.getSewadar().getZonalId();
-            LocalDate attDate = att.getProgramDate().getProgramDate();
-            sewadarDateStatusMap.computeIfAbsent(sewadarId, k -> new HashMap<>())
-                    .put(attDate, "Present");
+        // Presence bits from the attended (zonalId, programDateId) pairs
+        AttendanceMatrix matrix = new AttendanceMatrix(approvedSewadars.size(), dates.size());
+        for (Object[] attended : attendanceRepository.findAttendedDateIdsByProgram(programId)) {
+            markPresent(matrix, rowsByZonalId.get((String) attended[0]), dateIndexById.get((Long) attended[1]));
         }
         
-        // Build rows: one per approved sewadar
-        List<ProgramDetailedAttendanceResponse.SewadarAttendanceRow> rows = approvedAttendees.stream()
-                .map(attendee -> {
-                    Map<LocalDate, String> dateStatusMap = sewadarDateStatusMap.getOrDefault(
-                            attendee.getZonalId(), new HashMap<>());
-                    
-                    // Fill in all program dates (Present or Absent)
-                    Map<LocalDate, String> fullDateStatusMap = new HashMap<>();
-                    for (LocalDate date : dates) {
-                        fullDateStatusMap.put(date, dateStatusMap.getOrDefault(date, "Absent"));
-                    }
-                    
-                    return ProgramDetailedAttendanceResponse.SewadarAttendanceRow.builder()
-                            .zonalId(attendee.getZonalId())
-                            .sewadarName(attendee.getFirstName() + " " + attendee.getLastName())
-                            .mobile(attendee.getMobile())
-                            .dateStatusMap(fullDateStatusMap)
-                            .build();
-                })
-                .collect(Collectors.toList());
+        List<ProgramDetailedAttendanceResponse.SewadarAttendanceRow> rows = new ArrayList<>(approvedSewadars.size());
+        for (int i = 0; i < approvedSewadars.size(); i++) {
+            Object[] sewadar = approvedSewadars.get(i);
+            ProgramDetailedAttendanceResponse.SewadarAttendanceRow.SewadarAttendanceRowBuilder row =
+                    ProgramDetailedAttendanceResponse.SewadarAttendanceRow.builder()
+                            .zonalId((String) sewadar[0])
+                            .sewadarName(sewadar[1] + " " + sewadar[2])
+                            .mobile((String) sewadar[3]);
+            if (compact) {
+                row.presentDateIndexes(matrix.presentDateIndexes(i));
+            } else {
+                row.dateStatusMap(matrix.toDateStatusMap(i, dates));
+            }
+            rows.add(row.build());
+        }
         
         return ProgramDetailedAttendanceResponse.builder()
                 .programId(program.getId())
@@ -230,6 +369,11 @@ public class DashboardServiceImpl implements DashboardService {
         // Build specification for filtering
         Specification<ProgramApplication> spec = buildApplicationSpecification(request, currentUserId, currentUserRole);
         
+        // Keyset (cursor) mode: no OFFSET and no count query
+        if (isCursorMode(request)) {
+            return getApplicationsByCursor(request, spec);
+        }
+        
         // Create pageable
         Pageable pageable = PageRequest.of(request.getPage(), request.getSize());
         
@@ -238,14 +382,7 @@ public class DashboardServiceImpl implements DashboardService {
         
         // Map to response
         List<ApplicationDashboardResponse.ApplicationDashboardItem> items = applicationPage.getContent().stream()
-                .map(app -> ApplicationDashboardResponse.ApplicationDashboardItem.builder()
-                        .applicationId(app.getId())
-                        .sewadarZonalId(app.getSewadar().getZonalId())
-                        .sewadarName(app.getSewadar().getFirstName() + " " + app.getSewadar().getLastName())
-                        .mobile(app.getSewadar().getMobile())
-                        .status(app.getStatus())
-                        .appliedAt(app.getAppliedAt())
-                        .build())
+                .map(this::mapToApplicationDashboardItem)
                 .collect(Collectors.toList());
         
         return ApplicationDashboardResponse.builder()
@@ -257,6 +394,60 @@ public class DashboardServiceImpl implements DashboardService {
                 .build();
     }
 
+    /**
+     * Keyset page of applications ordered by (appliedAt, id), newest first unless sortOrder is ASC.
+     */
+    private ApplicationDashboardResponse getApplicationsByCursor(DashboardQueryRequest request, Specification<ProgramApplication> spec) {
+        int size = request.getSize();
+        boolean descending = !"ASC".equalsIgnoreCase(request.getSortOrder());
+        String direction = descending ? "DESC" : "ASC";
+        
+        String[] after = request.getCursor() != null ? decodeCursor(request.getCursor(), "appliedAt", direction) : null;
+        
+        Specification<ProgramApplication> keyset = (root, query, cb) -> {
+            Path<LocalDateTime> appliedAt = root.get("appliedAt");
+            Path<Long> id = root.get("id");
+            query.orderBy(descending ? cb.desc(appliedAt) : cb.asc(appliedAt), descending ? cb.desc(id) : cb.asc(id));
+            if (after == null) return null;
+            
+            // appliedAt is nullable (legacy rows); an empty cursor value stands for null
+            LocalDateTime cursorAppliedAt = after[2].isEmpty() ? null : parseCursorValue(after[2], LocalDateTime::parse);
+            Long cursorId = parseCursorValue(after[3], Long::valueOf);
+            return keysetAfter(cb, appliedAt, cursorAppliedAt, descending, true, id, cursorId, descending);
+        };
+        
+        List<ProgramApplication> rows = applicationRepository.findBy(spec.and(keyset), q -> q.limit(size + 1).all());
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows = rows.subList(0, size);
+        }
+        
+        String nextCursor = null;
+        if (hasMore) {
+            ProgramApplication last = rows.get(rows.size() - 1);
+            String appliedAt = last.getAppliedAt() != null ? last.getAppliedAt().toString() : "";
+            nextCursor = CursorUtil.encode("appliedAt", direction, appliedAt, last.getId().toString());
+        }
+        
+        return ApplicationDashboardResponse.builder()
+                .applications(rows.stream().map(this::mapToApplicationDashboardItem).collect(Collectors.toList()))
+                .pageSize(size)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+    
+    private ApplicationDashboardResponse.ApplicationDashboardItem mapToApplicationDashboardItem(ProgramApplication app) {
+        return ApplicationDashboardResponse.ApplicationDashboardItem.builder()
+                .applicationId(app.getId())
+                .sewadarZonalId(app.getSewadar().getZonalId())
+                .sewadarName(app.getSewadar().getFirstName() + " " + app.getSewadar().getLastName())
+                .mobile(app.getSewadar().getMobile())
+                .status(app.getStatus())
+                .appliedAt(app.getAppliedAt())
+                .build();
+    }
+
     // Helper methods
     private Specification<Sewadar> buildSewadarSpecification(DashboardQueryRequest request, String currentUserId, String currentUserRole) {
         return (root, query, cb) -> {
@@ -298,14 +489,18 @@ public class DashboardServiceImpl implements DashboardService {
                     }
                 } else {
                     // Must have ANY of the specified languages (default) - case insensitive
-                    Join<Sewadar, SewadarLanguage> languageJoin = root.join("languages", JoinType.INNER);
+                    // EXISTS instead of JOIN + DISTINCT, so ORDER BY on joined stats columns stays valid
                     List<String> upperLanguages = request.getLanguages().stream()
                             .map(String::toUpperCase)
                             .collect(Collectors.toList());
-                    Predicate langPredicate = cb.upper(languageJoin.get("language")).in(upperLanguages);
-                    predicates.add(langPredicate);
-                    // Ensure distinct results when joining with languages
-                    query.distinct(true);
+                    Subquery<Long> existsSubquery = query.subquery(Long.class);
+                    Root<SewadarLanguage> langRoot = existsSubquery.from(SewadarLanguage.class);
+                    existsSubquery.select(cb.literal(1L))
+                            .where(cb.and(
+                                    cb.equal(langRoot.get("sewadar").get("zonalId"), root.get("zonalId")),
+                                    cb.upper(langRoot.get("language")).in(upperLanguages)
+                            ));
+                    predicates.add(cb.exists(existsSubquery));
                 }
             }
             
@@ -322,24 +517,8 @@ public class DashboardServiceImpl implements DashboardService {
             return Sort.by(Sort.Direction.ASC, "zonalId");
         }
         
-        // Handle attendance-based sorting (requires custom logic)
+        // Attendance-based sorts are handled by orderByAttendanceStat
         switch (sortBy.toLowerCase()) {
-            case "totalprograms":
-            case "totalprogramscount":
-                // Sort by total programs attended (requires subquery or post-processing)
-                return Sort.by(direction, "zonalId"); // Fallback, will sort in memory
-            case "totaldays":
-            case "totaldaysattended":
-                // Sort by total days (requires subquery or post-processing)
-                return Sort.by(direction, "zonalId"); // Fallback, will sort in memory
-            case "beasdays":
-            case "beasdaysattended":
-                // Sort by BEAS days (requires subquery or post-processing)
-                return Sort.by(direction, "zonalId"); // Fallback, will sort in memory
-            case "nonbeasdays":
-            case "nonbeasdaysattended":
-                // Sort by non-BEAS days (requires subquery or post-processing)
-                return Sort.by(direction, "zonalId"); // Fallback, will sort in memory
             case "joiningdate":
                 return Sort.by(direction, "joiningDate");
             default:
@@ -347,21 +526,32 @@ public class DashboardServiceImpl implements DashboardService {
         }
     }
 
-    private SewadarDashboardResponse.SewadarDashboardItem mapToSewadarDashboardItem(Sewadar sewadar) {
-        String zonalId = sewadar.getZonalId();
-        
-        // Get attendance statistics
-        Long totalPrograms = attendanceRepository.countAttendedProgramsBySewadarId(zonalId);
-        Long totalDays = attendanceRepository.countDaysAttendedBySewadarId(zonalId);
-        Long beasPrograms = attendanceRepository.countAttendedProgramsBySewadarIdAndLocationType(zonalId, "BEAS");
-        Long beasDays = attendanceRepository.countDaysAttendedBySewadarIdAndLocationType(zonalId, "BEAS");
-        Long nonBeasPrograms = attendanceRepository.countAttendedProgramsBySewadarIdAndLocationType(zonalId, "NON_BEAS");
-        Long nonBeasDays = attendanceRepository.countDaysAttendedBySewadarIdAndLocationType(zonalId, "NON_BEAS");
-        
-        // Get languages
-        List<String> languages = sewadar.getLanguages().stream()
-                .map(SewadarLanguage::getLanguage)
+    /**
+     * Map sewadars to dashboard items, loading attendance stats and languages for the whole list in one query each
+     */
+    private List<SewadarDashboardResponse.SewadarDashboardItem> mapToSewadarDashboardItems(List<Sewadar> sewadars) {
+        List<String> zonalIds = sewadars.stream().map(Sewadar::getZonalId).collect(Collectors.toList());
+        if (zonalIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<String, AttendanceStats> statsByZonalId = attendanceStatsService.getStatsForSewadars(zonalIds);
+        
+        Map<String, List<String>> languagesByZonalId = new HashMap<>();
+        for (Object[] row : sewadarRepository.findLanguagesBySewadarZonalIds(zonalIds)) {
+            languagesByZonalId.computeIfAbsent((String) row[0], k -> new ArrayList<>()).add((String) row[1]);
+        }
+        
+        return sewadars.stream()
+                .map(sewadar -> mapToSewadarDashboardItem(sewadar,
+                        languagesByZonalId.getOrDefault(sewadar.getZonalId(), new ArrayList<>()),
+                        statsByZonalId.get(sewadar.getZonalId())))
                 .collect(Collectors.toList());
+    }
+
+    private SewadarDashboardResponse.SewadarDashboardItem mapToSewadarDashboardItem(Sewadar sewadar, List<String> languages, AttendanceStats stats) {
+        if (stats == null) {
+            stats = AttendanceStats.empty();
+        }
         
         return SewadarDashboardResponse.SewadarDashboardItem.builder()
                 .zonalId(sewadar.getZonalId())
@@ -372,12 +562,12 @@ public class DashboardServiceImpl implements DashboardService {
                 .profession(sewadar.getProfession())
                 .joiningDate(sewadar.getJoiningDate())
                 .languages(languages)
-                .totalProgramsCount(totalPrograms != null ? totalPrograms : 0L)
-                .totalDaysAttended(totalDays != null ? totalDays : 0L)
-                .beasProgramsCount(beasPrograms != null ? beasPrograms : 0L)
-                .beasDaysAttended(beasDays != null ? beasDays : 0L)
-                .nonBeasProgramsCount(nonBeasPrograms != null ? nonBeasPrograms : 0L)
-                .nonBeasDaysAttended(nonBeasDays != null ? nonBeasDays : 0L)
+                .totalProgramsCount(stats.getTotalPrograms())
+                .totalDaysAttended(stats.getTotalDays())
+                .beasProgramsCount(stats.getBeasPrograms())
+                .beasDaysAttended(stats.getBeasDays())
+                .nonBeasProgramsCount(stats.getNonBeasPrograms())
+                .nonBeasDaysAttended(stats.getNonBeasDays())
                 .build();
     }
 
@@ -406,128 +596,226 @@ public class DashboardServiceImpl implements DashboardService {
         };
     }
 
-    // Helper method to get approved attendees (reuse from AttendanceService)
-    private List<ProgramAttendeeResponse> getApprovedAttendeesForProgram(Long programId) {
-        List<ProgramApplication> approvedApps = applicationRepository.findByProgramIdAndStatus(programId, "APPROVED");
-        return approvedApps.stream()
-                .map(app -> ProgramAttendeeResponse.builder()
-                        .zonalId(app.getSewadar().getZonalId())
-                        .firstName(app.getSewadar().getFirstName())
-                        .lastName(app.getSewadar().getLastName())
-                        .mobile(app.getSewadar().getMobile())
-                        .photoUrl(app.getSewadar().getPhotoUrl())
-                        .applicationId(app.getId())
-                        .applicationStatus(app.getStatus())
-                        .build())
-                .collect(Collectors.toList());
-    }
-
     // Export methods
     @Override
-    public byte[] exportSewadars(DashboardQueryRequest request, String format, String currentUserId, String currentUserRole) {
-        log.info("Exporting sewadars in format: {}", format);
-        
-        // Get data (without pagination for export)
-        DashboardQueryRequest exportRequest = DashboardQueryRequest.builder()
-                .page(0)
-                .size(Integer.MAX_VALUE) // Get all records
-                .languages(request.getLanguages())
-                .languageMatchType(request.getLanguageMatchType())
-                .location(request.getLocation())
-                .joiningDateFrom(request.getJoiningDateFrom())
-                .joiningDateTo(request.getJoiningDateTo())
-                .sortBy(request.getSortBy())
-                .sortOrder(request.getSortOrder())
-                .build();
+    public ExportWriter streamSewadarsExport(DashboardQueryRequest request, String format, String currentUserId, String currentUserRole) {
+        log.info("Streaming sewadars export in format: {}", format);
+        requireExportFormat(format);
         
-        SewadarDashboardResponse response = getSewadars(exportRequest, currentUserId, currentUserRole);
-        
-        try {
-            return switch (format.toUpperCase()) {
-                case "CSV" -> com.rssb.application.util.ExportUtil.exportSewadarsToCSV(response);
-                case "XLSX" -> com.rssb.application.util.ExportUtil.exportSewadarsToXLSX(response);
-                case "PDF" -> com.rssb.application.util.ExportUtil.exportSewadarsToPDF(response);
-                default -> throw new IllegalArgumentException("Unsupported format: " + format);
-            };
-        } catch (Exception e) {
-            log.error("Error exporting sewadars", e);
-            throw new RuntimeException("Failed to export sewadars: " + e.getMessage(), e);
+        Specification<Sewadar> spec = buildSewadarSpecification(request, currentUserId, currentUserRole);
+        String attendanceSortField = resolveAttendanceSortField(request.getSortBy());
+        Sort sort = Sort.unsorted();
+        if (attendanceSortField != null) {
+            spec = spec.and(orderByAttendanceStat(attendanceSortField, "DESC".equalsIgnoreCase(request.getSortOrder())));
+        } else {
+            sort = buildSewadarSort(request);
         }
+        
+        Specification<Sewadar> exportSpec = spec;
+        Sort exportSort = sort;
+        return inReadOnlyTransaction(out -> {
+            try (ReportWriter report = ExportUtil.createReportWriter(format, out, "Sewadars Report", ExportUtil.SEWADAR_COLUMN_WIDTHS);
+                 Stream<Sewadar> sewadars = streamBySpecification(Sewadar.class, exportSpec, exportSort)) {
+                report.writeHeader((Object[]) ExportUtil.SEWADAR_HEADERS);
+                forEachChunk(sewadars, chunk -> {
+                    for (SewadarDashboardResponse.SewadarDashboardItem item : mapToSewadarDashboardItems(chunk)) {
+                        ExportUtil.writeSewadarRow(report, item);
+                    }
+                });
+            }
+        });
     }
 
     @Override
-    public byte[] exportSewadarAttendance(String sewadarId, String format, String currentUserId, String currentUserRole) {
-        log.info("Exporting sewadar attendance in format: {}", format);
-        
-        SewadarDetailedAttendanceResponse response = getSewadarDetailedAttendance(sewadarId, currentUserId, currentUserRole);
+    public ExportWriter streamSewadarAttendanceExport(String sewadarId, String format, String currentUserId, String currentUserRole) {
+        log.info("Streaming attendance export for sewadar: {} in format: {}", sewadarId, format);
+        requireExportFormat(format);
         
-        try {
-            return switch (format.toUpperCase()) {
-                case "CSV" -> com.rssb.application.util.ExportUtil.exportSewadarAttendanceToCSV(response);
-                case "XLSX", "PDF" -> {
-                    // For now, only CSV is implemented for detailed attendance
-                    // Can extend later
-                    log.warn("XLSX/PDF export for sewadar attendance not yet implemented, using CSV");
-                    yield com.rssb.application.util.ExportUtil.exportSewadarAttendanceToCSV(response);
-                }
-                default -> throw new IllegalArgumentException("Unsupported format: " + format);
-            };
-        } catch (Exception e) {
-            log.error("Error exporting sewadar attendance", e);
-            throw new RuntimeException("Failed to export attendance: " + e.getMessage(), e);
+        if ("SEWADAR".equals(currentUserRole) && !sewadarId.equals(currentUserId)) {
+            throw new IllegalArgumentException("Sewadars can only view their own attendance");
         }
+        SewadarSnapshot sewadar = sewadarLookupService.getByZonalId(sewadarId);
+        
+        String sewadarName = sewadar.getFirstName() + " " + sewadar.getLastName();
+        String mobile = sewadar.getMobile();
+        
+        return inReadOnlyTransaction(out -> {
+            try (ReportWriter report = ExportUtil.createReportWriter(format, out, "Attendance", ExportUtil.SEWADAR_ATTENDANCE_COLUMN_WIDTHS);
+                 Stream<Object[]> rows = attendanceRepository.streamAttendanceHistoryBySewadarId(sewadarId)) {
+                ExportUtil.writeSewadarAttendanceHeader(report, sewadarId, sewadarName, mobile);
+                Iterator<Object[]> it = rows.iterator();
+                while (it.hasNext()) {
+                    Object[] row = it.next();
+                    ExportUtil.writeSewadarAttendanceRow(report, SewadarDetailedAttendanceResponse.AttendanceRecord.builder()
+                            .programId((Long) row[0])
+                            .programTitle((String) row[1])
+                            .programLocation((String) row[2])
+                            .attendanceDate((LocalDate) row[3])
+                            .status("Present")
+                            .build());
+                }
+            }
+        });
     }
 
     @Override
-    public byte[] exportProgramAttendance(Long programId, String format) {
-        log.info("Exporting program attendance in format: {}", format);
-        
-        ProgramDetailedAttendanceResponse response = getProgramDetailedAttendance(programId);
+    public ExportWriter streamProgramAttendanceExport(Long programId, String format) {
+        log.info("Streaming attendance export for program: {} in format: {}", programId, format);
+        requireExportFormat(format);
         
-        try {
-            return switch (format.toUpperCase()) {
-                case "CSV" -> com.rssb.application.util.ExportUtil.exportProgramAttendanceToCSV(response);
-                case "XLSX", "PDF" -> {
-                    // For now, only CSV is implemented for program attendance
-                    log.warn("XLSX/PDF export for program attendance not yet implemented, using CSV");
-                    yield com.rssb.application.util.ExportUtil.exportProgramAttendanceToCSV(response);
-                }
-                default -> throw new IllegalArgumentException("Unsupported format: " + format);
-            };
-        } catch (Exception e) {
-            log.error("Error exporting program attendance", e);
-            throw new RuntimeException("Failed to export attendance: " + e.getMessage(), e);
+        Program program = programRepository.findById(programId)
+                .orElseThrow(() -> new ResourceNotFoundException("Program", "id", programId));
+        List<ProgramDate> programDates = programDateRepository.findByProgramIdOrderByProgramDateAsc(programId);
+        List<LocalDate> dates = programDates.stream().map(ProgramDate::getProgramDate).collect(Collectors.toList());
+        Map<Long, Integer> dateIndexById = new HashMap<>();
+        for (int i = 0; i < programDates.size(); i++) {
+            dateIndexById.put(programDates.get(i).getId(), i);
         }
+        
+        // Approved applications with their sewadar, in application order
+        Specification<ProgramApplication> approved = (root, query, cb) -> {
+            root.fetch("sewadar");
+            return cb.and(cb.equal(root.get("program").get("id"), programId), cb.equal(root.get("status"), "APPROVED"));
+        };
+        
+        String programTitle = program.getTitle();
+        
+        return inReadOnlyTransaction(out -> {
+            try (ReportWriter report = ExportUtil.createReportWriter(format, out, "Attendance", ExportUtil.PROGRAM_ATTENDANCE_COLUMN_WIDTHS);
+                 Stream<ProgramApplication> applications = streamBySpecification(ProgramApplication.class, approved, Sort.by("id"))) {
+                ExportUtil.writeProgramAttendanceHeader(report, programId, programTitle, dates);
+                forEachChunk(applications, chunk -> {
+                    Map<String, List<Integer>> rowsByZonalId = rowsByZonalId(chunk, app -> app.getSewadar().getZonalId());
+                    AttendanceMatrix matrix = new AttendanceMatrix(chunk.size(), dates.size());
+                    for (Object[] attended : attendanceRepository.findAttendedDateIdsByProgramAndSewadars(programId, rowsByZonalId.keySet())) {
+                        markPresent(matrix, rowsByZonalId.get((String) attended[0]), dateIndexById.get((Long) attended[1]));
+                    }
+                
+                    for (int i = 0; i < chunk.size(); i++) {
+                        Sewadar sewadar = chunk.get(i).getSewadar();
+                        ExportUtil.writeProgramAttendanceRow(report, sewadar.getZonalId(), sewadar.getFirstName() + " " + sewadar.getLastName(),
+                                sewadar.getMobile(), matrix, i);
+                    }
+                });
+            }
+        });
     }
 
     @Override
-    public byte[] exportApplications(DashboardQueryRequest request, String format, String currentUserId, String currentUserRole) {
-        log.info("Exporting applications in format: {}", format);
-        
-        // Get data (without pagination for export)
-        DashboardQueryRequest exportRequest = DashboardQueryRequest.builder()
-                .page(0)
-                .size(Integer.MAX_VALUE) // Get all records
-                .programId(request.getProgramId())
-                .statuses(request.getStatuses())
-                .build();
-        
-        ApplicationDashboardResponse response = getApplications(exportRequest, currentUserId, currentUserRole);
-        
-        try {
-            return switch (format.toUpperCase()) {
-                case "CSV" -> com.rssb.application.util.ExportUtil.exportApplicationsToCSV(response);
-                case "XLSX", "PDF" -> {
-                    // For now, only CSV is implemented for applications
-                    log.warn("XLSX/PDF export for applications not yet implemented, using CSV");
-                    yield com.rssb.application.util.ExportUtil.exportApplicationsToCSV(response);
-                }
-                default -> throw new IllegalArgumentException("Unsupported format: " + format);
-            };
-        } catch (Exception e) {
-            log.error("Error exporting applications", e);
-            throw new RuntimeException("Failed to export applications: " + e.getMessage(), e);
+    public ExportWriter streamApplicationsExport(DashboardQueryRequest request, String format, String currentUserId, String currentUserRole) {
+        log.info("Streaming applications export in format: {}", format);
+        requireExportFormat(format);
+        
+        Specification<ProgramApplication> spec = buildApplicationSpecification(request, currentUserId, currentUserRole)
+                .and((root, query, cb) -> {
+                    root.fetch("sewadar");
+                    return null;
+                });
+        
+        return inReadOnlyTransaction(out -> {
+            try (ReportWriter report = ExportUtil.createReportWriter(format, out, "Applications Report", ExportUtil.APPLICATION_COLUMN_WIDTHS);
+                 Stream<ProgramApplication> applications = streamBySpecification(ProgramApplication.class, spec, Sort.by("id"))) {
+                report.writeHeader((Object[]) ExportUtil.APPLICATION_HEADERS);
+                forEachChunk(applications, chunk -> {
+                    for (ProgramApplication app : chunk) {
+                        ExportUtil.writeApplicationRow(report, mapToApplicationDashboardItem(app));
+                    }
+                });
+            }
+        });
+    }
+    
+    /**
+     * Matrix rows of each zonal ID. A sewadar listed twice (e.g. two approved applications) gets the same bits in every row.
+     */
+    private static <T> Map<String, List<Integer>> rowsByZonalId(List<T> rows, Function<T, String> zonalId) {
+        Map<String, List<Integer>> rowsByZonalId = new HashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            rowsByZonalId.computeIfAbsent(zonalId.apply(rows.get(i)), k -> new ArrayList<>(1)).add(i);
         }
+        return rowsByZonalId;
+    }
+    
+    private static void markPresent(AttendanceMatrix matrix, List<Integer> rows, Integer dateIndex) {
+        if (rows != null && dateIndex != null) {
+            for (int row : rows) {
+                matrix.markPresent(row, dateIndex);
+            }
+        }
+    }
+    
+    private void requireExportFormat(String format) {
+        if (!"CSV".equalsIgnoreCase(format) && !"XLSX".equalsIgnoreCase(format) && !"PDF".equalsIgnoreCase(format)) {
+            throw new IllegalArgumentException("Unsupported format: " + format);
+        }
+    }
+    
+    /**
+     * Run the writer in its own read-only transaction: streamed exports are written after the request thread has returned.
+     */
+    private ExportWriter inReadOnlyTransaction(ExportWriter writer) {
+        return out -> {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+            try {
+                transaction.executeWithoutResult(status -> {
+                    try {
+                        writer.writeTo(out);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+    
+    /**
+     * Forward-only, read-only cursor over the entities matching a specification.
+     * Rows are fetched EXPORT_FETCH_SIZE at a time; the caller must close the stream.
+     */
+    private <T> Stream<T> streamBySpecification(Class<T> type, Specification<T> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(type);
+        Root<T> root = query.from(type);
+        query.select(root);
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, EXPORT_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+    
+    /**
+     * Hand stream elements to the handler EXPORT_CHUNK_SIZE at a time, clearing the persistence context after
+     * each chunk so memory stays flat regardless of the number of rows.
+     */
+    private <T> void forEachChunk(Stream<T> stream, ChunkHandler<T> handler) throws IOException {
+        List<T> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+        Iterator<T> it = stream.iterator();
+        while (it.hasNext()) {
+            chunk.add(it.next());
+            if (chunk.size() == EXPORT_CHUNK_SIZE) {
+                handler.handle(chunk);
+                chunk.clear();
+                entityManager.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            handler.handle(chunk);
+            entityManager.clear();
+        }
+    }
+    
+    @FunctionalInterface
+    private interface ChunkHandler<T> {
+        void handle(List<T> chunk) throws IOException;
     }
 }
-
@@ -1,18 +1,34 @@
 package com.rssb.application.service;
 
+import com.rssb.application.util.SmtpConnectionPool;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * Service for sending emails using SMTP (Gmail or other providers).
- * 
+ *
  * Configuration in application.properties:
  * - email.enabled: Enable/disable email sending
  * - email.smtp.host: SMTP server host (e.g., smtp.gmail.com)
@@ -20,12 +36,28 @@ import java.util.Properties;
  * - email.username: Email address (e.g., your-email@gmail.com)
  * - email.password: App Password or account password
  * - email.from: From email address (defaults to username)
+ *
+ * Messages go over a small pool of authenticated SMTP connections (email.smtp.pool-size) that are kept open and
+ * reused for up to email.smtp.max-messages-per-connection messages, instead of a new connection (STARTTLS + AUTH)
+ * per email. {@link #sendAllAsync} spreads a batch over the pooled connections.
+ * A recipient the server rejects permanently (5xx) or an invalid address is reported as a permanent failure.
+ * Meters: email.messages (tag outcome = sent/failed) and email.smtp.connections.opened.
  */
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class EmailService {
 
-    private JavaMailSender mailSender;
+    private static final String NOT_CONFIGURED = "Email is not enabled or not configured";
+    private static final int BATCH_QUEUE_CAPACITY = 100;
+
+    private final MeterRegistry meterRegistry;
+
+    private Session session;
+    private SmtpConnectionPool smtpPool;
+    private ThreadPoolTaskExecutor batchExecutor;
+    private Counter sentCounter;
+    private Counter failedCounter;
     private String fromEmail;
 
     @Value("${email.enabled:false}")
@@ -46,26 +78,44 @@ public class EmailService {
     @Value("${email.from:}")
     private String fromEmailAddress;
 
+    @Value("${email.smtp.pool-size:3}")
+    private int poolSize;
+
+    @Value("${email.smtp.max-messages-per-connection:100}")
+    private int maxMessagesPerConnection;
+
+    @Value("${email.smtp.idle-timeout-ms:60000}")
+    private long idleTimeoutMs;
+
+    @Value("${email.smtp.timeout-ms:30000}")
+    private long timeoutMs;
+
+    @Value("${email.smtp.borrow-timeout-ms:30000}")
+    private long borrowTimeoutMs;
+
     @PostConstruct
     public void init() {
+        sentCounter = Counter.builder("email.messages").tag("outcome", "sent")
+                .description("Emails sent").register(meterRegistry);
+        failedCounter = Counter.builder("email.messages").tag("outcome", "failed")
+                .description("Emails that could not be sent").register(meterRegistry);
+
         if (!emailEnabled || emailUsername.isEmpty() || emailPassword.isEmpty()) {
             log.info("Email service is disabled or not configured");
             return;
         }
 
         try {
-            JavaMailSenderImpl mailSenderImpl = new JavaMailSenderImpl();
-            mailSenderImpl.setHost(smtpHost);
-            mailSenderImpl.setPort(smtpPort);
-            mailSenderImpl.setUsername(emailUsername);
-            mailSenderImpl.setPassword(emailPassword);
-
-            Properties props = mailSenderImpl.getJavaMailProperties();
+            Properties props = new Properties();
             props.put("mail.transport.protocol", "smtp");
             props.put("mail.smtp.auth", "true");
             props.put("mail.smtp.starttls.enable", "true");
             props.put("mail.smtp.starttls.required", "true");
             props.put("mail.debug", "false");
+            // Pooled connections must not hang a sender forever on a stalled server
+            props.put("mail.smtp.connectiontimeout", String.valueOf(timeoutMs));
+            props.put("mail.smtp.timeout", String.valueOf(timeoutMs));
+            props.put("mail.smtp.writetimeout", String.valueOf(timeoutMs));
 
             // For SSL (port 465)
             if (smtpPort == 465) {
@@ -73,56 +123,187 @@ public class EmailService {
                 props.put("mail.smtp.ssl.trust", smtpHost);
             }
 
-            mailSender = mailSenderImpl;
+            session = Session.getInstance(props);
+            smtpPool = new SmtpConnectionPool(session, smtpHost, smtpPort, emailUsername, emailPassword,
+                    poolSize, maxMessagesPerConnection, idleTimeoutMs, borrowTimeoutMs);
+            FunctionCounter.builder("email.smtp.connections.opened", smtpPool, SmtpConnectionPool::getOpenedConnections)
+                    .description("SMTP connections opened (each costs a STARTTLS handshake and AUTH)")
+                    .register(meterRegistry);
+
+            batchExecutor = new ThreadPoolTaskExecutor();
+            batchExecutor.setCorePoolSize(poolSize);
+            batchExecutor.setMaxPoolSize(poolSize);
+            batchExecutor.setQueueCapacity(BATCH_QUEUE_CAPACITY);
+            batchExecutor.setThreadNamePrefix("smtp-");
+            batchExecutor.setDaemon(true);
+            // Still limited by the pool: the caller waits for a connection like any sender
+            batchExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+            batchExecutor.initialize();
             fromEmail = fromEmailAddress.isEmpty() ? emailUsername : fromEmailAddress;
-            
-            log.info("Email service initialized successfully. SMTP: {}:{}", smtpHost, smtpPort);
+
+            log.info("Email service initialized successfully. SMTP: {}:{} ({} pooled connections, up to {} messages each)",
+                    smtpHost, smtpPort, poolSize, maxMessagesPerConnection);
         } catch (Exception e) {
             log.error("Failed to initialize email service: {}", e.getMessage(), e);
-            mailSender = null;
+            smtpPool = null;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (batchExecutor != null) {
+            batchExecutor.shutdown();
+        }
+        if (smtpPool != null) {
+            smtpPool.close();
         }
     }
 
     /**
      * Send email to a recipient.
-     * 
+     *
      * @param toEmail Recipient email address
      * @param subject Email subject
      * @param message Email body text
      * @return true if sent successfully, false otherwise
      */
     public boolean sendEmail(String toEmail, String subject, String message) {
-        if (!emailEnabled || mailSender == null) {
+        if (!emailEnabled || smtpPool == null) {
             log.warn("Email is not enabled or not configured. Email not sent to: {}", toEmail);
             return false;
         }
+        return send(new Message(toEmail, subject, message)).sent();
+    }
+
+    /**
+     * Send a batch of emails over the pooled connections (at most email.smtp.pool-size at once) and wait for all.
+     *
+     * @param messages Emails to send
+     * @return One result per message, in the same order
+     */
+    public List<Result> sendAll(List<Message> messages) {
+        return sendAllAsync(messages).join();
+    }
+
+    /**
+     * Start sending a batch of emails over the pooled connections (at most email.smtp.pool-size at once),
+     * so the caller can do other work meanwhile.
+     *
+     * @param messages Emails to send
+     * @return Completes with one result per message, in the same order
+     */
+    public CompletableFuture<List<Result>> sendAllAsync(List<Message> messages) {
+        if (messages.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        if (!emailEnabled || smtpPool == null) {
+            log.warn("Email is not enabled or not configured. {} email(s) not sent", messages.size());
+            return CompletableFuture.completedFuture(
+                    messages.stream().map(message -> new Result(false, NOT_CONFIGURED)).toList());
+        }
 
-        if (toEmail == null || toEmail.trim().isEmpty()) {
+        long startTime = System.currentTimeMillis();
+        Result[] results = new Result[messages.size()];
+        int workers = Math.min(poolSize, messages.size());
+        CompletableFuture<?>[] senders = new CompletableFuture<?>[workers];
+        for (int worker = 0; worker < workers; worker++) {
+            int first = worker;
+            senders[worker] = CompletableFuture.runAsync(() -> {
+                for (int i = first; i < results.length; i += workers) {
+                    results[i] = send(messages.get(i));
+                }
+            }, batchExecutor);
+        }
+        return CompletableFuture.allOf(senders).handle((done, failure) -> {
+            if (failure != null) {
+                log.error("[EMAIL BATCH] Sender failed: {}", failure.getMessage(), failure);
+            }
+            for (int i = 0; i < results.length; i++) {
+                if (results[i] == null) {
+                    results[i] = new Result(false, "Not attempted (batch sender failed)");
+                }
+            }
+            long sent = Arrays.stream(results).filter(Result::sent).count();
+            log.info("[EMAIL BATCH] Sent {} of {} email(s) in {} ms", sent, results.length, System.currentTimeMillis() - startTime);
+            return Arrays.asList(results);
+        });
+    }
+
+    /**
+     * Check if email service is properly configured.
+     */
+    public boolean isConfigured() {
+        return emailEnabled && smtpPool != null && !emailUsername.isEmpty() && !emailPassword.isEmpty();
+    }
+
+    private Result send(Message message) {
+        if (message.to() == null || message.to().trim().isEmpty()) {
             log.warn("Recipient email is empty. Email not sent.");
-            return false;
+            failedCounter.increment();
+            return new Result(false, "Recipient email is empty", true);
         }
 
         try {
-            SimpleMailMessage email = new SimpleMailMessage();
-            email.setFrom(fromEmail);
-            email.setTo(toEmail);
-            email.setSubject(subject);
-            email.setText(message);
-
-            mailSender.send(email);
-            log.info("[EMAIL SENT] Recipient: {} | Subject: {} | From: {}", toEmail, subject, fromEmail);
+            MimeMessage email = new MimeMessage(session);
+            MimeMessageHelper helper = new MimeMessageHelper(email, "UTF-8");
+            helper.setFrom(fromEmail);
+            helper.setTo(message.to());
+            helper.setSubject(message.subject());
+            helper.setText(message.text());
+            helper.setSentDate(new Date());
+            email.saveChanges();
+
+            smtpPool.send(email);
+            sentCounter.increment();
+            log.info("[EMAIL SENT] Recipient: {} | Subject: {} | From: {}", message.to(), message.subject(), fromEmail);
+            return new Result(true, null);
+        } catch (AddressException | SendFailedException e) {
+            failedCounter.increment();
+            boolean permanent = isPermanent(e);
+            // The server's reply (e.g. "550 no such user") comes with the nested exception
+            String error = e.getNextException() != null
+                    ? e.getMessage() + ": " + e.getNextException().getMessage().trim() : e.getMessage();
+            log.error("[EMAIL FAILED] Recipient: {} | Subject: {} | {} rejection: {}", message.to(), message.subject(),
+                    permanent ? "Permanent" : "Temporary", error);
+            return new Result(false, error, permanent);
+        } catch (MessagingException | RuntimeException e) {
+            failedCounter.increment();
+            log.error("[EMAIL FAILED] Recipient: {} | Subject: {} | Error: {}", message.to(), message.subject(), e.getMessage(), e);
+            return new Result(false, e.getMessage());
+        }
+    }
+
+    // An invalid address or a recipient rejected with 5xx will not change on retry; anything else (4xx, sender or
+    // connection trouble) may
+    private static boolean isPermanent(MessagingException e) {
+        if (e instanceof AddressException) {
             return true;
-        } catch (Exception e) {
-            log.error("[EMAIL FAILED] Recipient: {} | Subject: {} | Error: {}", toEmail, subject, e.getMessage(), e);
-            return false;
         }
+        for (Exception cause = e; cause instanceof MessagingException messaging; cause = messaging.getNextException()) {
+            if (cause instanceof SMTPAddressFailedException rejected && rejected.getReturnCode() >= 500) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
-     * Check if email service is properly configured.
+     * @param to Recipient email address
+     * @param subject Email subject
+     * @param text Email body text
      */
-    public boolean isConfigured() {
-        return emailEnabled && mailSender != null && !emailUsername.isEmpty() && !emailPassword.isEmpty();
+    public record Message(String to, String subject, String text) {
     }
-}
 
+    /**
+     * @param sent Whether the server accepted the email
+     * @param error Why it was not sent, or null
+     * @param permanent Whether sending it again cannot succeed (invalid address, recipient rejected with 5xx)
+     */
+    public record Result(boolean sent, String error, boolean permanent) {
+
+        public Result(boolean sent, String error) {
+            this(sent, error, false);
+        }
+    }
+}
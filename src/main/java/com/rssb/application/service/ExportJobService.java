@@ -0,0 +1,268 @@
+package com.rssb.application.service;
+
+import com.rssb.application.dto.ExportJobResponse;
+import com.rssb.application.exception.ResourceNotFoundException;
+import com.rssb.application.exception.ServiceBusyException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous export jobs.
+ *
+ * A prepared {@link ExportWriter} is queued on a bounded worker pool and written to a file in the spool directory;
+ * clients poll the job status and download the finished file (see ExportJobController).
+ * Identical requests (same export, parameters, format and user) share the job that is still queued or running.
+ * Jobs are kept in memory; finished jobs and their files are removed after the retention period.
+ */
+@Service
+@Slf4j
+public class ExportJobService {
+
+    public static final String STATUS_QUEUED = "QUEUED";
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    private static final String PART_SUFFIX = ".part";
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    @Value("${app.export-jobs.worker-threads:2}")
+    private int workerThreads;
+
+    @Value("${app.export-jobs.queue-capacity:20}")
+    private int queueCapacity;
+
+    @Value("${app.export-jobs.spool-dir:${java.io.tmpdir}/sewadar-exports}")
+    private String spoolDirectory;
+
+    @Value("${app.export-jobs.retention-minutes:60}")
+    private long retentionMinutes;
+
+    private final Map<String, ExportJob> jobsById = new ConcurrentHashMap<>();
+    private final Map<String, ExportJob> activeJobsByKey = new ConcurrentHashMap<>();
+
+    private Path spoolDir;
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void init() throws IOException {
+        spoolDir = Paths.get(spoolDirectory).toAbsolutePath();
+        Files.createDirectories(spoolDir);
+        // Jobs do not survive a restart, so files left in the spool directory can no longer be downloaded
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(spoolDir)) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "export-job-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        log.info("Export jobs: {} worker(s), queue capacity {}, spool directory {}", workerThreads, queueCapacity, spoolDir);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queue an export, or return the queued/running job for an identical request.
+     *
+     * @param exportType Export type (e.g. SEWADARS)
+     * @param format Export format (CSV, XLSX, PDF)
+     * @param parameters Canonical description of the request parameters (part of the de-duplication key)
+     * @param fileName Download file name
+     * @param contentType Download content type
+     * @param ownerId Zonal ID of the requesting user
+     * @param ownerRole Role of the requesting user
+     * @param writer Prepared export
+     * @return Job status
+     * @throws ServiceBusyException if the queue is full
+     */
+    public ExportJobResponse submit(String exportType, String format, String parameters, String fileName, String contentType,
+                                    String ownerId, String ownerRole, ExportWriter writer) {
+        String key = String.join("|", exportType, format.toUpperCase(), ownerId, ownerRole, parameters);
+        ExportJob newJob = new ExportJob(UUID.randomUUID().toString(), key, exportType, format.toUpperCase(),
+                fileName, contentType, ownerId);
+
+        ExportJob job = activeJobsByKey.computeIfAbsent(key, k -> {
+            jobsById.put(newJob.id, newJob);
+            return newJob;
+        });
+        if (job != newJob) {
+            log.info("Export job {} reused for identical {} {} export by {}", job.id, exportType, job.format, ownerId);
+            return toResponse(job);
+        }
+
+        try {
+            executor.execute(() -> run(job, writer));
+        } catch (RejectedExecutionException e) {
+            jobsById.remove(job.id);
+            activeJobsByKey.remove(key, job);
+            throw new ServiceBusyException("Too many export jobs in progress, please try again later", 30);
+        }
+        log.info("Export job {} queued: {} {} by {}", job.id, exportType, job.format, ownerId);
+        return toResponse(job);
+    }
+
+    /**
+     * Get the status of a job. Users only see their own jobs; admins see all jobs.
+     *
+     * @throws ResourceNotFoundException if the job does not exist or is not visible to the user
+     */
+    public ExportJobResponse getJob(String jobId, String currentUserId, String currentUserRole) {
+        return toResponse(findJob(jobId, currentUserId, currentUserRole));
+    }
+
+    /**
+     * Get the file of a completed job for download.
+     *
+     * @throws ResourceNotFoundException if the job does not exist or is not visible to the user
+     * @throws IllegalArgumentException if the job has not completed
+     */
+    public ExportJobFile getCompletedFile(String jobId, String currentUserId, String currentUserRole) {
+        ExportJob job = findJob(jobId, currentUserId, currentUserRole);
+        if (!STATUS_COMPLETED.equals(job.status) || !Files.exists(job.file)) {
+            throw new IllegalArgumentException("Export job " + jobId + " is not completed (status: " + job.status + ")");
+        }
+        return new ExportJobFile(job.file, job.fileName, job.contentType);
+    }
+
+    /**
+     * Remove finished jobs (and their files) older than the retention period.
+     */
+    @Scheduled(fixedDelayString = "${app.export-jobs.cleanup-interval-ms:300000}")
+    public void removeExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        int removed = 0;
+        for (ExportJob job : jobsById.values()) {
+            if (job.completedAt != null && job.completedAt.isBefore(cutoff)) {
+                jobsById.remove(job.id);
+                deleteQuietly(job.file);
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            log.info("Removed {} expired export job(s)", removed);
+        }
+    }
+
+    private void run(ExportJob job, ExportWriter writer) {
+        job.status = STATUS_RUNNING;
+        long startTime = System.currentTimeMillis();
+        Path partFile = spoolDir.resolve(job.id + PART_SUFFIX);
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partFile), WRITE_BUFFER_SIZE)) {
+                writer.writeTo(out);
+            }
+            Files.move(partFile, job.file, StandardCopyOption.ATOMIC_MOVE);
+            job.fileSizeBytes = Files.size(job.file);
+            job.completedAt = LocalDateTime.now();
+            job.status = STATUS_COMPLETED;
+            log.info("Export job {} completed: {} bytes in {}ms", job.id, job.fileSizeBytes, System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            log.error("Export job {} failed", job.id, e);
+            deleteQuietly(partFile);
+            job.error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            job.completedAt = LocalDateTime.now();
+            job.status = STATUS_FAILED;
+        } finally {
+            activeJobsByKey.remove(job.key, job);
+        }
+    }
+
+    private ExportJob findJob(String jobId, String currentUserId, String currentUserRole) {
+        ExportJob job = jobsById.get(jobId);
+        // Other users' jobs are reported as missing rather than forbidden
+        if (job == null || !("ADMIN".equals(currentUserRole) || job.ownerId.equals(currentUserId))) {
+            throw new ResourceNotFoundException("Export job", "id", jobId);
+        }
+        return job;
+    }
+
+    private ExportJobResponse toResponse(ExportJob job) {
+        boolean completed = STATUS_COMPLETED.equals(job.status);
+        return ExportJobResponse.builder()
+                .jobId(job.id)
+                .exportType(job.exportType)
+                .format(job.format)
+                .status(job.status)
+                .fileName(job.fileName)
+                .fileSizeBytes(completed ? job.fileSizeBytes : null)
+                .downloadUrl(completed ? "/api/export-jobs/" + job.id + "/download" : null)
+                .error(job.error)
+                .createdAt(job.createdAt)
+                .completedAt(job.completedAt)
+                .build();
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete export file {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * File of a completed export job
+     */
+    public record ExportJobFile(Path path, String fileName, String contentType) {
+    }
+
+    private class ExportJob {
+        final String id;
+        final String key;
+        final String exportType;
+        final String format;
+        final String fileName;
+        final String contentType;
+        final String ownerId;
+        final Path file;
+        final LocalDateTime createdAt = LocalDateTime.now();
+
+        volatile String status = STATUS_QUEUED;
+        volatile Long fileSizeBytes;
+        volatile String error;
+        volatile LocalDateTime completedAt;
+
+        ExportJob(String id, String key, String exportType, String format, String fileName, String contentType, String ownerId) {
+            this.id = id;
+            this.key = key;
+            this.exportType = exportType;
+            this.format = format;
+            this.fileName = fileName;
+            this.contentType = contentType;
+            this.ownerId = ownerId;
+            this.file = spoolDir.resolve(id + "." + format.toLowerCase());
+        }
+    }
+}
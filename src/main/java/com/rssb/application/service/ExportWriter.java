@@ -0,0 +1,13 @@
+package com.rssb.application.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A prepared export that writes its content to an output stream when invoked.
+ * Access checks and lookups are done when the export is prepared, so errors surface before the response starts.
+ */
+@FunctionalInterface
+public interface ExportWriter {
+    void writeTo(OutputStream out) throws IOException;
+}
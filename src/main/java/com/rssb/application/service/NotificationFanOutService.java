@@ -0,0 +1,96 @@
+package com.rssb.application.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Sends a batch of notifications (emails, WhatsApp API calls) concurrently and counts the successful ones.
+ *
+ * In virtual-thread mode (spring.threads.virtual.enabled=true on Java 21+) each send runs on its own virtual thread;
+ * otherwise on a small platform pool. Either way at most app.notifications.send-concurrency sends run at once,
+ * which keeps us within the SMTP/WhatsApp rate limits.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationFanOutService {
+
+    private final Environment environment;
+
+    @Value("${app.notifications.send-concurrency:8}")
+    private int sendConcurrency;
+
+    private AsyncTaskExecutor executor;
+
+    @PostConstruct
+    void init() {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor virtualExecutor = new SimpleAsyncTaskExecutor("notify-");
+            virtualExecutor.setVirtualThreads(true);
+            // Submitting blocks while the limit is reached
+            virtualExecutor.setConcurrencyLimit(sendConcurrency);
+            executor = virtualExecutor;
+        } else {
+            ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+            pool.setCorePoolSize(sendConcurrency);
+            pool.setMaxPoolSize(sendConcurrency);
+            pool.setThreadNamePrefix("notify-");
+            pool.setDaemon(true);
+            pool.initialize();
+            executor = pool;
+        }
+        log.info("Notification sends: up to {} at once on {} threads", sendConcurrency,
+                Threading.VIRTUAL.isActive(environment) ? "virtual" : "platform");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Run the sends concurrently and wait for all of them.
+     * The sends must not touch lazy JPA state, as they run outside the caller's session.
+     *
+     * @param sends Sends returning true when the notification was sent
+     * @return Number of sends that returned true (a send that throws counts as failed)
+     */
+    public int sendAll(List<Callable<Boolean>> sends) {
+        List<Future<Boolean>> futures = new ArrayList<>(sends.size());
+        for (Callable<Boolean> send : sends) {
+            futures.add(executor.submit(send));
+        }
+        int sent = 0;
+        for (Future<Boolean> future : futures) {
+            try {
+                if (Boolean.TRUE.equals(future.get())) {
+                    sent++;
+                }
+            } catch (ExecutionException e) {
+                log.error("[NOTIFICATION FAILED] {}", e.getCause().getMessage(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Interrupted while waiting for notification sends; {} of {} confirmed", sent, sends.size());
+                break;
+            }
+        }
+        return sent;
+    }
+}
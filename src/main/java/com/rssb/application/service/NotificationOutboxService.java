@@ -0,0 +1,279 @@
+package com.rssb.application.service;
+
+import com.rssb.application.dto.NotificationDeliveryResponse;
+import com.rssb.application.entity.NotificationOutbox;
+import com.rssb.application.exception.ResourceNotFoundException;
+import com.rssb.application.repository.NotificationOutboxRepository;
+import com.rssb.application.repository.ProgramRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Transactional outbox for workflow notifications.
+ *
+ * Workflow changes only insert notification_outbox rows (one per recipient) in their own transaction, so they commit
+ * without waiting for SMTP or the WhatsApp API. A scheduled dispatcher claims due rows (FOR UPDATE SKIP LOCKED, so
+ * several instances can dispatch), sends them (emails as one batch over EmailService's pooled SMTP connections while
+ * WhatsApp goes through NotificationFanOutService, both with bounded concurrency) and records the outcome per row.
+ * Failed sends are retried with exponential backoff up to app.notifications.outbox.max-attempts; an email whose
+ * recipient the server rejects permanently fails at once.
+ * A claimed row whose dispatcher dies is picked up again when the claim expires, so delivery is at least once.
+ * Meter: notifications.outbox.attempts (tags channel, outcome = sent/retry/failed).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationOutboxService {
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final ProgramRepository programRepository;
+    private final NotificationFanOutService notificationFanOutService;
+    private final EmailService emailService;
+    private final WhatsAppService whatsAppService;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.notifications.outbox.dispatch-enabled:true}")
+    private boolean dispatchEnabled;
+
+    @Value("${app.notifications.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.notifications.outbox.max-batches-per-tick:5}")
+    private int maxBatchesPerTick;
+
+    @Value("${app.notifications.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.notifications.outbox.initial-backoff-seconds:30}")
+    private long initialBackoffSeconds;
+
+    @Value("${app.notifications.outbox.max-backoff-seconds:3600}")
+    private long maxBackoffSeconds;
+
+    @Value("${app.notifications.outbox.claim-timeout-seconds:300}")
+    private long claimTimeoutSeconds;
+
+    @Value("${app.notifications.outbox.retention-days:30}")
+    private int retentionDays;
+
+    /**
+     * Queue notifications in the caller's transaction; they are sent once it commits.
+     */
+    @Transactional
+    public void enqueueAll(List<NotificationOutbox> notifications) {
+        if (!notifications.isEmpty()) {
+            outboxRepository.saveAll(notifications);
+        }
+    }
+
+    /**
+     * Delivery status of the notifications queued for a program, newest first.
+     */
+    @Transactional(readOnly = true)
+    public List<NotificationDeliveryResponse> getDeliveries(Long programId) {
+        if (!programRepository.existsById(programId)) {
+            throw new ResourceNotFoundException("Program", "id", programId);
+        }
+        return outboxRepository.findByProgramIdOrderByIdDesc(programId).stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Send due notifications, batch by batch, until none are left or max-batches-per-tick batches have been sent.
+     * A large backlog is then worked off over several ticks, so this job does not hold a scheduler thread for long.
+     */
+    @Scheduled(fixedDelayString = "${app.notifications.outbox.poll-interval-ms:2000}")
+    public void dispatchDue() {
+        if (dispatchEnabled) {
+            dispatch(outboxRepository::lockDue);
+        }
+    }
+
+    /**
+     * Send the due notifications that lockDue returns, as dispatchDue does (tests pass a query limited to their rows).
+     *
+     * @param lockDue Locks and returns up to the given number of rows due at the given time
+     */
+    void dispatch(BiFunction<LocalDateTime, Integer, List<NotificationOutbox>> lockDue) {
+        List<NotificationOutbox> batch;
+        int batches = 0;
+        do {
+            batch = claimDue(lockDue);
+            batches++;
+            if (!batch.isEmpty()) {
+                long startTime = System.currentTimeMillis();
+                // Emails go out as one batch over EmailService's pooled SMTP connections while the WhatsApp sends fan out
+                List<NotificationOutbox> emails = new ArrayList<>();
+                List<Callable<Boolean>> sends = new ArrayList<>();
+                for (NotificationOutbox notification : batch) {
+                    if (notification.getChannel() == NotificationOutbox.Channel.EMAIL) {
+                        emails.add(notification);
+                    } else {
+                        sends.add(() -> deliver(notification));
+                    }
+                }
+                List<NotificationOutbox> sendableEmails = emails.stream().filter(this::sendable).collect(Collectors.toList());
+                CompletableFuture<List<EmailService.Result>> emailResults = emailService.sendAllAsync(sendableEmails.stream()
+                        .map(notification -> new EmailService.Message(
+                                notification.getRecipient(), notification.getSubject(), notification.getMessage()))
+                        .collect(Collectors.toList()));
+                int sent = notificationFanOutService.sendAll(sends) + recordEmailOutcomes(sendableEmails, emailResults.join());
+                log.info("[OUTBOX] Sent {} of {} notification(s) in {} ms", sent, batch.size(),
+                        System.currentTimeMillis() - startTime);
+            }
+        } while (batch.size() == batchSize && batches < maxBatchesPerTick);
+    }
+
+    /**
+     * Remove sent and failed notifications older than the retention period.
+     */
+    @Scheduled(fixedDelayString = "${app.notifications.outbox.cleanup-interval-ms:3600000}")
+    public void removeExpired() {
+        int removed = outboxRepository.deleteByStatusInAndCreatedAtBefore(
+                List.of(NotificationOutbox.Status.SENT, NotificationOutbox.Status.FAILED),
+                LocalDateTime.now().minusDays(retentionDays));
+        if (removed > 0) {
+            log.info("[OUTBOX] Removed {} notification(s) older than {} days", removed, retentionDays);
+        }
+    }
+
+    private List<NotificationOutbox> claimDue(BiFunction<LocalDateTime, Integer, List<NotificationOutbox>> lockDue) {
+        LocalDateTime now = LocalDateTime.now();
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            List<NotificationOutbox> due = lockDue.apply(now, batchSize);
+            for (NotificationOutbox notification : due) {
+                notification.setStatus(NotificationOutbox.Status.SENDING);
+                notification.setAttempts(notification.getAttempts() + 1);
+                notification.setNextAttemptAt(now.plusSeconds(claimTimeoutSeconds));
+            }
+            return due;
+        });
+    }
+
+    private boolean deliver(NotificationOutbox notification) {
+        if (!sendable(notification)) {
+            return false;
+        }
+        String error = null;
+        boolean sent;
+        try {
+            sent = send(notification);
+        } catch (Exception e) {
+            sent = false;
+            error = e.getMessage();
+        }
+        return recordOutcome(notification, sent, error, true);
+    }
+
+    private int recordEmailOutcomes(List<NotificationOutbox> emails, List<EmailService.Result> results) {
+        int sent = 0;
+        for (int i = 0; i < emails.size(); i++) {
+            EmailService.Result result = results.get(i);
+            if (recordOutcome(emails.get(i), result.sent(), result.error(), !result.permanent())) {
+                sent++;
+            }
+        }
+        return sent;
+    }
+
+    // Records the failure of notifications that must not be sent (any more)
+    private boolean sendable(NotificationOutbox notification) {
+        String unavailable = unavailableReason(notification.getChannel());
+        if (unavailable != null) {
+            recordFailure(notification, unavailable, false);
+            return false;
+        }
+        if (notification.getAttempts() > maxAttempts) {
+            // The claim of the last allowed attempt expired without an outcome
+            recordFailure(notification, "Gave up after " + maxAttempts + " attempts", false);
+            return false;
+        }
+        return true;
+    }
+
+    private boolean send(NotificationOutbox notification) {
+        return switch (notification.getChannel()) {
+            case EMAIL -> emailService.sendEmail(notification.getRecipient(), notification.getSubject(), notification.getMessage());
+            case WHATSAPP -> whatsAppService.sendMessage(notification.getRecipient(), notification.getMessage());
+            case WHATSAPP_BATCH -> whatsAppService.sendBatchMessages(List.of(notification.getRecipient().split(",")),
+                    notification.getMessage(), notification.getSubject(), notification.getNodeNumber());
+        };
+    }
+
+    private boolean recordOutcome(NotificationOutbox notification, boolean sent, String error, boolean retryable) {
+        if (!sent) {
+            recordFailure(notification, error != null ? error : "Not sent (see the application log)", retryable);
+            return false;
+        }
+        outboxRepository.recordAttempt(notification.getId(), NotificationOutbox.Status.SENT,
+                LocalDateTime.now(), null, LocalDateTime.now());
+        countAttempt(notification, "sent");
+        return true;
+    }
+
+    // Retrying cannot help while the channel is switched off or not configured
+    private String unavailableReason(NotificationOutbox.Channel channel) {
+        if (channel == NotificationOutbox.Channel.EMAIL) {
+            return emailService.isConfigured() ? null : "Email is not enabled or not configured";
+        }
+        return whatsAppService.isConfigured() ? null : "WhatsApp is not enabled or not configured";
+    }
+
+    private void recordFailure(NotificationOutbox notification, String error, boolean retryable) {
+        int attempts = notification.getAttempts();
+        boolean retry = retryable && attempts < maxAttempts;
+        LocalDateTime nextAttemptAt = LocalDateTime.now();
+        if (retry) {
+            long backoffSeconds = Math.min(maxBackoffSeconds, initialBackoffSeconds << Math.min(attempts - 1, 20));
+            nextAttemptAt = nextAttemptAt.plusSeconds(backoffSeconds);
+        }
+        outboxRepository.recordAttempt(notification.getId(),
+                retry ? NotificationOutbox.Status.PENDING : NotificationOutbox.Status.FAILED, nextAttemptAt, error, null);
+        countAttempt(notification, retry ? "retry" : "failed");
+        if (retry) {
+            log.warn("[OUTBOX RETRY] {} to {} (attempt {} of {}) failed: {} | Next attempt at {}", notification.getChannel(),
+                    notification.getRecipient(), attempts, maxAttempts, error, nextAttemptAt);
+        } else {
+            log.error("[OUTBOX FAILED] {} to {} after {} attempt(s): {}", notification.getChannel(),
+                    notification.getRecipient(), attempts, error);
+        }
+    }
+
+    private void countAttempt(NotificationOutbox notification, String outcome) {
+        meterRegistry.counter("notifications.outbox.attempts",
+                "channel", notification.getChannel().name(), "outcome", outcome).increment();
+    }
+
+    private NotificationDeliveryResponse mapToResponse(NotificationOutbox notification) {
+        return NotificationDeliveryResponse.builder()
+                .id(notification.getId())
+                .channel(notification.getChannel().name())
+                .recipient(notification.getRecipient())
+                .recipientZonalId(notification.getRecipientZonalId())
+                .nodeNumber(notification.getNodeNumber())
+                .status(notification.getStatus().name())
+                .attempts(notification.getAttempts())
+                .lastError(notification.getLastError())
+                .nextAttemptAt(notification.getStatus() == NotificationOutbox.Status.PENDING ? notification.getNextAttemptAt() : null)
+                .createdAt(notification.getCreatedAt())
+                .sentAt(notification.getSentAt())
+                .build();
+    }
+}
@@ -0,0 +1,124 @@
+package com.rssb.application.service;
+
+import com.rssb.application.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Login password checks on a dedicated, bounded hashing pool.
+ *
+ * BCrypt is CPU-bound, so the pool has one thread per CPU by default and a bounded queue. When the queue is full
+ * the login is rejected at once (503 with Retry-After) rather than piling up on the request threads.
+ * Meters: auth.login.hash (hash time), auth.login.hash.wait (time queued), auth.login.hash.queue and
+ * auth.login.hash.active (gauges) and auth.login.hash.rejected.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PasswordVerificationService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.login.hash-threads:0}")
+    private int hashThreads;
+
+    @Value("${app.login.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${app.login.retry-after-seconds:5}")
+    private long retryAfterSeconds;
+
+    private ThreadPoolExecutor executor;
+    private Timer hashTimer;
+    private Timer waitTimer;
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    void init() {
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "login-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        Gauge.builder("auth.login.hash.queue", executor, e -> e.getQueue().size())
+                .description("Login password checks waiting for a hashing thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Login password checks being hashed")
+                .register(meterRegistry);
+        hashTimer = Timer.builder("auth.login.hash")
+                .description("Time to check (and if needed re-encode) a login password")
+                .register(meterRegistry);
+        waitTimer = Timer.builder("auth.login.hash.wait")
+                .description("Time a login password check waited in the queue")
+                .register(meterRegistry);
+        rejectedCounter = Counter.builder("auth.login.hash.rejected")
+                .description("Logins rejected because the hashing queue was full")
+                .register(meterRegistry);
+        log.info("Login hashing: {} thread(s), queue capacity {}", threads, queueCapacity);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Check a password on the hashing pool. When it matches and the stored hash has a lower cost than the
+     * configured encoder, the result also carries a new hash (computed on the same thread) for the caller to store.
+     *
+     * @param rawPassword Password entered by the user
+     * @param encodedPassword Stored hash (may be null)
+     * @return Future with the result of the check
+     * @throws ServiceBusyException if the queue is full
+     */
+    public CompletableFuture<Result> verify(String rawPassword, String encodedPassword) {
+        long queuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return hashTimer.record(() -> check(rawPassword, encodedPassword));
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new ServiceBusyException("Too many logins in progress, please try again in a few seconds", retryAfterSeconds);
+        }
+    }
+
+    private Result check(String rawPassword, String encodedPassword) {
+        if (encodedPassword == null || !passwordEncoder.matches(rawPassword, encodedPassword)) {
+            return new Result(false, null);
+        }
+        String upgradedHash = passwordEncoder.upgradeEncoding(encodedPassword) ? passwordEncoder.encode(rawPassword) : null;
+        return new Result(true, upgradedHash);
+    }
+
+    /**
+     * @param matches Whether the password matched
+     * @param upgradedHash New hash at the configured cost, or null if the stored hash is current
+     */
+    public record Result(boolean matches, String upgradedHash) {
+    }
+}
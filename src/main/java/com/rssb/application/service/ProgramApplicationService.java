@@ -1,5 +1,6 @@
 package com.rssb.application.service;
 
+import com.rssb.application.dto.AuthenticatedUser;
 import com.rssb.application.dto.ProgramApplicationRequest;
 import com.rssb.application.dto.ProgramApplicationResponse;
 
@@ -11,11 +12,15 @@ public interface ProgramApplicationService {
     List<ProgramApplicationResponse> getApplicationsBySewadar(String sewadarId);
     ProgramApplicationResponse updateApplicationStatus(Long id, String status);
     void deleteApplication(Long id);
+    /**
+     * Applications of a program (except DROPPED) with attendance metrics and priority score, sorted as requested.
+     * With a limit only the first limit applications are returned (selected with a bounded heap).
+     */
     List<com.rssb.application.dto.PrioritizedApplicationResponse> getPrioritizedApplications(
-            Long programId, String sortBy, String order);
+            Long programId, String sortBy, String order, Integer limit);
     ProgramApplicationResponse requestDrop(Long applicationId, String sewadarId);
-    ProgramApplicationResponse approveDropRequest(Long applicationId, String inchargeId, Boolean allowReapply);
+    ProgramApplicationResponse approveDropRequest(Long applicationId, AuthenticatedUser incharge, Boolean allowReapply);
     List<ProgramApplicationResponse> getDropRequestsByProgram(Long programId);
-    ProgramApplicationResponse rollbackApplication(Long applicationId, String inchargeId);
+    ProgramApplicationResponse rollbackApplication(Long applicationId, AuthenticatedUser incharge);
 }
 
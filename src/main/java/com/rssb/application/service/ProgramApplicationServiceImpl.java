@@ -1,22 +1,27 @@
 package com.rssb.application.service;
 
+import com.rssb.application.dto.AuthenticatedUser;
 import com.rssb.application.dto.PrioritizedApplicationResponse;
 import com.rssb.application.dto.ProgramApplicationRequest;
 import com.rssb.application.dto.ProgramApplicationResponse;
 import com.rssb.application.dto.SewadarResponse;
 import com.rssb.application.entity.Program;
 import com.rssb.application.entity.ProgramApplication;
+import com.rssb.application.entity.Role;
 import com.rssb.application.entity.Sewadar;
 import com.rssb.application.exception.ResourceNotFoundException;
-import com.rssb.application.repository.AttendanceRepository;
 import com.rssb.application.repository.ProgramApplicationRepository;
 import com.rssb.application.repository.ProgramRepository;
 import com.rssb.application.repository.SewadarRepository;
+import com.rssb.application.util.TopK;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
@@ -28,10 +33,14 @@ import java.util.stream.Collectors;
 @Transactional
 public class ProgramApplicationServiceImpl implements ProgramApplicationService {
 
+    // First attendance counter column of ProgramApplicationRepository.findApplicantMetricRows
+    private static final int METRICS_COLUMN = 14;
+
     private final ProgramApplicationRepository applicationRepository;
     private final ProgramRepository programRepository;
     private final SewadarRepository sewadarRepository;
-    private final AttendanceRepository attendanceRepository;
+    private final ProgramCreatorLookupService programCreatorLookupService;
+    private final ApplicantPriorityScorer priorityScorer;
 
     @Override
     public ProgramApplicationResponse applyToProgram(ProgramApplicationRequest request) {
@@ -194,7 +203,8 @@ public class ProgramApplicationServiceImpl implements ProgramApplicationService
     }
 
     @Override
-    public ProgramApplicationResponse approveDropRequest(Long applicationId, String inchargeId, Boolean allowReapply) {
+    public ProgramApplicationResponse approveDropRequest(Long applicationId, AuthenticatedUser incharge, Boolean allowReapply) {
+        String inchargeId = incharge.getZonalId();
         log.info("Incharge {} approving drop request for application {}, allowReapply: {}", 
                 inchargeId, applicationId, allowReapply);
         
@@ -202,10 +212,9 @@ public class ProgramApplicationServiceImpl implements ProgramApplicationService
                 .orElseThrow(() -> new ResourceNotFoundException("ProgramApplication", "id", applicationId));
         
         // Verify user has permission (ADMIN can approve any drop request, INCHARGE only for their programs)
-        Sewadar incharge = sewadarRepository.findByZonalId(inchargeId)
-                .orElseThrow(() -> new ResourceNotFoundException("Sewadar", "zonal_id", inchargeId));
+        String creatorZonalId = programCreatorLookupService.getCreatorZonalId(application.getProgram().getId());
         
-        if (!com.rssb.application.util.PermissionUtil.canManageProgram(incharge, application.getProgram())) {
+        if (!com.rssb.application.util.PermissionUtil.canManageProgram(incharge, creatorZonalId)) {
             throw new IllegalArgumentException("Only program creator (or ADMIN) can approve drop requests");
         }
         
@@ -236,17 +245,17 @@ public class ProgramApplicationServiceImpl implements ProgramApplicationService
     }
 
     @Override
-    public ProgramApplicationResponse rollbackApplication(Long applicationId, String inchargeId) {
+    public ProgramApplicationResponse rollbackApplication(Long applicationId, AuthenticatedUser incharge) {
+        String inchargeId = incharge.getZonalId();
         log.info("Incharge {} rolling back application {} to PENDING", inchargeId, applicationId);
         
         ProgramApplication application = applicationRepository.findById(applicationId)
                 .orElseThrow(() -> new ResourceNotFoundException("ProgramApplication", "id", applicationId));
         
         // Verify user has permission (ADMIN can rollback any application, INCHARGE only for their programs)
-        Sewadar incharge = sewadarRepository.findByZonalId(inchargeId)
-                .orElseThrow(() -> new ResourceNotFoundException("Sewadar", "zonal_id", inchargeId));
+        String creatorZonalId = programCreatorLookupService.getCreatorZonalId(application.getProgram().getId());
         
-        if (!com.rssb.application.util.PermissionUtil.canManageProgram(incharge, application.getProgram())) {
+        if (!com.rssb.application.util.PermissionUtil.canManageProgram(incharge, creatorZonalId)) {
             throw new IllegalArgumentException("Only program creator (or ADMIN) can rollback applications");
         }
         
@@ -271,84 +280,85 @@ public class ProgramApplicationServiceImpl implements ProgramApplicationService
     @Override
     @Transactional(readOnly = true)
     public List<PrioritizedApplicationResponse> getPrioritizedApplications(
-            Long programId, String sortBy, String order) {
-        log.info("Fetching prioritized applications for program: {}, sortBy: {}, order: {}", 
-                programId, sortBy, order);
+            Long programId, String sortBy, String order, Integer limit) {
+        log.info("Fetching prioritized applications for program: {}, sortBy: {}, order: {}, limit: {}", 
+                programId, sortBy, order, limit);
+        if (limit != null && limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative");
+        }
         
         Program program = programRepository.findById(programId)
                 .orElseThrow(() -> new ResourceNotFoundException("Program", "id", programId));
         
-        // Filter out DROPPED applications from prioritized view
-        List<ProgramApplication> applications = applicationRepository.findByProgramIdAndStatusNot(programId, "DROPPED");
-        
-        List<PrioritizedApplicationResponse> prioritized = applications.stream()
-                .map(app -> {
-                    Sewadar sewadar = app.getSewadar();
-                    
-                    // Calculate attendance metrics
-                    Long totalAttendance = attendanceRepository.countAttendedProgramsBySewadarId(sewadar.getZonalId());
-                    Long beasAttendance = attendanceRepository.countAttendedProgramsBySewadarIdAndLocationType(
-                            sewadar.getZonalId(), "BEAS");
-                    Long nonBeasAttendance = attendanceRepository.countAttendedProgramsBySewadarIdAndLocationType(
-                            sewadar.getZonalId(), "NON_BEAS");
-                    
-                    // Use SQL aggregations for efficient counting
-                    Long totalDays = attendanceRepository.countDaysAttendedBySewadarId(sewadar.getZonalId());
-                    Long beasDays = attendanceRepository.countDaysAttendedBySewadarIdAndLocationType(
-                            sewadar.getZonalId(), "BEAS");
-                    Long nonBeasDays = attendanceRepository.countDaysAttendedBySewadarIdAndLocationType(
-                            sewadar.getZonalId(), "NON_BEAS");
-                    
-                    // Calculate priority score (weighted)
-                    // Higher attendance = higher score
-                    Long priorityScore = (totalAttendance * 10L) + (totalDays != null ? totalDays : 0L);
-                    
-                    SewadarResponse sewadarResponse = SewadarResponse.builder()
-                            .zonalId(sewadar.getZonalId())
-                            .firstName(sewadar.getFirstName())
-                            .lastName(sewadar.getLastName())
-                            .mobile(sewadar.getMobile())
-                            .location(sewadar.getLocation())
-                            .profession(sewadar.getProfession())
-                            .joiningDate(sewadar.getJoiningDate())
-                            .role(sewadar.getRole() != null ? sewadar.getRole().name() : "SEWADAR")
-                            .photoUrl(sewadar.getPhotoUrl())
-                            .screenerCode(sewadar.getScreenerCode())
-                            .emailId(sewadar.getEmailId())
-                            .build();
-                    
-                    return PrioritizedApplicationResponse.builder()
-                            .id(app.getId())
-                            .programId(programId)
-                            .programTitle(program.getTitle())
-                            .sewadar(sewadarResponse)
-                            .appliedAt(app.getAppliedAt())
-                            .status(app.getStatus())
-                            .totalAttendanceCount(totalAttendance)
-                            .beasAttendanceCount(beasAttendance)
-                            .nonBeasAttendanceCount(nonBeasAttendance)
-                            .totalDaysAttended(totalDays != null ? totalDays.intValue() : 0)
-                            .beasDaysAttended(beasDays != null ? beasDays.intValue() : 0)
-                            .nonBeasDaysAttended(nonBeasDays != null ? nonBeasDays.intValue() : 0)
-                            .profession(sewadar.getProfession())
-                            .joiningDate(sewadar.getJoiningDate())
-                            .priorityScore(priorityScore)
-                            .build();
-                })
-                .collect(Collectors.toList());
+        // Applicants (DROPPED filtered out) with their sewadar and attendance counters in one query
+        List<Object[]> rows = applicationRepository.findApplicantMetricRows(programId, "DROPPED");
+        
+        // Metrics into a primitive array (missing counters count as zero), then score them all at once
+        long[] metrics = new long[rows.size() * ApplicantPriorityScorer.METRIC_COUNT];
+        for (int i = 0; i < rows.size(); i++) {
+            Object[] row = rows.get(i);
+            for (int m = 0; m < ApplicantPriorityScorer.METRIC_COUNT; m++) {
+                Object value = row[METRICS_COLUMN + m];
+                metrics[i * ApplicantPriorityScorer.METRIC_COUNT + m] = value != null ? ((Number) value).longValue() : 0L;
+            }
+        }
+        long[] scores = priorityScorer.score(metrics);
         
-        // Sort based on sortBy parameter
-        Comparator<PrioritizedApplicationResponse> comparator = getComparator(sortBy);
+        // Order (or select the top K) by row index; DTOs are only built for the returned rows
+        Comparator<Integer> comparator = getComparator(sortBy, rows, metrics, scores);
         if ("desc".equalsIgnoreCase(order)) {
             comparator = comparator.reversed();
         }
+        comparator = comparator.thenComparing(i -> (Long) rows.get(i)[0]); // Application id as tie-breaker
         
-        return prioritized.stream()
-                .sorted(comparator)
-                .collect(Collectors.toList());
+        int[] selected = TopK.select(rows.size(), comparator, limit);
+        List<PrioritizedApplicationResponse> prioritized = new ArrayList<>(selected.length);
+        for (int i : selected) {
+            prioritized.add(mapToPrioritizedResponse(rows.get(i), metrics, i, scores[i], program));
+        }
+        return prioritized;
     }
     
-    private Comparator<PrioritizedApplicationResponse> getComparator(String sortBy) {
+    private PrioritizedApplicationResponse mapToPrioritizedResponse(Object[] row, long[] metrics, int index, long score, Program program) {
+        int offset = index * ApplicantPriorityScorer.METRIC_COUNT;
+        Role role = (Role) row[10];
+        SewadarResponse sewadarResponse = SewadarResponse.builder()
+                .zonalId((String) row[3])
+                .firstName((String) row[4])
+                .lastName((String) row[5])
+                .mobile((String) row[6])
+                .location((String) row[7])
+                .profession((String) row[8])
+                .joiningDate((LocalDate) row[9])
+                .role(role != null ? role.name() : "SEWADAR")
+                .photoUrl((String) row[11])
+                .screenerCode((String) row[12])
+                .emailId((String) row[13])
+                .build();
+        
+        return PrioritizedApplicationResponse.builder()
+                .id((Long) row[0])
+                .programId(program.getId())
+                .programTitle(program.getTitle())
+                .sewadar(sewadarResponse)
+                .appliedAt((LocalDateTime) row[1])
+                .status((String) row[2])
+                .totalAttendanceCount(metrics[offset + ApplicantPriorityScorer.TOTAL_PROGRAMS])
+                .beasAttendanceCount(metrics[offset + ApplicantPriorityScorer.BEAS_PROGRAMS])
+                .nonBeasAttendanceCount(metrics[offset + ApplicantPriorityScorer.NON_BEAS_PROGRAMS])
+                .totalDaysAttended((int) metrics[offset + ApplicantPriorityScorer.TOTAL_DAYS])
+                .beasDaysAttended((int) metrics[offset + ApplicantPriorityScorer.BEAS_DAYS])
+                .nonBeasDaysAttended((int) metrics[offset + ApplicantPriorityScorer.NON_BEAS_DAYS])
+                .profession((String) row[8])
+                .joiningDate((LocalDate) row[9])
+                .priorityScore(score)
+                .build();
+    }
+    
+    /**
+     * Ascending order of applicant row indexes for the sortBy parameter
+     */
+    private Comparator<Integer> getComparator(String sortBy, List<Object[]> rows, long[] metrics, long[] scores) {
         if (sortBy == null || sortBy.isEmpty()) {
             sortBy = "priorityScore"; // Default sort
         }
@@ -356,50 +366,34 @@ public class ProgramApplicationServiceImpl implements ProgramApplicationService
         switch (sortBy.toLowerCase()) {
             case "attendance":
             case "totalattendance":
-                return Comparator.comparing(
-                        (PrioritizedApplicationResponse a) -> a.getTotalAttendanceCount() != null 
-                                ? a.getTotalAttendanceCount() : 0L);
+                return byMetric(metrics, ApplicantPriorityScorer.TOTAL_PROGRAMS);
             case "beasattendance":
-                return Comparator.comparing(
-                        (PrioritizedApplicationResponse a) -> a.getBeasAttendanceCount() != null 
-                                ? a.getBeasAttendanceCount() : 0L);
+                return byMetric(metrics, ApplicantPriorityScorer.BEAS_PROGRAMS);
             case "nonbeasattendance":
-                return Comparator.comparing(
-                        (PrioritizedApplicationResponse a) -> a.getNonBeasAttendanceCount() != null 
-                                ? a.getNonBeasAttendanceCount() : 0L);
+                return byMetric(metrics, ApplicantPriorityScorer.NON_BEAS_PROGRAMS);
             case "days":
             case "totaldays":
-                return Comparator.comparing(
-                        (PrioritizedApplicationResponse a) -> a.getTotalDaysAttended() != null 
-                                ? a.getTotalDaysAttended() : 0);
+                return byMetric(metrics, ApplicantPriorityScorer.TOTAL_DAYS);
             case "beasdays":
-                return Comparator.comparing(
-                        (PrioritizedApplicationResponse a) -> a.getBeasDaysAttended() != null 
-                                ? a.getBeasDaysAttended() : 0);
+                return byMetric(metrics, ApplicantPriorityScorer.BEAS_DAYS);
             case "nonbeasdays":
-                return Comparator.comparing(
-                        (PrioritizedApplicationResponse a) -> a.getNonBeasDaysAttended() != null 
-                                ? a.getNonBeasDaysAttended() : 0);
+                return byMetric(metrics, ApplicantPriorityScorer.NON_BEAS_DAYS);
             case "profession":
-                return Comparator.comparing(
-                        (PrioritizedApplicationResponse a) -> a.getProfession() != null 
-                                ? a.getProfession() : "");
+                return Comparator.comparing(i -> rows.get(i)[8] != null ? (String) rows.get(i)[8] : "");
             case "joiningdate":
-                return Comparator.comparing(
-                        (PrioritizedApplicationResponse a) -> a.getJoiningDate() != null 
-                                ? a.getJoiningDate() : java.time.LocalDate.MIN);
+                return Comparator.comparing(i -> rows.get(i)[9] != null ? (LocalDate) rows.get(i)[9] : LocalDate.MIN);
             case "appliedat":
             case "applied_at":
-                return Comparator.comparing(
-                        (PrioritizedApplicationResponse a) -> a.getAppliedAt() != null 
-                                ? a.getAppliedAt() : java.time.LocalDateTime.MIN);
+                return Comparator.comparing(i -> rows.get(i)[1] != null ? (LocalDateTime) rows.get(i)[1] : LocalDateTime.MIN);
             case "priorityscore":
             default:
-                return Comparator.comparing(
-                        (PrioritizedApplicationResponse a) -> a.getPriorityScore() != null 
-                                ? a.getPriorityScore() : 0L);
+                return Comparator.comparingLong(i -> scores[i]);
         }
     }
+    
+    private Comparator<Integer> byMetric(long[] metrics, int metric) {
+        return Comparator.comparingLong(i -> metrics[i * ApplicantPriorityScorer.METRIC_COUNT + metric]);
+    }
 
     private ProgramApplicationResponse mapToResponse(ProgramApplication application) {
         SewadarResponse sewadar = SewadarResponse.builder()
@@ -0,0 +1,62 @@
+package com.rssb.application.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rssb.application.exception.ResourceNotFoundException;
+import com.rssb.application.repository.ProgramRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Cached program ID -> creator zonal ID, for "can this incharge manage the program" checks.
+ *
+ * A program's creator never changes, so entries only leave the cache by size or when the program is deleted
+ * ({@link #evict(Long)}). Hit/miss counts are published as the "cache.*" meters with cache=programCreators.
+ */
+@Service
+@Slf4j
+public class ProgramCreatorLookupService {
+
+    public static final String CACHE_NAME = "programCreators";
+
+    private final ProgramRepository programRepository;
+    private final Cache<Long, String> cache;
+
+    public ProgramCreatorLookupService(ProgramRepository programRepository,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${app.program-creator-cache.max-size:10000}") long maxSize) {
+        this.programRepository = programRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Get the zonal ID of the program's creator.
+     *
+     * @throws ResourceNotFoundException if the program does not exist
+     */
+    public String getCreatorZonalId(Long programId) {
+        String creator = cache.get(programId, this::load);
+        if (creator == null) {
+            throw new ResourceNotFoundException("Program", "id", programId);
+        }
+        return creator;
+    }
+
+    public void evict(Long programId) {
+        cache.invalidate(programId);
+    }
+
+    private String load(Long programId) {
+        List<String> rows = programRepository.findCreatorZonalIdById(programId);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+}
@@ -16,6 +16,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -31,6 +32,8 @@ public class ProgramServiceImpl implements ProgramService {
     private final ProgramDateRepository programDateRepository;
     private final com.rssb.application.repository.AttendanceRepository attendanceRepository;
     private final ProgramWorkflowService workflowService;
+    private final AttendanceStatsService attendanceStatsService;
+    private final ProgramCreatorLookupService programCreatorLookupService;
 
     @Override
     public ProgramResponse createProgram(ProgramRequest request) {
@@ -52,16 +55,17 @@ public class ProgramServiceImpl implements ProgramService {
 
         Program saved = programRepository.save(program);
 
-        // Create program dates
+        // Create program dates (inserted as one JDBC batch)
         if (request.getProgramDates() != null && !request.getProgramDates().isEmpty()) {
+            List<ProgramDate> programDates = new ArrayList<>();
             for (java.time.LocalDate date : request.getProgramDates()) {
-                ProgramDate programDate = ProgramDate.builder()
+                programDates.add(ProgramDate.builder()
                         .program(saved)
                         .programDate(date)
                         .status("SCHEDULED")
-                        .build();
-                programDateRepository.save(programDate);
+                        .build());
             }
+            programDateRepository.saveAll(programDates);
         }
 
         // Initialize workflow for new program
@@ -109,9 +113,23 @@ public class ProgramServiceImpl implements ProgramService {
         Program program = programRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Program", "id", id));
 
+        boolean wasBeas = AttendanceStatsService.isBeas(program.getLocation());
+        boolean nowBeas = AttendanceStatsService.isBeas(request.getLocation());
+
+        // Days attended per sewadar in this program, needed to adjust attendance counters
+        // when dates are removed or the location type changes (counted with the attendees' counters locked)
+        java.util.Map<String, Long> daysBySewadar = new java.util.HashMap<>();
+        if (request.getProgramDates() != null || wasBeas != nowBeas) {
+            attendanceStatsService.lockCounters(attendanceRepository.countDaysBySewadarForProgram(id).stream()
+                    .map(row -> (String) row[0])
+                    .toList());
+            for (Object[] row : attendanceRepository.countDaysBySewadarForProgram(id)) {
+                daysBySewadar.put((String) row[0], ((Number) row[1]).longValue());
+            }
+        }
+
         program.setTitle(request.getTitle());
         program.setDescription(request.getDescription());
-        program.setLocation(request.getLocation());
         if (request.getStatus() != null) {
             program.setStatus(request.getStatus());
         }
@@ -142,10 +160,14 @@ public class ProgramServiceImpl implements ProgramService {
             
             if (!toDelete.isEmpty()) {
                 log.info("Removing {} program dates that are no longer in the program", toDelete.size());
+                java.util.Map<String, Long> removedDaysBySewadar = new java.util.HashMap<>();
                 for (com.rssb.application.entity.ProgramDate pdToDelete : toDelete) {
                     // Delete attendance records first (if not using CASCADE)
                     List<com.rssb.application.entity.Attendance> attendancesToDelete = 
                             attendanceRepository.findByProgramDateId(pdToDelete.getId());
+                    for (com.rssb.application.entity.Attendance att : attendancesToDelete) {
+                        removedDaysBySewadar.merge(att.getSewadar().getZonalId(), 1L, Long::sum);
+                    }
                     if (!attendancesToDelete.isEmpty()) {
                         attendanceRepository.deleteAll(attendancesToDelete);
                         log.info("Deleted {} attendance records for removed program_date_id {} (date: {})", 
@@ -153,6 +175,14 @@ public class ProgramServiceImpl implements ProgramService {
                     }
                     programDateRepository.delete(pdToDelete);
                 }
+
+                // Counters are still under the old location type at this point
+                java.util.Set<String> leftProgram = removedDaysBySewadar.entrySet().stream()
+                        .filter(e -> e.getValue() >= daysBySewadar.getOrDefault(e.getKey(), 0L))
+                        .map(java.util.Map.Entry::getKey)
+                        .collect(Collectors.toSet());
+                attendanceStatsService.recordAttendanceRemoved(program, removedDaysBySewadar, leftProgram);
+                removedDaysBySewadar.forEach((zonalId, removed) -> daysBySewadar.merge(zonalId, -removed, Long::sum));
             }
             
             // 2. UPDATE/PRESERVE: For dates that exist in both old and new lists, keep the ProgramDate entity
@@ -182,6 +212,12 @@ public class ProgramServiceImpl implements ProgramService {
                     datesToPreserve.size(), datesToCreate.size(), toDelete.size());
         }
 
+        // Program moved between BEAS and NON_BEAS: move its remaining attendance between the counters
+        program.setLocation(request.getLocation());
+        if (wasBeas != nowBeas) {
+            attendanceStatsService.recordLocationTypeChanged(daysBySewadar, nowBeas);
+        }
+
         Program updated = programRepository.save(program);
         
         // Check and advance workflow based on program state changes
@@ -197,6 +233,7 @@ public class ProgramServiceImpl implements ProgramService {
         Program program = programRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Program", "id", id));
         programRepository.delete(program);
+        programCreatorLookupService.evict(id);
         log.info("Program deleted with id: {}", id);
     }
 
@@ -1,18 +1,30 @@
 package com.rssb.application.service;
 
 import com.rssb.application.dto.ProgramWorkflowResponse;
+import com.rssb.application.dto.SewadarSnapshot;
 import com.rssb.application.entity.*;
 import com.rssb.application.exception.ResourceNotFoundException;
 import com.rssb.application.repository.*;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
@@ -28,12 +40,12 @@ public class ProgramWorkflowService {
     private final ProgramWorkflowRepository workflowRepository;
     private final ProgramRepository programRepository;
     private final SewadarRepository sewadarRepository;
+    private final SewadarLookupService sewadarLookupService;
     private final NotificationPreferenceRepository notificationPreferenceRepository;
     private final com.rssb.application.repository.ProgramNotificationPreferenceRepository programNotificationPreferenceRepository;
     private final ProgramApplicationRepository applicationRepository;
     private final SewadarFormSubmissionRepository formSubmissionRepository;
-    private final WhatsAppService whatsAppService;
-    private final EmailService emailService;
+    private final NotificationOutboxService notificationOutboxService;
     
     @Value("${whatsapp.mode:api}")
     private String whatsappMode;
@@ -93,6 +105,17 @@ public class ProgramWorkflowService {
     @Value("${notification.step6.email.enabled:true}")
     private boolean step6EmailEnabled;
     
+    @Value("${app.workflow.daily-notifications.threads:4}")
+    private int dailyNotificationThreads;
+
+    @Value("${app.workflow.daily-notifications.shard-count:1}")
+    private int dailyNotificationShardCount;
+
+    @Value("${app.workflow.daily-notifications.shard-index:0}")
+    private int dailyNotificationShardIndex;
+
+    private ThreadPoolTaskExecutor dailyNotificationExecutor;
+    
     // Self-injection for transaction proxy
     private ProgramWorkflowService self;
     
@@ -102,6 +125,9 @@ public class ProgramWorkflowService {
         this.self = self;
     }
 
+    // Programs waiting for a daily-notification thread before the run processes one itself
+    private static final int DAILY_NOTIFICATION_QUEUE_CAPACITY = 100;
+
     // Workflow node definitions
     private static final String[] NODE_NAMES = {
         "Make Program Active",
@@ -114,6 +140,29 @@ public class ProgramWorkflowService {
 
     // Node messages are stored in NotificationPreference entity
 
+    @PostConstruct
+    void initDailyNotificationExecutor() {
+        if (dailyNotificationShardCount < 1 || dailyNotificationShardIndex < 0
+                || dailyNotificationShardIndex >= dailyNotificationShardCount) {
+            throw new IllegalStateException("app.workflow.daily-notifications.shard-index must be between 0 and shard-count - 1 (got "
+                    + dailyNotificationShardIndex + " of " + dailyNotificationShardCount + ")");
+        }
+        dailyNotificationExecutor = new ThreadPoolTaskExecutor();
+        dailyNotificationExecutor.setCorePoolSize(dailyNotificationThreads);
+        dailyNotificationExecutor.setMaxPoolSize(dailyNotificationThreads);
+        dailyNotificationExecutor.setQueueCapacity(DAILY_NOTIFICATION_QUEUE_CAPACITY);
+        dailyNotificationExecutor.setThreadNamePrefix("daily-notify-");
+        dailyNotificationExecutor.setDaemon(true);
+        // The run submits every program up front; when the queue is full it processes one itself
+        dailyNotificationExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        dailyNotificationExecutor.initialize();
+    }
+
+    @PreDestroy
+    void shutdownDailyNotificationExecutor() {
+        dailyNotificationExecutor.shutdown();
+    }
+
     /**
      * Initialize workflow for a new program.
      * Creates workflow starting at node 1 and initializes all notification preferences as enabled by default.
@@ -130,26 +179,23 @@ public class ProgramWorkflowService {
                     .build();
                 workflow = workflowRepository.save(workflow);
                 
-                // Initialize all 6 notification preferences as enabled by default
+                // Initialize all 6 notification preferences as enabled by default.
+                // Existing nodes are read in one query (shouldn't be any, but safety check) and the new rows
+                // saved together, so the inserts go out as one JDBC batch.
+                Set<Integer> existingNodes = programNotificationPreferenceRepository.findByProgram(program).stream()
+                    .map(com.rssb.application.entity.ProgramNotificationPreference::getNodeNumber)
+                    .collect(Collectors.toSet());
+                List<com.rssb.application.entity.ProgramNotificationPreference> preferences = new ArrayList<>();
                 for (int nodeNumber = 1; nodeNumber <= 6; nodeNumber++) {
-                    // Check if preference already exists (shouldn't, but safety check)
-                    com.rssb.application.entity.ProgramNotificationPreference existing = 
-                        programNotificationPreferenceRepository
-                            .findByProgramAndNodeNumber(program, nodeNumber)
-                            .orElse(null);
-                    
-                    if (existing == null) {
-                        com.rssb.application.entity.ProgramNotificationPreference preference = 
-                            com.rssb.application.entity.ProgramNotificationPreference.builder()
-                                .program(program)
-                                .nodeNumber(nodeNumber)
-                                .enabled(true) // All nodes enabled by default
-                                .build();
-                        programNotificationPreferenceRepository.save(preference);
-                        log.debug("Initialized notification preference for program {} node {} as enabled", 
-                                program.getId(), nodeNumber);
+                    if (!existingNodes.contains(nodeNumber)) {
+                        preferences.add(com.rssb.application.entity.ProgramNotificationPreference.builder()
+                            .program(program)
+                            .nodeNumber(nodeNumber)
+                            .enabled(true) // All nodes enabled by default
+                            .build());
                     }
                 }
+                programNotificationPreferenceRepository.saveAll(preferences);
                 
                 log.info("Initialized workflow for program {} with all notification preferences enabled", program.getId());
                 return workflow;
@@ -212,7 +258,7 @@ public class ProgramWorkflowService {
     @Transactional(readOnly = true)
     public List<ProgramWorkflowResponse> getWorkflowsForIncharge(String inchargeId) {
         // ADMIN and INCHARGE both see all programs
-        Sewadar user = sewadarRepository.findByZonalId(inchargeId).orElse(null);
+        SewadarSnapshot user = sewadarLookupService.findByZonalId(inchargeId).orElse(null);
         List<Program> programs;
         if (user != null && (user.getRole() == com.rssb.application.entity.Role.ADMIN || user.getRole() == com.rssb.application.entity.Role.INCHARGE)) {
             programs = programRepository.findAll();
@@ -366,93 +412,86 @@ public class ProgramWorkflowService {
     /**
      * Send daily notifications for programs at current workflow node.
      * Called by scheduler or manual trigger.
+     * Covers the workflows that are not archived and whose program is not cancelled, limited to this instance's shard
+     * (app.workflow.daily-notifications.shard-count/shard-index), each program in its own transaction on a bounded pool.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void sendDailyNotifications() {
-        log.info("[NOTIFICATION TRIGGER] Starting notification process for all programs");
-        List<ProgramWorkflow> workflows = workflowRepository.findAll();
+        long startTime = System.currentTimeMillis();
+        log.info("[NOTIFICATION TRIGGER] Starting notification process for shard {} of {}",
+                dailyNotificationShardIndex, dailyNotificationShardCount);
+        // Once up front, so the programs processed in parallel do not each create the defaults
+        self.ensureGlobalNotificationPreferences();
+        List<ProgramWorkflow> workflows = workflowRepository.findForDailyNotifications(
+                dailyNotificationShardCount, dailyNotificationShardIndex);
         log.info("[NOTIFICATION TRIGGER] Found {} workflows to process", workflows.size());
-        
-        int processedCount = 0;
-        int skippedCount = 0;
-        int errorCount = 0;
-        
+
+        // ALL and INCHARGES are the same sewadars for every program, so they are loaded once for the run
+        Set<String> sharedTypes = workflows.stream()
+                .map(workflow -> recipientTypeForNode(workflow.getCurrentNode()))
+                .filter(type -> !"APPROVED".equals(type))
+                .collect(Collectors.toSet());
+        Map<String, List<Sewadar>> sharedRecipients = self.loadSharedRecipients(sharedTypes);
+
+        AtomicInteger errorCount = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>(workflows.size());
         for (ProgramWorkflow workflow : workflows) {
-            try {
-                // Use program ID from workflow's program reference, but fetch fresh to avoid lazy loading
-                Long programId = workflow.getProgram() != null ? workflow.getProgram().getId() : null;
-                if (programId == null) {
-                    log.warn("[NOTIFICATION TRIGGER] Skipping workflow {}: No program ID", workflow.getId());
-                    skippedCount++;
-                    continue;
-                }
-                Program program = programRepository.findById(programId)
-                    .orElse(null);
-                
-                if (program == null) {
-                    log.warn("[NOTIFICATION TRIGGER] Skipping workflow {}: Program {} not found", workflow.getId(), programId);
-                    skippedCount++;
-                    continue;
+            futures.add(dailyNotificationExecutor.submit(() -> {
+                try {
+                    self.notifyCurrentNode(workflow, sharedRecipients);
+                } catch (Exception e) {
+                    log.error("[NOTIFICATION TRIGGER] Error sending notification for workflow {}: {}", 
+                            workflow.getId(), e.getMessage(), e);
+                    errorCount.incrementAndGet();
                 }
-                
-                log.info("[NOTIFICATION TRIGGER] Processing workflow {} for program {} (ID: {})", 
-                        workflow.getId(), program.getTitle(), programId);
-                sendNotificationsForNode(program, workflow);
-                processedCount++;
-            } catch (Exception e) {
-                log.error("[NOTIFICATION TRIGGER] Error sending notification for workflow {}: {}", 
-                        workflow.getId(), e.getMessage(), e);
-                errorCount++;
+            }));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                // Errors are counted by the task itself
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("[NOTIFICATION TRIGGER] Interrupted while waiting for the programs to be processed");
+                break;
             }
         }
         
-        log.info("[NOTIFICATION TRIGGER] Completed: Processed={}, Skipped={}, Errors={}", 
-                processedCount, skippedCount, errorCount);
+        log.info("[NOTIFICATION TRIGGER] Completed: Processed={}, Errors={} in {} ms", 
+                workflows.size() - errorCount.get(), errorCount.get(), System.currentTimeMillis() - startTime);
     }
 
     /**
-     * Check if notification is enabled for a program at a specific node.
-     * Returns: program-level setting only.
+     * Queue the notifications for the current node of one workflow (one program of the daily run).
+     * The program must have been fetched with the workflow.
+     *
+     * @param sharedRecipients ALL / INCHARGES recipients resolved once for the run (see loadSharedRecipients)
      */
-    private Boolean isNotificationEnabled(Program program, Integer nodeNumber) {
-        com.rssb.application.entity.ProgramNotificationPreference programPref =
-                programNotificationPreferenceRepository
-                        .findByProgramAndNodeNumber(program, nodeNumber)
-                        .orElse(null);
-
-        return programPref != null && Boolean.TRUE.equals(programPref.getEnabled());
+    @Transactional
+    public void notifyCurrentNode(ProgramWorkflow workflow, Map<String, List<Sewadar>> sharedRecipients) {
+        sendNotificationsForNode(workflow.getProgram(), workflow, sharedRecipients);
     }
 
     /**
-     * Send notifications for a specific workflow node for a single program.
-     * This is used both by the daily scheduler and immediate node transitions.
-     * Supports configurable recipients (INCHARGES, ALL, APPROVED) and both WhatsApp/Email.
+     * Load the recipients that do not depend on the program (ALL, INCHARGES) for the given recipient types.
      */
-    private void sendNotificationsForNode(Program program, ProgramWorkflow workflow) {
-        if (program == null || workflow == null || workflow.getCurrentNode() == null) {
-            log.debug("Skipping notification: program={}, workflow={}, currentNode={}", 
-                    program != null ? program.getId() : "null", 
-                    workflow != null ? workflow.getId() : "null",
-                    workflow != null ? workflow.getCurrentNode() : "null");
-            return;
-        }
-
-        Integer currentNode = workflow.getCurrentNode();
-        log.info("[NOTIFICATION CHECK] Program: {} (ID: {}) | Current Node: {}", 
-                program.getTitle(), program.getId(), currentNode);
-
-        // Check program-level notification toggle
-        Boolean notificationEnabled = isNotificationEnabled(program, currentNode);
-        if (notificationEnabled == null || !notificationEnabled) {
-            log.info("[NOTIFICATION SKIPPED] Program: {} (ID: {}) | Node: {} | Reason: Notification toggle is OFF (enabled={})", 
-                    program.getTitle(), program.getId(), currentNode, notificationEnabled);
-            return;
+    @Transactional(readOnly = true)
+    public Map<String, List<Sewadar>> loadSharedRecipients(Set<String> recipientTypes) {
+        Map<String, List<Sewadar>> recipients = new HashMap<>();
+        for (String recipientType : recipientTypes) {
+            recipients.put(recipientType, findSharedRecipients(recipientType));
         }
+        return recipients;
+    }
 
-        log.info("[NOTIFICATION ENABLED] Program: {} (ID: {}) | Node: {} | Notification toggle is ON", 
-                program.getTitle(), program.getId(), currentNode);
-
-        // Ensure global notification preferences are initialized (if empty)
-        if (notificationPreferenceRepository.count() == 0) {
+    /**
+     * Create the global notification preferences with their default messages if there are none yet.
+     * The cached query avoids a count per run.
+     */
+    @Transactional
+    public void ensureGlobalNotificationPreferences() {
+        if (notificationPreferenceRepository.findAllByOrderByNodeNumberAsc().isEmpty()) {
             log.info("[NOTIFICATION INIT] Initializing global notification preferences");
             try {
                 // Initialize defaults in a new transaction to avoid conflicts
@@ -486,15 +525,56 @@ public class ProgramWorkflowService {
                 log.error("[NOTIFICATION INIT] Error initializing global notification preferences: {}", e.getMessage(), e);
             }
         }
+    }
+
+    /**
+     * Queue notifications for a specific workflow node for a single program (sent after commit, see NotificationOutboxService).
+     * This is used both by the daily scheduler and immediate node transitions.
+     * Supports configurable recipients (INCHARGES, ALL, APPROVED) and both WhatsApp/Email.
+     */
+    private void sendNotificationsForNode(Program program, ProgramWorkflow workflow) {
+        sendNotificationsForNode(program, workflow, Map.of());
+    }
+
+    /**
+     * @param sharedRecipients ALL / INCHARGES recipients already loaded; types missing here are looked up
+     */
+    private void sendNotificationsForNode(Program program, ProgramWorkflow workflow,
+                                          Map<String, List<Sewadar>> sharedRecipients) {
+        if (program == null || workflow == null || workflow.getCurrentNode() == null) {
+            log.debug("Skipping notification: program={}, workflow={}, currentNode={}", 
+                    program != null ? program.getId() : "null", 
+                    workflow != null ? workflow.getId() : "null",
+                    workflow != null ? workflow.getCurrentNode() : "null");
+            return;
+        }
+
+        Integer currentNode = workflow.getCurrentNode();
+        log.info("[NOTIFICATION CHECK] Program: {} (ID: {}) | Current Node: {}", 
+                program.getTitle(), program.getId(), currentNode);
+
+        // Program-level preference for this node: its toggle (program-level setting only) and optional custom message
+        ProgramNotificationPreference programPreference = programNotificationPreferenceRepository
+                .findByProgramAndNodeNumber(program, currentNode)
+                .orElse(null);
+
+        // Check program-level notification toggle
+        Boolean notificationEnabled = programPreference != null && Boolean.TRUE.equals(programPreference.getEnabled());
+        if (!notificationEnabled) {
+            log.info("[NOTIFICATION SKIPPED] Program: {} (ID: {}) | Node: {} | Reason: Notification toggle is OFF (enabled={})", 
+                    program.getTitle(), program.getId(), currentNode, notificationEnabled);
+            return;
+        }
+
+        log.info("[NOTIFICATION ENABLED] Program: {} (ID: {}) | Node: {} | Notification toggle is ON", 
+                program.getTitle(), program.getId(), currentNode);
+
+        ensureGlobalNotificationPreferences();
         
         // Get message template: check program-level first, then fallback to global
         String messageTemplate = null;
         
         // Check for program-level custom message
-        ProgramNotificationPreference programPreference = programNotificationPreferenceRepository
-                .findByProgramAndNodeNumber(program, currentNode)
-                .orElse(null);
-        
         if (programPreference != null && programPreference.getMessage() != null 
                 && !programPreference.getMessage().trim().isEmpty()) {
             messageTemplate = programPreference.getMessage();
@@ -520,7 +600,7 @@ public class ProgramWorkflowService {
         }
 
         // Determine recipients and notification methods based on node and configuration
-        List<Sewadar> recipients = getRecipientsForNode(program, currentNode);
+        List<Sewadar> recipients = getRecipientsForNode(program, currentNode, sharedRecipients);
         boolean useWhatsApp = shouldUseWhatsApp(currentNode);
         boolean useEmail = shouldUseEmail(currentNode);
 
@@ -542,16 +622,15 @@ public class ProgramWorkflowService {
         log.info("[NOTIFICATION MESSAGE] Program: {} (ID: {}) | Node: {} | Message: {}", 
                 program.getTitle(), program.getId(), currentNode, messagePreview);
 
-        // Send notifications
-        int emailSentCount = 0;
-        int whatsappSentCount = 0;
-        
-        // For WhatsApp: Collect all recipients with mobile numbers, then send batch email (if email-bridge mode)
+        // Queue the notifications; they are sent by NotificationOutboxService once this transaction commits
+        List<NotificationOutbox> notifications = new ArrayList<>();
+        int whatsappQueuedCount = 0;
+
         if (useWhatsApp) {
-            java.util.List<String> whatsappRecipients = new java.util.ArrayList<>();
+            List<Sewadar> whatsappRecipients = new ArrayList<>();
             for (Sewadar recipient : recipients) {
                 if (recipient.getMobile() != null && !recipient.getMobile().isEmpty()) {
-                    whatsappRecipients.add(recipient.getMobile());
+                    whatsappRecipients.add(recipient);
                 } else {
                     log.warn("[WHATSAPP SKIPPED] Program: {} | Node: {} | Recipient: {} | Reason: No mobile number", 
                             program.getTitle(), currentNode, recipient.getZonalId());
@@ -559,61 +638,62 @@ public class ProgramWorkflowService {
             }
             
             if (!whatsappRecipients.isEmpty()) {
-                // Check if using email-bridge mode (sends one email with all recipients)
-                // Otherwise, send individually via API
+                whatsappQueuedCount = whatsappRecipients.size();
+                // Email-bridge mode sends ONE email with all recipients; the API sends to each recipient
                 if ("email-bridge".equals(whatsappMode)) {
-                    // Send ONE email with all recipients
-                    boolean batchSent = whatsAppService.sendBatchMessages(
-                        whatsappRecipients, 
-                        message, 
-                        program.getTitle(), 
-                        currentNode
-                    );
-                    if (batchSent) {
-                        whatsappSentCount = whatsappRecipients.size();
-                        log.info("[WHATSAPP BATCH] Program: {} | Node: {} | Sent batch email for {} recipients", 
-                                program.getTitle(), currentNode, whatsappRecipients.size());
-                    }
+                    String mobiles = whatsappRecipients.stream().map(Sewadar::getMobile).collect(Collectors.joining(","));
+                    notifications.add(outboxEntry(NotificationOutbox.Channel.WHATSAPP_BATCH, mobiles, null,
+                            program.getTitle(), message, program.getId(), currentNode));
                 } else {
-                    // Send individually via API
-                    for (String mobile : whatsappRecipients) {
-                        boolean whatsappSent = whatsAppService.sendMessage(mobile, message);
-                        if (whatsappSent) {
-                            whatsappSentCount++;
-                        }
-                        log.info("[WHATSAPP ATTEMPT] Program: {} | Node: {} | Mobile: {} | Status: {} | Message: {}", 
-                                program.getTitle(), currentNode, mobile, whatsappSent ? "SENT" : "FAILED", messagePreview);
+                    for (Sewadar recipient : whatsappRecipients) {
+                        notifications.add(outboxEntry(NotificationOutbox.Channel.WHATSAPP, recipient.getMobile(),
+                                recipient.getZonalId(), null, message, program.getId(), currentNode));
                     }
                 }
             }
         }
         
-        // For Email: Send individually (normal email notifications)
+        // For Email: one email per recipient
+        String subject = "Program Notification: " + program.getTitle();
+        int emailQueuedCount = 0;
         for (Sewadar recipient : recipients) {
             if (useEmail && recipient.getEmailId() != null && !recipient.getEmailId().isEmpty()) {
-                String subject = "Program Notification: " + program.getTitle();
-                boolean emailSent = emailService.sendEmail(recipient.getEmailId(), subject, message);
-                if (emailSent) {
-                    emailSentCount++;
-                }
-                log.info("[EMAIL ATTEMPT] Program: {} | Node: {} | Recipient: {} ({}) | Email: {} | Status: {} | Message: {}", 
-                        program.getTitle(), currentNode, recipient.getZonalId(), 
-                        recipient.getFirstName() + " " + recipient.getLastName(), 
-                        recipient.getEmailId(), emailSent ? "SENT" : "FAILED", messagePreview);
+                notifications.add(outboxEntry(NotificationOutbox.Channel.EMAIL, recipient.getEmailId(),
+                        recipient.getZonalId(), subject, message, program.getId(), currentNode));
+                emailQueuedCount++;
             } else if (useEmail && (recipient.getEmailId() == null || recipient.getEmailId().isEmpty())) {
                 log.warn("[EMAIL SKIPPED] Program: {} | Node: {} | Recipient: {} | Reason: No email ID", 
                         program.getTitle(), currentNode, recipient.getZonalId());
             }
         }
+        notificationOutboxService.enqueueAll(notifications);
 
-        log.info("[NOTIFICATION SUMMARY] Program: {} (ID: {}) | Node: {} | Total Recipients: {} | Emails Sent: {} | WhatsApp Sent: {}", 
-                program.getTitle(), program.getId(), currentNode, recipients.size(), emailSentCount, whatsappSentCount);
+        log.info("[NOTIFICATION SUMMARY] Program: {} (ID: {}) | Node: {} | Total Recipients: {} | Emails Queued: {} | WhatsApp Queued: {}", 
+                program.getTitle(), program.getId(), currentNode, recipients.size(), emailQueuedCount, whatsappQueuedCount);
     }
 
     /**
      * Get recipients for a specific workflow node based on configuration.
      */
-    private List<Sewadar> getRecipientsForNode(Program program, Integer nodeNumber) {
+    private List<Sewadar> getRecipientsForNode(Program program, Integer nodeNumber,
+                                               Map<String, List<Sewadar>> sharedRecipients) {
+        String recipientType = recipientTypeForNode(nodeNumber);
+        if ("APPROVED".equals(recipientType)) {
+            // Send only to approved applicants (for step 3: form release)
+            List<ProgramApplication> approvedApps = applicationRepository
+                    .findByProgramIdAndStatus(program.getId(), "APPROVED");
+            return approvedApps.stream()
+                    .map(ProgramApplication::getSewadar)
+                    .collect(Collectors.toList());
+        }
+        List<Sewadar> shared = sharedRecipients.get(recipientType);
+        return shared != null ? shared : findSharedRecipients(recipientType);
+    }
+
+    /**
+     * Recipient type configured for a workflow node: ALL, APPROVED or INCHARGES.
+     */
+    private String recipientTypeForNode(Integer nodeNumber) {
         String recipientType;
         
         // Get recipient type from configuration for each step
@@ -640,30 +720,24 @@ public class ProgramWorkflowService {
                 recipientType = "INCHARGES";
                 break;
         }
+        return "ALL".equals(recipientType) || "APPROVED".equals(recipientType) ? recipientType : "INCHARGES";
+    }
 
-        switch (recipientType) {
-            case "ALL":
-                // Send to all sewadars (for step 2: direct message to apply)
-                return sewadarRepository.findAll();
-                
-            case "APPROVED":
-                // Send only to approved applicants (for step 3: form release)
-                List<ProgramApplication> approvedApps = applicationRepository
-                        .findByProgramIdAndStatus(program.getId(), "APPROVED");
-                return approvedApps.stream()
-                        .map(ProgramApplication::getSewadar)
-                        .collect(Collectors.toList());
-                
-            case "INCHARGES":
-            default:
-                // Send to both ADMIN and INCHARGE (alert/reminder to post in community)
-                List<Sewadar> admins = sewadarRepository.findByRole(Role.ADMIN);
-                List<Sewadar> incharges = sewadarRepository.findByRole(Role.INCHARGE);
-                List<Sewadar> allRecipients = new ArrayList<>();
-                allRecipients.addAll(admins);
-                allRecipients.addAll(incharges);
-                return allRecipients;
+    /**
+     * Recipients that are the same for every program (recipient types ALL and INCHARGES).
+     */
+    private List<Sewadar> findSharedRecipients(String recipientType) {
+        if ("ALL".equals(recipientType)) {
+            // Send to all sewadars (for step 2: direct message to apply)
+            return sewadarRepository.findAll();
         }
+        // Send to both ADMIN and INCHARGE (alert/reminder to post in community)
+        List<Sewadar> admins = sewadarRepository.findByRole(Role.ADMIN);
+        List<Sewadar> incharges = sewadarRepository.findByRole(Role.INCHARGE);
+        List<Sewadar> allRecipients = new ArrayList<>();
+        allRecipients.addAll(admins);
+        allRecipients.addAll(incharges);
+        return allRecipients;
     }
 
     /**
@@ -824,7 +898,7 @@ public class ProgramWorkflowService {
     }
 
     /**
-     * Notify all approved sewadars who have not yet submitted forms.
+     * Notify all approved sewadars who have not yet submitted forms (queued like the node notifications).
      */
     public void notifyMissingFormSubmitters(Long programId) {
         Program program = programRepository.findById(programId)
@@ -854,90 +928,69 @@ public class ProgramWorkflowService {
             return;
         }
         
-        log.info("[MISSING FORMS] Starting to send notifications to {} recipients", missing.size());
+        log.info("[MISSING FORMS] Queuing notifications for {} recipients", missing.size());
         
-        int emailSentCount = 0;
-        int emailFailedCount = 0;
-        int whatsappSentCount = 0;
-        int whatsappFailedCount = 0;
+        // Queued like the node notifications; node 4 (Collect Details) is the step the reminder belongs to
+        List<NotificationOutbox> notifications = new ArrayList<>();
+        int whatsappQueuedCount = 0;
         
-        // For WhatsApp: Collect all recipients with mobile numbers, then send batch email (if email-bridge mode)
         if (useWhatsApp) {
-            java.util.List<String> whatsappRecipients = new java.util.ArrayList<>();
+            List<com.rssb.application.dto.SewadarResponse> whatsappRecipients = new ArrayList<>();
             for (com.rssb.application.dto.SewadarResponse sewadar : missing) {
                 if (sewadar.getMobile() != null && !sewadar.getMobile().isEmpty()) {
-                    whatsappRecipients.add(sewadar.getMobile());
+                    whatsappRecipients.add(sewadar);
                 } else {
                     log.warn("[MISSING FORMS WHATSAPP] Skipped {} - No mobile number", sewadar.getZonalId());
                 }
             }
             
             if (!whatsappRecipients.isEmpty()) {
-                // Check if using email-bridge mode (sends one email with all recipients)
+                whatsappQueuedCount = whatsappRecipients.size();
+                // Email-bridge mode sends ONE email with all recipients; the API sends to each recipient
                 if ("email-bridge".equals(whatsappMode)) {
-                    // Send ONE email with all recipients
-                    boolean batchSent = whatsAppService.sendBatchMessages(
-                        whatsappRecipients, 
-                        baseMessage, 
-                        program.getTitle(), 
-                        4 // Node 4 for missing forms reminder
-                    );
-                    if (batchSent) {
-                        whatsappSentCount = whatsappRecipients.size();
-                        log.info("[MISSING FORMS WHATSAPP BATCH] Program: {} | Sent batch email for {} recipients", 
-                                program.getTitle(), whatsappRecipients.size());
-                    } else {
-                        whatsappFailedCount = whatsappRecipients.size();
-                    }
+                    String mobiles = whatsappRecipients.stream()
+                            .map(com.rssb.application.dto.SewadarResponse::getMobile)
+                            .collect(Collectors.joining(","));
+                    notifications.add(outboxEntry(NotificationOutbox.Channel.WHATSAPP_BATCH, mobiles, null,
+                            program.getTitle(), baseMessage, program.getId(), 4));
                 } else {
-                    // Send individually via API
-                    for (String mobile : whatsappRecipients) {
-                        try {
-                            boolean whatsappSent = whatsAppService.sendMessage(mobile, baseMessage);
-                            if (whatsappSent) {
-                                whatsappSentCount++;
-                            } else {
-                                whatsappFailedCount++;
-                            }
-                            log.info("[MISSING FORMS WHATSAPP] Program: {} | Mobile: {} | Status: {} | Message: {}", 
-                                    program.getTitle(), mobile, whatsappSent ? "SENT" : "FAILED", messagePreview);
-                        } catch (Exception e) {
-                            whatsappFailedCount++;
-                            log.error("[MISSING FORMS WHATSAPP] Failed to send to {}: {}", mobile, e.getMessage(), e);
-                        }
+                    for (com.rssb.application.dto.SewadarResponse sewadar : whatsappRecipients) {
+                        notifications.add(outboxEntry(NotificationOutbox.Channel.WHATSAPP, sewadar.getMobile(),
+                                sewadar.getZonalId(), null, baseMessage, program.getId(), 4));
                     }
                 }
             }
         }
         
-        // For Email: Send individually (normal email notifications)
+        // For Email: one email per recipient
+        String subject = "Reminder: Submit Form for " + program.getTitle();
+        int emailQueuedCount = 0;
         for (com.rssb.application.dto.SewadarResponse sewadar : missing) {
-            log.debug("[MISSING FORMS] Processing recipient: {} ({})", sewadar.getZonalId(), sewadar.getEmailId());
-            
             if (useEmail && sewadar.getEmailId() != null && !sewadar.getEmailId().isEmpty()) {
-                try {
-                    String subject = "Reminder: Submit Form for " + program.getTitle();
-                    boolean emailSent = emailService.sendEmail(sewadar.getEmailId(), subject, baseMessage);
-                    if (emailSent) {
-                        emailSentCount++;
-                    } else {
-                        emailFailedCount++;
-                    }
-                    log.info("[MISSING FORMS EMAIL] Program: {} | Recipient: {} ({}) | Email: {} | Status: {} | Message: {}", 
-                            program.getTitle(), sewadar.getZonalId(), 
-                            sewadar.getFirstName() + " " + sewadar.getLastName(), 
-                            sewadar.getEmailId(), emailSent ? "SENT" : "FAILED", messagePreview);
-                } catch (Exception e) {
-                    emailFailedCount++;
-                    log.error("[MISSING FORMS EMAIL] Failed to send to {}: {}", sewadar.getEmailId(), e.getMessage(), e);
-                }
+                notifications.add(outboxEntry(NotificationOutbox.Channel.EMAIL, sewadar.getEmailId(),
+                        sewadar.getZonalId(), subject, baseMessage, program.getId(), 4));
+                emailQueuedCount++;
             } else if (useEmail) {
                 log.warn("[MISSING FORMS EMAIL] Skipped {} - No email ID", sewadar.getZonalId());
             }
         }
+        notificationOutboxService.enqueueAll(notifications);
         
-        log.info("[MISSING FORMS SUMMARY] Program: {} (ID: {}) | Emails: {} sent, {} failed | WhatsApp: {} sent, {} failed", 
-                program.getTitle(), program.getId(), emailSentCount, emailFailedCount, whatsappSentCount, whatsappFailedCount);
+        log.info("[MISSING FORMS SUMMARY] Program: {} (ID: {}) | Emails Queued: {} | WhatsApp Queued: {}", 
+                program.getTitle(), program.getId(), emailQueuedCount, whatsappQueuedCount);
+    }
+
+    private static NotificationOutbox outboxEntry(NotificationOutbox.Channel channel, String recipient, String zonalId,
+                                                  String subject, String message, Long programId, Integer nodeNumber) {
+        return NotificationOutbox.builder()
+                .channel(channel)
+                .recipient(recipient)
+                .recipientZonalId(zonalId)
+                .subject(subject)
+                .message(message)
+                .programId(programId)
+                .nodeNumber(nodeNumber)
+                .build();
     }
 
     /**
@@ -994,7 +1047,7 @@ public class ProgramWorkflowService {
     public List<ProgramWorkflowResponse> getWorkflowsForIncharge(String inchargeId, Boolean includeArchived) {
         // ADMIN and INCHARGE both see all programs
         // This matches frontend expectation and allows promoted incharges to manage all workflows
-        Sewadar user = sewadarRepository.findByZonalId(inchargeId).orElse(null);
+        SewadarSnapshot user = sewadarLookupService.findByZonalId(inchargeId).orElse(null);
         List<Program> programs;
         if (user != null && (user.getRole() == com.rssb.application.entity.Role.ADMIN || user.getRole() == com.rssb.application.entity.Role.INCHARGE)) {
             programs = programRepository.findAll();
@@ -12,13 +12,22 @@ import com.rssb.application.repository.ProgramWorkflowRepository;
 import com.rssb.application.repository.SewadarFormSubmissionRepository;
 import com.rssb.application.repository.ProgramApplicationRepository;
 import com.rssb.application.repository.SewadarRepository;
+import com.rssb.application.util.ExportUtil;
+import com.rssb.application.util.ReportWriter;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -26,11 +35,16 @@ import java.util.stream.Collectors;
 @Transactional
 public class SewadarFormSubmissionService {
 
+    // Rows written between persistence context clears while streaming an export
+    private static final int EXPORT_CHUNK_SIZE = 500;
+
     private final SewadarFormSubmissionRepository formSubmissionRepository;
     private final ProgramRepository programRepository;
     private final SewadarRepository sewadarRepository;
     private final ProgramApplicationRepository applicationRepository;
     private final ProgramWorkflowRepository workflowRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManager entityManager;
 
     public SewadarFormSubmissionResponse submitForm(SewadarFormSubmissionRequest request, String sewadarId) {
         Program program = programRepository.findById(request.getProgramId())
@@ -149,40 +163,41 @@ public class SewadarFormSubmissionService {
         return mapToResponse(updated);
     }
 
-    public byte[] exportFormSubmissionsCsv(Long programId) {
-        List<SewadarFormSubmission> submissions = formSubmissionRepository.findByProgramId(programId);
-        
-        StringBuilder csv = new StringBuilder();
-        // Header
-        csv.append("Sewadar Zonal ID,Sewadar Name,Starting Date/Time From Home,Reaching Date/Time To Home,")
-           .append("Onward Train/Flight Date/Time,Onward Train/Flight No,Return Train/Flight Date/Time,")
-           .append("Return Train/Flight No,Stay In Hotel,Stay In Pandal,Submitted At\n");
-        
-        // Data rows
-        for (SewadarFormSubmission submission : submissions) {
-            String sewadarName = submission.getSewadar().getFirstName() + " " + submission.getSewadar().getLastName();
-            csv.append(escapeCsv(submission.getSewadar().getZonalId())).append(",")
-               .append(escapeCsv(sewadarName)).append(",")
-               .append(escapeCsv(submission.getStartingDateTimeFromHome() != null ? submission.getStartingDateTimeFromHome().toString() : "")).append(",")
-               .append(escapeCsv(submission.getReachingDateTimeToHome() != null ? submission.getReachingDateTimeToHome().toString() : "")).append(",")
-               .append(escapeCsv(submission.getOnwardTrainFlightDateTime() != null ? submission.getOnwardTrainFlightDateTime().toString() : "")).append(",")
-               .append(escapeCsv(submission.getOnwardTrainFlightNo())).append(",")
-               .append(escapeCsv(submission.getReturnTrainFlightDateTime() != null ? submission.getReturnTrainFlightDateTime().toString() : "")).append(",")
-               .append(escapeCsv(submission.getReturnTrainFlightNo())).append(",")
-               .append(escapeCsv(submission.getStayInHotel())).append(",")
-               .append(escapeCsv(submission.getStayInPandal())).append(",")
-               .append(escapeCsv(submission.getSubmittedAt() != null ? submission.getSubmittedAt().toString() : "")).append("\n");
+    /**
+     * Prepare a CSV/XLSX export of a program's form submissions.
+     * Submissions (with their sewadar) are streamed from a database cursor while the export is written,
+     * in its own read-only transaction, clearing the persistence context every EXPORT_CHUNK_SIZE rows.
+     */
+    @Transactional(readOnly = true)
+    public ExportWriter exportFormSubmissions(Long programId, String format) {
+        if (!"CSV".equalsIgnoreCase(format) && !"XLSX".equalsIgnoreCase(format)) {
+            throw new IllegalArgumentException("Unsupported format: " + format);
         }
         
-        return csv.toString().getBytes(java.nio.charset.StandardCharsets.UTF_8);
-    }
-
-    private String escapeCsv(String value) {
-        if (value == null) return "";
-        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
-            return "\"" + value.replace("\"", "\"\"") + "\"";
-        }
-        return value;
+        return out -> {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+            try {
+                transaction.executeWithoutResult(status -> {
+                    try (ReportWriter report = ExportUtil.createReportWriter(format, out, "Form Submissions", ExportUtil.FORM_SUBMISSION_COLUMN_WIDTHS);
+                         Stream<SewadarFormSubmission> submissions = formSubmissionRepository.streamByProgramIdWithSewadar(programId)) {
+                        report.writeHeader((Object[]) ExportUtil.FORM_SUBMISSION_HEADERS);
+                        int written = 0;
+                        Iterator<SewadarFormSubmission> it = submissions.iterator();
+                        while (it.hasNext()) {
+                            ExportUtil.writeFormSubmissionRow(report, it.next());
+                            if (++written % EXPORT_CHUNK_SIZE == 0) {
+                                entityManager.clear();
+                            }
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
     }
 
     private SewadarFormSubmissionResponse mapToResponse(SewadarFormSubmission submission) {
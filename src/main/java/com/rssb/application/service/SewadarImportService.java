@@ -0,0 +1,421 @@
+package com.rssb.application.service;
+
+import com.rssb.application.dto.SewadarImportResponse;
+import com.rssb.application.dto.SewadarRequest;
+import com.rssb.application.entity.Gender;
+import com.rssb.application.entity.Role;
+import com.rssb.application.exception.ServiceBusyException;
+import com.rssb.application.repository.SewadarRepository;
+import com.rssb.application.util.CsvReader;
+import com.rssb.application.util.XlsxReader;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bulk sewadar import from a CSV or XLSX file (POST /api/sewadars/import).
+ *
+ * The file is read as a stream, and each row is validated against in-memory sets of the existing zonal IDs,
+ * mobiles and Aadhar numbers (plus the rows accepted so far). Passwords are hashed on a bounded worker pool
+ * while parsing continues. Accepted rows are inserted in chunks, each in its own transaction, with JDBC batches
+ * for addresses, sewadars and languages. Every row that is not imported is reported with the reason.
+ * One import runs at a time.
+ *
+ * The header row names the columns after the SewadarRequest fields (case, spaces and underscores are ignored);
+ * zonalId, firstName and lastName are required. Languages are separated by commas or semicolons, dates are yyyy-MM-dd.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SewadarImportService {
+
+    private static final String DEFAULT_PASSWORD = "password123"; // Same default as createSewadar
+    private static final List<String> REQUIRED_COLUMNS = List.of("zonalid", "firstname", "lastname");
+
+    private static final String INSERT_ADDRESS_SQL =
+            "INSERT INTO addresses (id, address1, address2, email) VALUES (?, ?, ?, ?)";
+    private static final int[] ADDRESS_TYPES = {Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR};
+
+    private static final String INSERT_SEWADAR_SQL =
+            "INSERT INTO sewadars (zonal_id, first_name, last_name, location, mobile, address_id, remarks, role, " +
+            "joining_date, profession, password, date_of_birth, emergency_contact, emergency_contact_relationship, " +
+            "photo_url, aadhar_number, father_husband_name, gender, screener_code, satsang_place, email_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int[] SEWADAR_TYPES = {Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.VARCHAR, Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.DATE, Types.VARCHAR, Types.VARCHAR,
+            Types.DATE, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.VARCHAR, Types.VARCHAR, Types.VARCHAR};
+
+    private static final String INSERT_LANGUAGE_SQL = "INSERT INTO sewadar_languages (sewadar_id, language) VALUES (?, ?)";
+    private static final int[] LANGUAGE_TYPES = {Types.VARCHAR, Types.VARCHAR};
+
+    private final SewadarRepository sewadarRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.sewadar-import.hash-threads:4}")
+    private int hashThreads;
+
+    @Value("${app.sewadar-import.chunk-size:1000}")
+    private int chunkSize;
+
+    private final ReentrantLock importLock = new ReentrantLock();
+    private ThreadPoolExecutor hashExecutor;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        // When the queue is full the parsing thread hashes the row itself, which throttles parsing to hashing speed
+        hashExecutor = new ThreadPoolExecutor(hashThreads, hashThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(chunkSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "sewadar-import-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashExecutor.shutdownNow();
+    }
+
+    /**
+     * Import sewadars from a .csv or .xlsx file. New sewadars get the SEWADAR role.
+     *
+     * @param fileName Original file name (the extension selects the format)
+     * @param in File contents
+     * @return Counts and an error for every row that was not imported
+     * @throws IllegalArgumentException if the file type is not supported, the file cannot be read or required columns are missing
+     * @throws ServiceBusyException if another import is running
+     */
+    public SewadarImportResponse importSewadars(String fileName, InputStream in) {
+        String name = fileName != null ? fileName.toLowerCase(Locale.ROOT) : "";
+        boolean xlsx = name.endsWith(".xlsx");
+        if (!xlsx && !name.endsWith(".csv")) {
+            throw new IllegalArgumentException("Only .csv and .xlsx files can be imported");
+        }
+        if (!importLock.tryLock()) {
+            throw new ServiceBusyException("Another sewadar import is in progress, please try again later", 60);
+        }
+        try {
+            long startTime = System.currentTimeMillis();
+            ImportRun run = new ImportRun();
+            try {
+                if (xlsx) {
+                    XlsxReader.read(in, run::row);
+                } else {
+                    CsvReader.read(in, run::row);
+                }
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Could not read " + fileName + ": " + e.getMessage(), e);
+            }
+            if (run.columns == null) {
+                throw new IllegalArgumentException("The file is empty");
+            }
+            run.insertPending();
+
+            run.errors.sort(Comparator.comparing(SewadarImportResponse.RowError::getRowNumber));
+            long duration = System.currentTimeMillis() - startTime;
+            log.info("Sewadar import of {}: {} rows, {} imported, {} failed in {} ms",
+                    fileName, run.totalRows, run.imported, run.errors.size(), duration);
+            return SewadarImportResponse.builder()
+                    .fileName(fileName)
+                    .totalRows(run.totalRows)
+                    .importedCount(run.imported)
+                    .failedCount(run.errors.size())
+                    .durationMs(duration)
+                    .errors(run.errors)
+                    .build();
+        } finally {
+            importLock.unlock();
+        }
+    }
+
+    /**
+     * State of one import: column positions, the unique keys seen so far, the pending chunk and the errors.
+     */
+    private class ImportRun {
+
+        private final Set<String> zonalIds = new HashSet<>();
+        private final Set<String> mobiles = new HashSet<>();
+        private final Set<String> aadharNumbers = new HashSet<>();
+        private final List<ImportRow> pending = new ArrayList<>();
+        private final List<SewadarImportResponse.RowError> errors = new ArrayList<>();
+        // Rows without a password all get the (publicly known) default, so they share one hash
+        private final CompletableFuture<String> defaultPasswordHash =
+                CompletableFuture.supplyAsync(() -> passwordEncoder.encode(DEFAULT_PASSWORD), hashExecutor);
+
+        private Map<String, Integer> columns;
+        private int totalRows;
+        private int imported;
+
+        ImportRun() {
+            for (Object[] row : sewadarRepository.findAllUniqueKeys()) {
+                zonalIds.add((String) row[0]);
+                addIfPresent(mobiles, (String) row[1]);
+                addIfPresent(aadharNumbers, (String) row[2]);
+            }
+        }
+
+        void row(int rowNumber, List<String> cells) {
+            if (columns == null) {
+                readHeader(cells);
+                return;
+            }
+            if (cells.stream().allMatch(String::isBlank)) {
+                return;
+            }
+            totalRows++;
+            String zonalId = value(cells, "zonalid");
+            try {
+                ImportRow row = validate(rowNumber, cells);
+                String password = row.request.getPassword();
+                row.passwordHash = password == null ? defaultPasswordHash
+                        : CompletableFuture.supplyAsync(() -> passwordEncoder.encode(password), hashExecutor);
+                pending.add(row);
+                if (pending.size() >= chunkSize) {
+                    insertPending();
+                }
+            } catch (IllegalArgumentException e) {
+                errors.add(new SewadarImportResponse.RowError(rowNumber, zonalId, e.getMessage()));
+            }
+        }
+
+        private void readHeader(List<String> cells) {
+            columns = new HashMap<>();
+            for (int i = 0; i < cells.size(); i++) {
+                columns.putIfAbsent(normalize(cells.get(i)), i);
+            }
+            List<String> missing = REQUIRED_COLUMNS.stream().filter(c -> !columns.containsKey(c)).toList();
+            if (!missing.isEmpty()) {
+                throw new IllegalArgumentException("Missing required column(s): " + missing +
+                        " (the first row must be a header row, e.g. zonalId,firstName,lastName,mobile,...)");
+            }
+        }
+
+        private ImportRow validate(int rowNumber, List<String> cells) {
+            SewadarRequest request = SewadarRequest.builder()
+                    .zonalId(text(cells, "zonalid", 50))
+                    .firstName(text(cells, "firstname", 100))
+                    .lastName(text(cells, "lastname", 100))
+                    .location(text(cells, "location", 255))
+                    .mobile(text(cells, "mobile", 20))
+                    .address1(text(cells, "address1", 255))
+                    .address2(text(cells, "address2", 255))
+                    .email(text(cells, "email", 100))
+                    .remarks(text(cells, "remarks", 500))
+                    .joiningDate(date(cells, "joiningdate"))
+                    .profession(text(cells, "profession", 100))
+                    .password(text(cells, "password", 255))
+                    .dateOfBirth(date(cells, "dateofbirth"))
+                    .emergencyContact(text(cells, "emergencycontact", 20))
+                    .emergencyContactRelationship(text(cells, "emergencycontactrelationship", 50))
+                    .photoUrl(text(cells, "photourl", 500))
+                    .aadharNumber(text(cells, "aadharnumber", 12))
+                    .fatherHusbandName(text(cells, "fatherhusbandname", 100))
+                    .gender(text(cells, "gender", 10))
+                    .screenerCode(text(cells, "screenercode", 50))
+                    .satsangPlace(text(cells, "satsangplace", 255))
+                    .emailId(text(cells, "emailid", 100))
+                    .build();
+
+            if (request.getZonalId() == null || request.getFirstName() == null || request.getLastName() == null) {
+                throw new IllegalArgumentException("Zonal ID, first name and last name are required");
+            }
+            Gender gender = null;
+            if (request.getGender() != null) {
+                try {
+                    gender = Gender.valueOf(request.getGender().toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Gender must be MALE or FEMALE: " + request.getGender());
+                }
+            }
+            if (request.getAadharNumber() != null && !request.getAadharNumber().matches("\\d{12}")) {
+                throw new IllegalArgumentException("Aadhar number must have 12 digits: " + request.getAadharNumber());
+            }
+            List<String> languages = new ArrayList<>();
+            String languageCell = value(cells, "languages");
+            if (languageCell != null) {
+                for (String language : languageCell.split("[,;]")) {
+                    if (!language.isBlank()) {
+                        languages.add(checkLength(language.trim(), 100, "languages"));
+                    }
+                }
+            }
+
+            // Unique keys last, so a rejected row does not claim them
+            if (zonalIds.contains(request.getZonalId())) {
+                throw new IllegalArgumentException("Sewadar with zonal ID '" + request.getZonalId() + "' already exists");
+            }
+            if (request.getMobile() != null && mobiles.contains(request.getMobile())) {
+                throw new IllegalArgumentException("Mobile " + request.getMobile() + " is already used by another sewadar");
+            }
+            if (request.getAadharNumber() != null && aadharNumbers.contains(request.getAadharNumber())) {
+                throw new IllegalArgumentException("Aadhar number is already used by another sewadar");
+            }
+            zonalIds.add(request.getZonalId());
+            addIfPresent(mobiles, request.getMobile());
+            addIfPresent(aadharNumbers, request.getAadharNumber());
+
+            return new ImportRow(rowNumber, request, gender, languages);
+        }
+
+        /**
+         * Insert the pending rows in one transaction: one JDBC batch each for addresses, sewadars and languages.
+         * If the chunk fails, all of its rows are reported with the database error.
+         */
+        void insertPending() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<ImportRow> chunk = new ArrayList<>(pending);
+            pending.clear();
+
+            List<Object[]> addresses = new ArrayList<>();
+            List<Object[]> sewadars = new ArrayList<>(chunk.size());
+            List<Object[]> languages = new ArrayList<>();
+            try {
+                List<Long> addressIds = allocateAddressIds((int) chunk.stream().filter(r -> hasAddressFields(r.request)).count());
+                int nextAddress = 0;
+                for (ImportRow row : chunk) {
+                    SewadarRequest r = row.request;
+                    Long addressId = null;
+                    if (hasAddressFields(r)) {
+                        addressId = addressIds.get(nextAddress++);
+                        // Same defaults as SewadarServiceImpl.createOrUpdateAddress
+                        addresses.add(new Object[]{addressId, r.getAddress1() != null ? r.getAddress1() : "Address not specified",
+                                r.getAddress2(), r.getEmail()});
+                    }
+                    sewadars.add(new Object[]{r.getZonalId(), r.getFirstName(), r.getLastName(), r.getLocation(),
+                            r.getMobile(), addressId, r.getRemarks(), Role.SEWADAR.name(), r.getJoiningDate(),
+                            r.getProfession(), row.passwordHash.join(), r.getDateOfBirth(), r.getEmergencyContact(),
+                            r.getEmergencyContactRelationship(), r.getPhotoUrl(), r.getAadharNumber(),
+                            r.getFatherHusbandName(), row.gender != null ? row.gender.name() : null,
+                            r.getScreenerCode(), r.getSatsangPlace(), r.getEmailId()});
+                    for (String language : row.languages) {
+                        languages.add(new Object[]{r.getZonalId(), language});
+                    }
+                }
+
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    if (!addresses.isEmpty()) {
+                        jdbcTemplate.batchUpdate(INSERT_ADDRESS_SQL, addresses, ADDRESS_TYPES);
+                    }
+                    jdbcTemplate.batchUpdate(INSERT_SEWADAR_SQL, sewadars, SEWADAR_TYPES);
+                    if (!languages.isEmpty()) {
+                        jdbcTemplate.batchUpdate(INSERT_LANGUAGE_SQL, languages, LANGUAGE_TYPES);
+                    }
+                });
+                imported += chunk.size();
+                log.debug("Sewadar import: {} rows imported so far", imported);
+            } catch (DataAccessException | CompletionException e) {
+                String reason = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+                log.warn("Sewadar import: chunk of {} rows (rows {}-{}) failed: {}", chunk.size(),
+                        chunk.get(0).rowNumber, chunk.get(chunk.size() - 1).rowNumber, reason);
+                for (ImportRow row : chunk) {
+                    errors.add(new SewadarImportResponse.RowError(row.rowNumber, row.request.getZonalId(),
+                            "Not imported (the batch containing this row failed): " + reason));
+                }
+            }
+        }
+
+        private String value(List<String> cells, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= cells.size()) {
+                return null;
+            }
+            String value = cells.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        private String text(List<String> cells, String column, int maxLength) {
+            return checkLength(value(cells, column), maxLength, column);
+        }
+
+        private LocalDate date(List<String> cells, String column) {
+            String value = value(cells, column);
+            try {
+                return value != null ? LocalDate.parse(value) : null;
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid " + column + " (expected yyyy-MM-dd): " + value);
+            }
+        }
+    }
+
+    private static class ImportRow {
+        private final int rowNumber;
+        private final SewadarRequest request;
+        private final Gender gender;
+        private final List<String> languages;
+        private CompletableFuture<String> passwordHash;
+
+        ImportRow(int rowNumber, SewadarRequest request, Gender gender, List<String> languages) {
+            this.rowNumber = rowNumber;
+            this.request = request;
+            this.gender = gender;
+            this.languages = languages;
+        }
+    }
+
+    // IDs from the addresses sequence in one query (each value is unique, also against Hibernate's pooled blocks)
+    private List<Long> allocateAddressIds(int count) {
+        if (count == 0) {
+            return List.of();
+        }
+        return jdbcTemplate.queryForList("SELECT nextval('addresses_seq') FROM generate_series(1, ?)", Long.class, count);
+    }
+
+    private static boolean hasAddressFields(SewadarRequest request) {
+        return request.getAddress1() != null || request.getAddress2() != null || request.getEmail() != null;
+    }
+
+    private static String checkLength(String value, int maxLength, String column) {
+        if (value != null && value.length() > maxLength) {
+            throw new IllegalArgumentException(column + " is longer than " + maxLength + " characters");
+        }
+        return value;
+    }
+
+    private static String normalize(String header) {
+        return header.replaceAll("[\\s_\\-]", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static void addIfPresent(Set<String> set, String value) {
+        if (value != null) {
+            set.add(value);
+        }
+    }
+}
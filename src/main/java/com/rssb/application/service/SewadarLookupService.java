@@ -0,0 +1,107 @@
+package com.rssb.application.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rssb.application.dto.SewadarSnapshot;
+import com.rssb.application.entity.Role;
+import com.rssb.application.exception.ResourceNotFoundException;
+import com.rssb.application.repository.SewadarRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Cached sewadar lookups by zonal ID for permission checks and other paths that only need
+ * the role, name and contact fields.
+ *
+ * Snapshots live in a bounded Caffeine cache (size- and TTL-evicted). Writers must call {@link #evict(String)}
+ * when a sewadar is updated, promoted, demoted or deleted. Hit/miss/eviction counts are published as the
+ * "cache.*" meters with cache=sewadarSnapshots (GET /actuator/metrics/cache.gets?tag=cache:sewadarSnapshots).
+ */
+@Service
+@Slf4j
+public class SewadarLookupService {
+
+    public static final String CACHE_NAME = "sewadarSnapshots";
+
+    private final SewadarRepository sewadarRepository;
+    private final Cache<String, SewadarSnapshot> cache;
+
+    public SewadarLookupService(SewadarRepository sewadarRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.sewadar-cache.max-size:10000}") long maxSize,
+                                @Value("${app.sewadar-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.sewadarRepository = sewadarRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        log.info("Sewadar lookup cache: max {} entries, TTL {}s", maxSize, ttlSeconds);
+    }
+
+    /**
+     * Find a sewadar snapshot, loading it from the database on a cache miss.
+     * Unknown zonal IDs are not cached.
+     */
+    public Optional<SewadarSnapshot> findByZonalId(String zonalId) {
+        if (zonalId == null) {
+            return Optional.empty();
+        }
+        // Concurrent misses for the same zonal ID share one query
+        return Optional.ofNullable(cache.get(zonalId, this::load));
+    }
+
+    /**
+     * Get a sewadar snapshot.
+     *
+     * @throws ResourceNotFoundException if the sewadar does not exist
+     */
+    public SewadarSnapshot getByZonalId(String zonalId) {
+        return findByZonalId(zonalId)
+                .orElseThrow(() -> new ResourceNotFoundException("Sewadar", "zonal_id", zonalId));
+    }
+
+    /**
+     * Drop the cached snapshot of a sewadar. Inside a transaction the entry is dropped again after commit,
+     * so a concurrent lookup cannot re-cache the row as it was before the change.
+     */
+    public void evict(String zonalId) {
+        cache.invalidate(zonalId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(zonalId);
+                }
+            });
+        }
+    }
+
+    private SewadarSnapshot load(String zonalId) {
+        List<Object[]> rows = sewadarRepository.findSnapshotRowByZonalId(zonalId);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        Object[] row = rows.get(0);
+        return SewadarSnapshot.builder()
+                .id((Long) row[0])
+                .zonalId((String) row[1])
+                .role((Role) row[2])
+                .firstName((String) row[3])
+                .lastName((String) row[4])
+                .mobile((String) row[5])
+                .emailId((String) row[6])
+                .location((String) row[7])
+                .build();
+    }
+}
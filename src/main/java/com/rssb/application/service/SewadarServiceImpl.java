@@ -29,6 +29,8 @@ public class SewadarServiceImpl implements SewadarService {
     private final SewadarRepository sewadarRepository;
     private final AddressRepository addressRepository;
     private final PasswordEncoder passwordEncoder;
+    private final SewadarLookupService sewadarLookupService;
+    private final AttendanceStatsService attendanceStatsService;
 
     @Override
     @Transactional(readOnly = true)
@@ -129,6 +131,7 @@ public class SewadarServiceImpl implements SewadarService {
         }
 
         Sewadar updatedSewadar = sewadarRepository.save(sewadar);
+        sewadarLookupService.evict(zonalId);
         log.info("Sewadar updated with zonal_id: {}", updatedSewadar.getZonalId());
         return mapToResponse(updatedSewadar);
     }
@@ -139,6 +142,8 @@ public class SewadarServiceImpl implements SewadarService {
         Sewadar sewadar = sewadarRepository.findByZonalId(zonalId)
                 .orElseThrow(() -> new ResourceNotFoundException("Sewadar", "zonal_id", zonalId));
         sewadarRepository.delete(sewadar);
+        attendanceStatsService.recordSewadarDeleted(zonalId);
+        sewadarLookupService.evict(zonalId);
         log.info("Sewadar deleted with zonal_id: {}", zonalId);
     }
 
@@ -171,6 +176,7 @@ public class SewadarServiceImpl implements SewadarService {
         
         sewadar.setRole(com.rssb.application.entity.Role.INCHARGE);
         Sewadar updated = sewadarRepository.save(sewadar);
+        sewadarLookupService.evict(sewadarZonalId);
         log.info("Sewadar {} promoted to incharge", sewadarZonalId);
         return mapToResponse(updated);
     }
@@ -209,6 +215,7 @@ public class SewadarServiceImpl implements SewadarService {
         
         sewadar.setRole(com.rssb.application.entity.Role.SEWADAR);
         Sewadar updated = sewadarRepository.save(sewadar);
+        sewadarLookupService.evict(sewadarZonalId);
         log.info("Sewadar {} demoted to sewadar", sewadarZonalId);
         return mapToResponse(updated);
     }
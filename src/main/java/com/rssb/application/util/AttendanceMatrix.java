@@ -0,0 +1,95 @@
+package com.rssb.application.util;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sewadar x program-date presence matrix backed by a single long[] bitset.
+ * Each sewadar (row) uses ceil(dateCount / 64) words; bit d of a row is set when the sewadar attended date index d.
+ * A 500 x 10 program needs 500 longs instead of 5000 map entries.
+ */
+public class AttendanceMatrix {
+
+    public static final String PRESENT = "Present";
+    public static final String ABSENT = "Absent";
+
+    private final int rowCount;
+    private final int dateCount;
+    private final int wordsPerRow;
+    private final long[] bits;
+
+    public AttendanceMatrix(int rowCount, int dateCount) {
+        this.rowCount = rowCount;
+        this.dateCount = dateCount;
+        this.wordsPerRow = Math.max(1, (dateCount + 63) >>> 6);
+        this.bits = new long[rowCount * wordsPerRow];
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getDateCount() {
+        return dateCount;
+    }
+
+    public void markPresent(int row, int dateIndex) {
+        checkIndex(row, dateIndex);
+        bits[row * wordsPerRow + (dateIndex >>> 6)] |= 1L << dateIndex;
+    }
+
+    public boolean isPresent(int row, int dateIndex) {
+        checkIndex(row, dateIndex);
+        return (bits[row * wordsPerRow + (dateIndex >>> 6)] & (1L << dateIndex)) != 0;
+    }
+
+    /**
+     * Number of dates the sewadar attended
+     */
+    public int presentCount(int row) {
+        int count = 0;
+        for (int w = 0; w < wordsPerRow; w++) {
+            count += Long.bitCount(bits[row * wordsPerRow + w]);
+        }
+        return count;
+    }
+
+    /**
+     * Indexes (into the program dates) of the dates the sewadar attended, ascending
+     */
+    public List<Integer> presentDateIndexes(int row) {
+        List<Integer> indexes = new ArrayList<>(presentCount(row));
+        for (int w = 0; w < wordsPerRow; w++) {
+            long word = bits[row * wordsPerRow + w];
+            while (word != 0) {
+                indexes.add((w << 6) + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return indexes;
+    }
+
+    /**
+     * Date -> "Present"/"Absent" map of one row, for the original response shape
+     */
+    public Map<LocalDate, String> toDateStatusMap(int row, List<LocalDate> dates) {
+        if (dates.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<LocalDate, String> dateStatusMap = new LinkedHashMap<>(dates.size() * 4 / 3 + 1);
+        for (int d = 0; d < dates.size(); d++) {
+            dateStatusMap.put(dates.get(d), isPresent(row, d) ? PRESENT : ABSENT);
+        }
+        return dateStatusMap;
+    }
+
+    private void checkIndex(int row, int dateIndex) {
+        if (row < 0 || row >= rowCount || dateIndex < 0 || dateIndex >= dateCount) {
+            throw new IndexOutOfBoundsException("Cell (" + row + ", " + dateIndex + ") outside " + rowCount + " x " + dateCount);
+        }
+    }
+}
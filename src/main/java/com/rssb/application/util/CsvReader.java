@@ -0,0 +1,85 @@
+package com.rssb.application.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming CSV reader (UTF-8, RFC 4180 quoting, optional byte order mark).
+ * Rows are handed over one at a time, so files of any size are read with constant heap.
+ */
+public class CsvReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private CsvReader() {
+    }
+
+    /**
+     * Read all rows of a CSV stream. Quoted fields may contain commas, doubled quotes and line breaks.
+     */
+    public static void read(InputStream in, RowHandler handler) throws IOException {
+        Reader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE);
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        boolean rowStarted = false;
+        int rowNumber = 0;
+
+        int c = reader.read();
+        if (c == '\uFEFF') {
+            c = reader.read();
+        }
+        for (; c != -1; c = reader.read()) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        cell.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    cell.append((char) c);
+                }
+                continue;
+            }
+            switch (c) {
+                case '"' -> {
+                    quoted = true;
+                    rowStarted = true;
+                }
+                case ',' -> {
+                    cells.add(cell.toString());
+                    cell.setLength(0);
+                    rowStarted = true;
+                }
+                case '\r' -> {
+                    // Handled by the following '\n' (or ignored on its own)
+                }
+                case '\n' -> {
+                    cells.add(cell.toString());
+                    cell.setLength(0);
+                    handler.row(++rowNumber, cells);
+                    cells = new ArrayList<>();
+                    rowStarted = false;
+                }
+                default -> {
+                    cell.append((char) c);
+                    rowStarted = true;
+                }
+            }
+        }
+        if (rowStarted || cell.length() > 0) {
+            cells.add(cell.toString());
+            handler.row(++rowNumber, cells);
+        }
+    }
+}
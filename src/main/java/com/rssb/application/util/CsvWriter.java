@@ -0,0 +1,74 @@
+package com.rssb.application.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Buffered CSV writer that writes escaped rows straight to an output stream (UTF-8).
+ * Nothing is kept in memory besides the write buffer, so exports of any size use constant heap.
+ */
+public class CsvWriter implements ReportWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Writer writer;
+
+    public CsvWriter(OutputStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    @Override
+    public void writeTitle(String title) throws IOException {
+        writeRow(title);
+    }
+
+    @Override
+    public void writeHeader(Object... headers) throws IOException {
+        writeRow(headers);
+    }
+
+    /**
+     * Write one row. Values are converted with toString() and escaped; null values are written as empty cells.
+     */
+    @Override
+    public void writeRow(Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writer.write(escape(values[i].toString()));
+            }
+        }
+        writer.write('\n');
+    }
+
+    @Override
+    public void writeEmptyLine() throws IOException {
+        writer.write('\n');
+    }
+
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    /**
+     * Flush and close the underlying stream.
+     */
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    public static String escape(String value) {
+        if (value == null) return "";
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
@@ -0,0 +1,53 @@
+package com.rssb.application.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Utility class for opaque keyset-pagination cursors.
+ * A cursor is the URL-safe Base64 of its key parts joined by '|'.
+ * Only the last part may contain '|' (e.g. a zonalId), the others must not.
+ */
+public class CursorUtil {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Encode the key of the last row of a page into a cursor.
+     *
+     * @param parts Key parts, in order (null parts are encoded as empty strings)
+     * @return Opaque cursor string
+     */
+    public static String encode(String... parts) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                sb.append(SEPARATOR);
+            }
+            sb.append(parts[i] != null ? parts[i] : "");
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor produced by {@link #encode(String...)}.
+     *
+     * @param cursor Cursor string from a previous response
+     * @param expectedParts Number of key parts the cursor must contain
+     * @return Key parts (empty strings for null parts)
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static String[] decode(String cursor, int expectedParts) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        String[] parts = decoded.split("\\|", expectedParts);
+        if (parts.length != expectedParts) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return parts;
+    }
+}
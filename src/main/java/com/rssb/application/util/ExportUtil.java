@@ -1,225 +1,108 @@
 package com.rssb.application.util;
 
 import com.rssb.application.dto.*;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.pdmodel.PDPage;
-import org.apache.pdfbox.pdmodel.PDPageContentStream;
-import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
-import org.apache.pdfbox.pdmodel.font.PDType1Font;
-
-import java.io.ByteArrayOutputStream;
+import com.rssb.application.entity.Sewadar;
+import com.rssb.application.entity.SewadarFormSubmission;
+
 import java.io.IOException;
-import java.time.format.DateTimeFormatter;
+import java.io.OutputStream;
+import java.time.LocalDate;
 import java.util.List;
 
 public class ExportUtil {
 
-    public static byte[] exportSewadarsToCSV(SewadarDashboardResponse response) throws IOException {
-        StringBuilder csv = new StringBuilder();
-        
-        // Header
-        csv.append("Zonal ID,First Name,Last Name,Mobile,Location,Profession,Joining Date,Languages,")
-           .append("Total Programs,Total Days,BEAS Programs,BEAS Days,Non-BEAS Programs,Non-BEAS Days\n");
-        
-        // Data rows
-        for (SewadarDashboardResponse.SewadarDashboardItem item : response.getSewadars()) {
-            csv.append(escapeCSV(item.getZonalId().toString())).append(",")
-               .append(escapeCSV(item.getFirstName())).append(",")
-               .append(escapeCSV(item.getLastName())).append(",")
-               .append(escapeCSV(item.getMobile())).append(",")
-               .append(escapeCSV(item.getLocation())).append(",")
-               .append(escapeCSV(item.getProfession())).append(",")
-               .append(escapeCSV(item.getJoiningDate() != null ? item.getJoiningDate().toString() : "")).append(",")
-               .append(escapeCSV(String.join("; ", item.getLanguages()))).append(",")
-               .append(item.getTotalProgramsCount()).append(",")
-               .append(item.getTotalDaysAttended()).append(",")
-               .append(item.getBeasProgramsCount()).append(",")
-               .append(item.getBeasDaysAttended()).append(",")
-               .append(item.getNonBeasProgramsCount()).append(",")
-               .append(item.getNonBeasDaysAttended()).append("\n");
-        }
-        
-        return csv.toString().getBytes("UTF-8");
+    public static final String[] SEWADAR_HEADERS = {"Zonal ID", "First Name", "Last Name", "Mobile", "Location", "Profession",
+            "Joining Date", "Languages", "Total Programs", "Total Days", "BEAS Programs",
+            "BEAS Days", "Non-BEAS Programs", "Non-BEAS Days"};
+
+    public static final String[] SEWADAR_ATTENDANCE_HEADERS = {"Program ID", "Program Title", "Location", "Date", "Status"};
+
+    public static final String[] APPLICATION_HEADERS = {"Application ID", "Zonal ID", "Name", "Mobile", "Status", "Applied At"};
+
+    // Program attendance: these columns are followed by one column per program date
+    public static final String[] PROGRAM_ATTENDANCE_HEADERS = {"Zonal ID", "Name", "Mobile"};
+
+    public static final String[] FORM_SUBMISSION_HEADERS = {"Sewadar Zonal ID", "Sewadar Name", "Starting Date/Time From Home",
+            "Reaching Date/Time To Home", "Onward Train/Flight Date/Time", "Onward Train/Flight No",
+            "Return Train/Flight Date/Time", "Return Train/Flight No", "Stay In Hotel", "Stay In Pandal", "Submitted At"};
+
+    // Typical data widths (characters) per column, used for XLSX/PDF column widths instead of measuring every cell
+    public static final int[] SEWADAR_COLUMN_WIDTHS = {10, 14, 14, 12, 14, 16, 10, 20, 6, 6, 6, 6, 6, 6};
+    public static final int[] SEWADAR_ATTENDANCE_COLUMN_WIDTHS = {8, 30, 14, 10, 8};
+    public static final int[] APPLICATION_COLUMN_WIDTHS = {8, 10, 26, 12, 14, 16};
+    public static final int[] PROGRAM_ATTENDANCE_COLUMN_WIDTHS = {10, 26, 12}; // date columns use the default width
+    public static final int[] FORM_SUBMISSION_COLUMN_WIDTHS = {10, 26, 16, 16, 16, 14, 16, 14, 12, 12, 16};
+
+    /**
+     * Create a streaming report writer for CSV, XLSX or PDF.
+     *
+     * @param title Sheet name (XLSX) or document heading (PDF)
+     * @throws IllegalArgumentException for other formats
+     */
+    public static ReportWriter createReportWriter(String format, OutputStream out, String title, int[] columnWidths) throws IOException {
+        return switch (format.toUpperCase()) {
+            case "CSV" -> new CsvWriter(out);
+            case "XLSX" -> new XlsxWriter(out, title, columnWidths);
+            case "PDF" -> new PdfTableWriter(out, title, columnWidths);
+            default -> throw new IllegalArgumentException("Unsupported format: " + format);
+        };
     }
 
-    public static byte[] exportSewadarsToXLSX(SewadarDashboardResponse response) throws IOException {
-        Workbook workbook = new XSSFWorkbook();
-        Sheet sheet = workbook.createSheet("Sewadars");
-        
-        // Create header style
-        CellStyle headerStyle = workbook.createCellStyle();
-        Font headerFont = workbook.createFont();
-        headerFont.setBold(true);
-        headerStyle.setFont(headerFont);
-        headerStyle.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
-        headerStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-        
-        // Create header row
-        Row headerRow = sheet.createRow(0);
-        String[] headers = {"Zonal ID", "First Name", "Last Name", "Mobile", "Location", "Profession",
-                           "Joining Date", "Languages", "Total Programs", "Total Days", "BEAS Programs",
-                           "BEAS Days", "Non-BEAS Programs", "Non-BEAS Days"};
-        for (int i = 0; i < headers.length; i++) {
-            Cell cell = headerRow.createCell(i);
-            cell.setCellValue(headers[i]);
-            cell.setCellStyle(headerStyle);
-        }
-        
-        // Data rows
-        int rowNum = 1;
-        for (SewadarDashboardResponse.SewadarDashboardItem item : response.getSewadars()) {
-            Row row = sheet.createRow(rowNum++);
-            int colNum = 0;
-            
-            row.createCell(colNum++).setCellValue(item.getZonalId());
-            row.createCell(colNum++).setCellValue(item.getFirstName());
-            row.createCell(colNum++).setCellValue(item.getLastName());
-            row.createCell(colNum++).setCellValue(item.getMobile());
-            row.createCell(colNum++).setCellValue(item.getLocation());
-            row.createCell(colNum++).setCellValue(item.getProfession());
-            row.createCell(colNum++).setCellValue(item.getJoiningDate() != null ? item.getJoiningDate().toString() : "");
-            row.createCell(colNum++).setCellValue(String.join("; ", item.getLanguages()));
-            row.createCell(colNum++).setCellValue(item.getTotalProgramsCount());
-            row.createCell(colNum++).setCellValue(item.getTotalDaysAttended());
-            row.createCell(colNum++).setCellValue(item.getBeasProgramsCount());
-            row.createCell(colNum++).setCellValue(item.getBeasDaysAttended());
-            row.createCell(colNum++).setCellValue(item.getNonBeasProgramsCount());
-            row.createCell(colNum++).setCellValue(item.getNonBeasDaysAttended());
-        }
-        
-        // Auto-size columns
-        for (int i = 0; i < headers.length; i++) {
-            sheet.autoSizeColumn(i);
-        }
-        
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        workbook.write(out);
-        workbook.close();
-        return out.toByteArray();
+    public static void writeSewadarRow(ReportWriter report, SewadarDashboardResponse.SewadarDashboardItem item) throws IOException {
+        report.writeRow(item.getZonalId(), item.getFirstName(), item.getLastName(), item.getMobile(),
+                item.getLocation(), item.getProfession(), item.getJoiningDate(),
+                String.join("; ", item.getLanguages()),
+                item.getTotalProgramsCount(), item.getTotalDaysAttended(),
+                item.getBeasProgramsCount(), item.getBeasDaysAttended(),
+                item.getNonBeasProgramsCount(), item.getNonBeasDaysAttended());
     }
 
-    public static byte[] exportSewadarsToPDF(SewadarDashboardResponse response) throws IOException {
-        PDDocument document = new PDDocument();
-        PDPage page = new PDPage();
-        document.addPage(page);
-        
-        PDPageContentStream contentStream = new PDPageContentStream(document, page);
-        contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD), 12);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(50, 750);
-        contentStream.showText("Sewadars Report");
-        contentStream.endText();
-        
-        contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 10);
-        float y = 720;
-        float x = 50;
-        
-        // Header
-        contentStream.beginText();
-        contentStream.newLineAtOffset(x, y);
-        contentStream.showText("Zonal ID | Name | Mobile | Location | Total Programs | Total Days");
-        contentStream.endText();
-        
-        y -= 20;
-        for (SewadarDashboardResponse.SewadarDashboardItem item : response.getSewadars()) {
-            if (y < 50) {
-                contentStream.close();
-                page = new PDPage();
-                document.addPage(page);
-                contentStream = new PDPageContentStream(document, page);
-                contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 10);
-                y = 750;
-            }
-            
-            String line = item.getZonalId() + " | " + item.getFirstName() + " " + item.getLastName() +
-                         " | " + item.getMobile() + " | " + item.getLocation() + " | " +
-                         item.getTotalProgramsCount() + " | " + item.getTotalDaysAttended();
-            
-            contentStream.beginText();
-            contentStream.newLineAtOffset(x, y);
-            contentStream.showText(line);
-            contentStream.endText();
-            y -= 15;
-        }
-        
-        contentStream.close();
-        
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        document.save(out);
-        document.close();
-        return out.toByteArray();
+    public static void writeSewadarAttendanceHeader(ReportWriter report, String sewadarId, String sewadarName, String mobile) throws IOException {
+        report.writeTitle("Sewadar: " + sewadarName + " (" + sewadarId + ")");
+        report.writeTitle("Mobile: " + mobile);
+        report.writeEmptyLine();
+        report.writeHeader((Object[]) SEWADAR_ATTENDANCE_HEADERS);
     }
 
-    public static byte[] exportSewadarAttendanceToCSV(SewadarDetailedAttendanceResponse response) throws IOException {
-        StringBuilder csv = new StringBuilder();
-        
-        csv.append("Sewadar: ").append(response.getSewadarName()).append(" (").append(response.getSewadarId()).append(")\n");
-        csv.append("Mobile: ").append(response.getMobile()).append("\n\n");
-        csv.append("Program ID,Program Title,Location,Date,Status\n");
-        
-        for (SewadarDetailedAttendanceResponse.AttendanceRecord record : response.getRecords()) {
-            csv.append(record.getProgramId()).append(",")
-               .append(escapeCSV(record.getProgramTitle())).append(",")
-               .append(escapeCSV(record.getProgramLocation())).append(",")
-               .append(record.getAttendanceDate().toString()).append(",")
-               .append(record.getStatus()).append("\n");
-        }
-        
-        return csv.toString().getBytes("UTF-8");
+    public static void writeSewadarAttendanceRow(ReportWriter report, SewadarDetailedAttendanceResponse.AttendanceRecord record) throws IOException {
+        report.writeRow(record.getProgramId(), record.getProgramTitle(), record.getProgramLocation(),
+                record.getAttendanceDate(), record.getStatus());
     }
 
-    public static byte[] exportProgramAttendanceToCSV(ProgramDetailedAttendanceResponse response) throws IOException {
-        StringBuilder csv = new StringBuilder();
-        
-        csv.append("Program: ").append(response.getProgramTitle()).append(" (").append(response.getProgramId()).append(")\n\n");
-        
-        // Header: Sewadar info + dates
-        csv.append("Zonal ID,Name,Mobile,");
-        for (java.time.LocalDate date : response.getProgramDates()) {
-            csv.append(date.toString()).append(",");
-        }
-        csv.append("\n");
-        
-        // Data rows
-        for (ProgramDetailedAttendanceResponse.SewadarAttendanceRow row : response.getSewadarRows()) {
-            csv.append(row.getZonalId()).append(",")
-               .append(escapeCSV(row.getSewadarName())).append(",")
-               .append(escapeCSV(row.getMobile())).append(",");
-            
-            for (java.time.LocalDate date : response.getProgramDates()) {
-                csv.append(row.getDateStatusMap().getOrDefault(date, "Absent")).append(",");
-            }
-            csv.append("\n");
+    public static void writeProgramAttendanceHeader(ReportWriter report, Long programId, String programTitle, List<LocalDate> dates) throws IOException {
+        report.writeTitle("Program: " + programTitle + " (" + programId + ")");
+        report.writeEmptyLine();
+        Object[] header = new Object[PROGRAM_ATTENDANCE_HEADERS.length + dates.size()];
+        System.arraycopy(PROGRAM_ATTENDANCE_HEADERS, 0, header, 0, PROGRAM_ATTENDANCE_HEADERS.length);
+        for (int i = 0; i < dates.size(); i++) {
+            header[PROGRAM_ATTENDANCE_HEADERS.length + i] = dates.get(i);
         }
-        
-        return csv.toString().getBytes("UTF-8");
+        report.writeHeader(header);
     }
 
-    public static byte[] exportApplicationsToCSV(ApplicationDashboardResponse response) throws IOException {
-        StringBuilder csv = new StringBuilder();
-        
-        csv.append("Application ID,Zonal ID,Name,Mobile,Status,Applied At\n");
-        
-        for (ApplicationDashboardResponse.ApplicationDashboardItem item : response.getApplications()) {
-            csv.append(item.getApplicationId()).append(",")
-               .append(item.getSewadarZonalId()).append(",")
-               .append(escapeCSV(item.getSewadarName())).append(",")
-               .append(escapeCSV(item.getMobile())).append(",")
-               .append(item.getStatus()).append(",")
-               .append(item.getAppliedAt() != null ? item.getAppliedAt().toString() : "").append("\n");
+    public static void writeProgramAttendanceRow(ReportWriter report, String zonalId, String sewadarName, String mobile,
+                                                 AttendanceMatrix matrix, int row) throws IOException {
+        Object[] values = new Object[PROGRAM_ATTENDANCE_HEADERS.length + matrix.getDateCount()];
+        values[0] = zonalId;
+        values[1] = sewadarName;
+        values[2] = mobile;
+        for (int i = 0; i < matrix.getDateCount(); i++) {
+            values[PROGRAM_ATTENDANCE_HEADERS.length + i] = matrix.isPresent(row, i) ? AttendanceMatrix.PRESENT : AttendanceMatrix.ABSENT;
         }
-        
-        return csv.toString().getBytes("UTF-8");
+        report.writeRow(values);
     }
 
-    private static String escapeCSV(String value) {
-        if (value == null) return "";
-        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
-            return "\"" + value.replace("\"", "\"\"") + "\"";
-        }
-        return value;
+    public static void writeFormSubmissionRow(ReportWriter report, SewadarFormSubmission submission) throws IOException {
+        Sewadar sewadar = submission.getSewadar();
+        report.writeRow(sewadar.getZonalId(), sewadar.getFirstName() + " " + sewadar.getLastName(),
+                submission.getStartingDateTimeFromHome(), submission.getReachingDateTimeToHome(),
+                submission.getOnwardTrainFlightDateTime(), submission.getOnwardTrainFlightNo(),
+                submission.getReturnTrainFlightDateTime(), submission.getReturnTrainFlightNo(),
+                submission.getStayInHotel(), submission.getStayInPandal(), submission.getSubmittedAt());
     }
-}
 
+    public static void writeApplicationRow(ReportWriter report, ApplicationDashboardResponse.ApplicationDashboardItem item) throws IOException {
+        report.writeRow(item.getApplicationId(), item.getSewadarZonalId(), item.getSewadarName(),
+                item.getMobile(), item.getStatus(), item.getAppliedAt());
+    }
+}
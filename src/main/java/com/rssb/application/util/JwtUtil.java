@@ -1,25 +1,48 @@
 package com.rssb.application.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.rssb.application.config.JwtConfig;
+import com.rssb.application.dto.AuthenticatedUser;
+import com.rssb.application.entity.Role;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
 import java.util.function.Function;
 
 @Component
-@RequiredArgsConstructor
 public class JwtUtil {
 
     private final JwtConfig jwtConfig;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtConfig.getSecret().getBytes(StandardCharsets.UTF_8));
+    // Derived once: the key and the parser are immutable and thread-safe
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+
+    // SHA-256 of the token -> verified identity, kept until the token expires
+    private final Cache<ByteBuffer, AuthenticatedUser> verifiedTokens;
+
+    public JwtUtil(JwtConfig jwtConfig) {
+        this.jwtConfig = jwtConfig;
+        this.signingKey = Keys.hmacShaKeyFor(jwtConfig.getSecret().getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(jwtConfig.getVerifiedCacheSize())
+                .expireAfter(Expiry.creating((ByteBuffer key, AuthenticatedUser user) -> untilExpiry(user)))
+                .build();
     }
 
     public String generateToken(String zonalId, String role) {
@@ -31,14 +54,54 @@ public class JwtUtil {
                 .claim("role", role)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
+    /**
+     * Verify a token and return the identity it carries.
+     * Tokens verified before are served from a cache (keyed by the token's SHA-256) until they expire,
+     * so a client re-sending the same token costs one hash instead of a parse and signature check.
+     *
+     * @throws JwtException if the token is malformed, has a bad signature, is expired or has no valid role
+     */
+    public AuthenticatedUser authenticate(String token) {
+        ByteBuffer key = sha256(token);
+        AuthenticatedUser cached = verifiedTokens.getIfPresent(key);
+        if (cached != null && !cached.isExpired()) {
+            return cached;
+        }
+        AuthenticatedUser user = parseToken(token);
+        verifiedTokens.put(key, user);
+        return user;
+    }
+
+    /**
+     * Parse and verify a token once (signature and expiry) and return the identity it carries.
+     *
+     * @throws JwtException if the token is malformed, has a bad signature, is expired or has no valid role
+     */
+    public AuthenticatedUser parseToken(String token) {
+        Claims claims = getAllClaimsFromToken(token);
+        String role = claims.get("role", String.class);
+        if (claims.getSubject() == null || role == null || claims.getExpiration() == null) {
+            throw new JwtException("Token has no subject, role or expiration");
+        }
+        try {
+            return AuthenticatedUser.builder()
+                    .zonalId(claims.getSubject())
+                    .role(Role.valueOf(role))
+                    .expiresAt(claims.getExpiration().toInstant())
+                    .build();
+        } catch (IllegalArgumentException e) {
+            throw new JwtException("Token has an unknown role: " + role);
+        }
+    }
+
     public String getZonalIdFromToken(String token) {
         return getClaimFromToken(token, Claims::getSubject); // zonalId is stored as subject (String)
     }
-    
+
     // Deprecated: Use getZonalIdFromToken instead
     @Deprecated
     public Long getUserIdFromToken(String token) {
@@ -64,11 +127,7 @@ public class JwtUtil {
     }
 
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     public Boolean isTokenExpired(String token) {
@@ -80,12 +139,24 @@ public class JwtUtil {
         final String tokenZonalId = getZonalIdFromToken(token);
         return (tokenZonalId.equals(zonalId) && !isTokenExpired(token));
     }
-    
+
     // Deprecated: Use validateToken(String, String) instead
     @Deprecated
     public Boolean validateToken(String token, Long userId) {
         final String tokenZonalId = getZonalIdFromToken(token);
         return (tokenZonalId.equals(String.valueOf(userId)) && !isTokenExpired(token));
     }
-}
 
+    private static Duration untilExpiry(AuthenticatedUser user) {
+        Duration remaining = Duration.between(Instant.now(), user.getExpiresAt());
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    private static ByteBuffer sha256(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.rssb.application.util;
+
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Table-layout PDF writer (landscape A4, Helvetica).
+ * Column widths are laid out once from the data widths and the header, the header is repeated on every page,
+ * and cell text that does not fit is truncated with "...".
+ * Fonts are created once per document and each page has a single content stream, closed as soon as the page is full;
+ * page contents are spooled to a temp file (not the heap) and the document is written to the output stream on close().
+ */
+public class PdfTableWriter implements ReportWriter {
+
+    private static final PDRectangle PAGE_SIZE = new PDRectangle(PDRectangle.A4.getHeight(), PDRectangle.A4.getWidth());
+    private static final float MARGIN = 30;
+    private static final float CELL_PADDING = 3;
+    private static final float MAX_FONT_SIZE = 9;
+    private static final float MIN_FONT_SIZE = 5;
+    private static final float TITLE_FONT_SIZE = 11;
+    private static final float AVERAGE_CHAR_WIDTH = 0.5f; // Helvetica, as a fraction of the font size
+    private static final int DEFAULT_COLUMN_WIDTH = 12; // characters
+    private static final String ELLIPSIS = "...";
+
+    private final OutputStream out;
+    private final PDDocument document;
+    private final PDType1Font font;
+    private final PDType1Font boldFont;
+    private final int[] dataWidths;
+
+    private PDPageContentStream content;
+    private float y;
+    private Object[] header;
+    private float fontSize;
+    private float rowHeight;
+    private float[] columnWidths;
+
+    /**
+     * @param out Output stream the document is written to on close
+     * @param heading Heading drawn at the top of the first page (null for none)
+     * @param dataWidths Expected data width (in characters) of each column; columns without an entry use a default
+     */
+    public PdfTableWriter(OutputStream out, String heading, int[] dataWidths) throws IOException {
+        this.out = out;
+        this.dataWidths = dataWidths;
+        this.document = new PDDocument(IOUtils.createTempFileOnlyStreamCache());
+        this.font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+        this.boldFont = new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD);
+        if (heading != null) {
+            document.getDocumentInformation().setTitle(heading);
+            writeTitle(heading);
+            writeEmptyLine();
+        }
+    }
+
+    @Override
+    public void writeTitle(String title) throws IOException {
+        float lineHeight = TITLE_FONT_SIZE * 1.4f;
+        ensureSpace(lineHeight);
+        y -= lineHeight;
+        content.beginText();
+        content.setFont(boldFont, TITLE_FONT_SIZE);
+        content.newLineAtOffset(MARGIN, y + TITLE_FONT_SIZE * 0.3f);
+        content.showText(fit(title, boldFont, TITLE_FONT_SIZE, PAGE_SIZE.getWidth() - 2 * MARGIN));
+        content.endText();
+    }
+
+    @Override
+    public void writeHeader(Object... headers) throws IOException {
+        this.header = headers;
+        layoutColumns(headers.length);
+        ensureSpace(rowHeight * 2);
+        drawHeader();
+    }
+
+    @Override
+    public void writeRow(Object... values) throws IOException {
+        if (columnWidths == null) {
+            layoutColumns(values.length);
+        }
+        if (ensureSpace(rowHeight) && header != null) {
+            drawHeader();
+        }
+        drawRow(values, font);
+    }
+
+    @Override
+    public void writeEmptyLine() throws IOException {
+        ensureSpace(MAX_FONT_SIZE);
+        y -= MAX_FONT_SIZE;
+    }
+
+    /**
+     * Write the document to the output stream, delete the temp files and close the stream.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (content != null) {
+                content.close();
+            }
+            document.save(out);
+        } finally {
+            document.close();
+            out.close();
+        }
+    }
+
+    /**
+     * Share the page width between the columns in proportion to their data/header widths,
+     * shrinking the font when there are too many columns.
+     */
+    private void layoutColumns(int columnCount) {
+        float[] weights = new float[columnCount];
+        float totalWeight = 0;
+        for (int i = 0; i < columnCount; i++) {
+            int dataWidth = i < dataWidths.length ? dataWidths[i] : DEFAULT_COLUMN_WIDTH;
+            int headerWidth = header != null && i < header.length ? String.valueOf(header[i]).length() : 0;
+            weights[i] = Math.max(dataWidth, Math.min(headerWidth, DEFAULT_COLUMN_WIDTH)) + 1;
+            totalWeight += weights[i];
+        }
+
+        float usableWidth = PAGE_SIZE.getWidth() - 2 * MARGIN;
+        fontSize = Math.max(MIN_FONT_SIZE, Math.min(MAX_FONT_SIZE, usableWidth / (totalWeight * AVERAGE_CHAR_WIDTH)));
+        rowHeight = fontSize * 1.5f;
+        columnWidths = new float[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            columnWidths[i] = usableWidth * weights[i] / totalWeight;
+        }
+    }
+
+    private void drawHeader() throws IOException {
+        drawRow(header, boldFont);
+        content.setLineWidth(0.5f);
+        content.moveTo(MARGIN, y);
+        content.lineTo(PAGE_SIZE.getWidth() - MARGIN, y);
+        content.stroke();
+    }
+
+    private void drawRow(Object[] values, PDType1Font rowFont) throws IOException {
+        y -= rowHeight;
+        content.beginText();
+        content.setFont(rowFont, fontSize);
+        content.newLineAtOffset(MARGIN, y + fontSize * 0.4f);
+        for (int i = 0; i < columnWidths.length; i++) {
+            if (i > 0) {
+                content.newLineAtOffset(columnWidths[i - 1], 0);
+            }
+            if (i < values.length && values[i] != null) {
+                content.showText(fit(values[i].toString(), rowFont, fontSize, columnWidths[i] - CELL_PADDING));
+            }
+        }
+        content.endText();
+    }
+
+    /**
+     * Start a new page if the given height does not fit on the current one.
+     *
+     * @return true if a new page was started
+     */
+    private boolean ensureSpace(float height) throws IOException {
+        if (content != null && y - height >= MARGIN) {
+            return false;
+        }
+        if (content != null) {
+            content.close();
+        }
+        PDPage page = new PDPage(PAGE_SIZE);
+        document.addPage(page);
+        content = new PDPageContentStream(document, page);
+        y = PAGE_SIZE.getHeight() - MARGIN;
+        return true;
+    }
+
+    /**
+     * Make the text printable with the font and truncate it to the given width.
+     */
+    private String fit(String text, PDType1Font textFont, float size, float maxWidth) throws IOException {
+        text = printable(text, textFont);
+        if (textWidth(text, textFont, size) <= maxWidth) {
+            return text;
+        }
+        float ellipsisWidth = textWidth(ELLIPSIS, textFont, size);
+        int end = text.length();
+        while (end > 0 && textWidth(text.substring(0, end), textFont, size) + ellipsisWidth > maxWidth) {
+            end--;
+        }
+        return end == 0 ? "" : text.substring(0, end) + ELLIPSIS;
+    }
+
+    private float textWidth(String text, PDType1Font textFont, float size) throws IOException {
+        return textFont.getStringWidth(text) / 1000 * size;
+    }
+
+    /**
+     * Standard 14 fonts only cover WinAnsi; replace control characters and anything else the font cannot encode.
+     */
+    private String printable(String text, PDType1Font textFont) throws IOException {
+        text = text.replace('\n', ' ').replace('\r', ' ').replace('\t', ' ');
+        try {
+            textFont.encode(text);
+            return text;
+        } catch (IllegalArgumentException e) {
+            StringBuilder sb = new StringBuilder(text.length());
+            for (int i = 0; i < text.length(); i++) {
+                String ch = String.valueOf(text.charAt(i));
+                try {
+                    textFont.encode(ch);
+                    sb.append(ch);
+                } catch (IllegalArgumentException unsupported) {
+                    sb.append('?');
+                }
+            }
+            return sb.toString();
+        }
+    }
+}
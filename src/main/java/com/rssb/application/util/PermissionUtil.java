@@ -1,5 +1,6 @@
 package com.rssb.application.util;
 
+import com.rssb.application.dto.AuthenticatedUser;
 import com.rssb.application.entity.Role;
 import com.rssb.application.entity.Sewadar;
 import com.rssb.application.entity.Program;
@@ -71,6 +72,27 @@ public class PermissionUtil {
         return false;
     }
 
+    /**
+     * Check if the authenticated user (role from the JWT) has incharge permissions.
+     *
+     * @param user The authenticated user
+     * @return true if user has permission (ADMIN or INCHARGE)
+     */
+    public static boolean hasInchargePermission(AuthenticatedUser user) {
+        return user != null && isAdminOrIncharge(user.getRole());
+    }
+
+    /**
+     * Check if the authenticated user (zonal ID and role from the JWT) can manage a program.
+     *
+     * @param user The authenticated user
+     * @param programCreatorZonalId The zonal ID of the program creator
+     * @return true if user can manage the program
+     */
+    public static boolean canManageProgram(AuthenticatedUser user, String programCreatorZonalId) {
+        return user != null && canManageProgram(user.getZonalId(), user.getRole(), programCreatorZonalId);
+    }
+
     /**
      * Check if a user can manage a program by comparing zonal IDs.
      * ADMIN can manage any program.
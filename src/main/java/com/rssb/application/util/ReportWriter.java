@@ -0,0 +1,32 @@
+package com.rssb.application.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Row-by-row writer for tabular exports (CSV, XLSX, ...).
+ * Implementations write to an output stream as rows arrive and keep only a bounded amount in memory;
+ * close() finishes the document and closes the stream.
+ */
+public interface ReportWriter extends Closeable {
+
+    /**
+     * Write a title line above the table (e.g. "Program: X (1)").
+     */
+    void writeTitle(String title) throws IOException;
+
+    /**
+     * Write the table header row.
+     */
+    void writeHeader(Object... headers) throws IOException;
+
+    /**
+     * Write one data row. Null values are written as empty cells.
+     */
+    void writeRow(Object... values) throws IOException;
+
+    /**
+     * Write an empty line (e.g. between the titles and the table).
+     */
+    void writeEmptyLine() throws IOException;
+}
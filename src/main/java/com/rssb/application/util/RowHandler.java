@@ -0,0 +1,16 @@
+package com.rssb.application.util;
+
+import java.util.List;
+
+/**
+ * Receives the rows of a spreadsheet one at a time (see CsvReader, XlsxReader).
+ */
+@FunctionalInterface
+public interface RowHandler {
+
+    /**
+     * @param rowNumber 1-based row number as shown by spreadsheet programs (the header is row 1)
+     * @param cells Cell values in column order; empty cells are empty strings
+     */
+    void row(int rowNumber, List<String> cells);
+}
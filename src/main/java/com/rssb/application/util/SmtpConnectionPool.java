@@ -0,0 +1,163 @@
+package com.rssb.application.util;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of connected, authenticated SMTP transports, so messages do not each pay for a TCP connect, STARTTLS and AUTH.
+ *
+ * At most maxConnections are in use at once. A connection is reused for up to maxMessagesPerConnection messages
+ * (many servers limit this) and closed when it has been idle longer than idleTimeoutMs, before the server drops it.
+ * A reused connection that fails is discarded and the message retried once on a new connection.
+ */
+public class SmtpConnectionPool implements AutoCloseable {
+
+    private final Session session;
+    private final String host;
+    private final int port;
+    private final String username;
+    private final String password;
+    private final int maxMessagesPerConnection;
+    private final long idleTimeoutMs;
+    private final long borrowTimeoutMs;
+    private final Semaphore permits;
+    // Most recently used first, so a light load keeps reusing the same connection
+    private final BlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final AtomicLong openedConnections = new AtomicLong();
+
+    public SmtpConnectionPool(Session session, String host, int port, String username, String password,
+                              int maxConnections, int maxMessagesPerConnection, long idleTimeoutMs, long borrowTimeoutMs) {
+        this.session = session;
+        this.host = host;
+        this.port = port;
+        this.username = username;
+        this.password = password;
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.borrowTimeoutMs = borrowTimeoutMs;
+        this.permits = new Semaphore(maxConnections, true);
+    }
+
+    /**
+     * Send a message on a pooled connection, waiting up to the borrow timeout for one to be free.
+     *
+     * @throws SendFailedException if the server rejected the recipients (the connection stays in the pool)
+     * @throws MessagingException if the message could not be sent
+     */
+    public void send(MimeMessage message) throws MessagingException {
+        acquire();
+        try {
+            PooledConnection connection = borrow();
+            try {
+                sendOn(connection, message);
+            } catch (SendFailedException e) {
+                throw e;
+            } catch (MessagingException e) {
+                if (connection.sent == 0 && !connection.reused) {
+                    throw e;
+                }
+                // The server may have closed a connection we kept; one retry on a fresh connection
+                sendOn(open(), message);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Connections opened since the pool was created (compare with messages sent to see the reuse).
+     */
+    public long getOpenedConnections() {
+        return openedConnections.get();
+    }
+
+    @Override
+    public void close() {
+        PooledConnection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            closeQuietly(connection);
+        }
+    }
+
+    private void sendOn(PooledConnection connection, MimeMessage message) throws MessagingException {
+        try {
+            connection.transport.sendMessage(message, message.getAllRecipients());
+        } catch (SendFailedException e) {
+            release(connection);
+            throw e;
+        } catch (MessagingException | RuntimeException e) {
+            closeQuietly(connection);
+            throw e;
+        }
+        connection.sent++;
+        release(connection);
+    }
+
+    private PooledConnection borrow() throws MessagingException {
+        PooledConnection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            // No isConnected() check: it costs a NOOP round trip; a dropped connection is handled by the retry
+            if (System.currentTimeMillis() - connection.lastUsed < idleTimeoutMs) {
+                connection.reused = true;
+                return connection;
+            }
+            closeQuietly(connection);
+        }
+        return open();
+    }
+
+    private PooledConnection open() throws MessagingException {
+        Transport transport = session.getTransport();
+        transport.connect(host, port, username, password);
+        openedConnections.incrementAndGet();
+        return new PooledConnection(transport);
+    }
+
+    private void release(PooledConnection connection) {
+        if (connection.sent >= maxMessagesPerConnection) {
+            closeQuietly(connection);
+            return;
+        }
+        connection.lastUsed = System.currentTimeMillis();
+        idle.offerFirst(connection);
+    }
+
+    private void acquire() throws MessagingException {
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new MessagingException("No SMTP connection available within " + borrowTimeoutMs + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrupted while waiting for an SMTP connection", e);
+        }
+    }
+
+    private static void closeQuietly(PooledConnection connection) {
+        try {
+            connection.transport.close();
+        } catch (MessagingException e) {
+            // Already closed or broken
+        }
+    }
+
+    private static class PooledConnection {
+        final Transport transport;
+        int sent;
+        boolean reused;
+        long lastUsed;
+
+        PooledConnection(Transport transport) {
+            this.transport = transport;
+        }
+    }
+}
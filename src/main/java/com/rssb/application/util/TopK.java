@@ -0,0 +1,48 @@
+package com.rssb.application.util;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * Utility class to order row indexes, keeping only the first K when a limit is given.
+ * With a limit, a bounded heap of K indexes is used (O(n log K) time, O(K) memory) instead of sorting all n rows.
+ */
+public class TopK {
+
+    /**
+     * @param count Number of rows (indexes 0..count-1)
+     * @param order Order of the rows (must be total, e.g. end with a unique tie-breaker)
+     * @param limit Maximum number of indexes to return, or null for all
+     * @return The first min(count, limit) row indexes in the given order
+     */
+    public static int[] select(int count, Comparator<Integer> order, Integer limit) {
+        if (limit == null || limit >= count) {
+            Integer[] all = new Integer[count];
+            for (int i = 0; i < count; i++) {
+                all[i] = i;
+            }
+            Arrays.sort(all, order);
+            return Arrays.stream(all).mapToInt(Integer::intValue).toArray();
+        }
+        if (limit <= 0) {
+            return new int[0];
+        }
+
+        // Heap head is the worst of the current top K; replace it when a better row comes along
+        PriorityQueue<Integer> heap = new PriorityQueue<>(limit, order.reversed());
+        for (int i = 0; i < count; i++) {
+            if (heap.size() < limit) {
+                heap.add(i);
+            } else if (order.compare(i, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(i);
+            }
+        }
+        int[] top = new int[heap.size()];
+        for (int i = top.length - 1; i >= 0; i--) {
+            top[i] = heap.poll();
+        }
+        return top;
+    }
+}
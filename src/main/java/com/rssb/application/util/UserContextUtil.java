@@ -1,5 +1,6 @@
 package com.rssb.application.util;
 
+import com.rssb.application.dto.AuthenticatedUser;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
@@ -15,11 +16,28 @@ public class UserContextUtil {
      */
     public static String getCurrentUserId() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.getZonalId();
+        }
         if (auth != null && auth.getPrincipal() instanceof String) {
             return (String) auth.getPrincipal();
         }
         return null;
     }
+
+    /**
+     * Get the current user (zonal ID and role from the JWT) from SecurityContext.
+     *
+     * @return Authenticated user
+     * @throws IllegalStateException if the request is not authenticated with a JWT
+     */
+    public static AuthenticatedUser getCurrentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof AuthenticatedUser user) {
+            return user;
+        }
+        throw new IllegalStateException("User not authenticated");
+    }
     
     /**
      * Get the current user's role from SecurityContext.
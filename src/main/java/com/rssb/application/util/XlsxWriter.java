@@ -0,0 +1,163 @@
+package com.rssb.application.util;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Streaming XLSX writer based on SXSSF.
+ * Only the last WINDOW_SIZE rows are kept in memory; older rows are flushed to a compressed temp file
+ * and the workbook is written to the output stream on close().
+ * Column widths are set once from the header and the given data widths (no autoSizeColumn),
+ * and all cells share a handful of styles created up front.
+ */
+public class XlsxWriter implements ReportWriter {
+
+    private static final int WINDOW_SIZE = 100;
+    private static final int DEFAULT_COLUMN_WIDTH = 12; // characters
+    private static final int MAX_COLUMN_WIDTH = 60; // characters
+    private static final int MAX_ROWS = SpreadsheetVersion.EXCEL2007.getMaxRows();
+
+    private final OutputStream out;
+    private final SXSSFWorkbook workbook;
+    private final String sheetName;
+    private final int[] dataWidths;
+
+    private final CellStyle titleStyle;
+    private final CellStyle headerStyle;
+    private final CellStyle dateStyle;
+    private final CellStyle dateTimeStyle;
+
+    private SXSSFSheet sheet;
+    private int sheetCount = 0;
+    private int rowNum = 0;
+    private Object[] header;
+
+    /**
+     * @param out Output stream the workbook is written to on close
+     * @param sheetName Name of the sheet
+     * @param dataWidths Expected data width (in characters) of each column; columns without an entry use a default
+     */
+    public XlsxWriter(OutputStream out, String sheetName, int[] dataWidths) {
+        this.out = out;
+        this.sheetName = sheetName;
+        this.dataWidths = dataWidths;
+        this.workbook = new SXSSFWorkbook(WINDOW_SIZE);
+        this.workbook.setCompressTempFiles(true);
+
+        Font boldFont = workbook.createFont();
+        boldFont.setBold(true);
+
+        titleStyle = workbook.createCellStyle();
+        titleStyle.setFont(boldFont);
+
+        headerStyle = workbook.createCellStyle();
+        headerStyle.setFont(boldFont);
+        headerStyle.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
+        headerStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+
+        CreationHelper creationHelper = workbook.getCreationHelper();
+        dateStyle = workbook.createCellStyle();
+        dateStyle.setDataFormat(creationHelper.createDataFormat().getFormat("yyyy-mm-dd"));
+        dateTimeStyle = workbook.createCellStyle();
+        dateTimeStyle.setDataFormat(creationHelper.createDataFormat().getFormat("yyyy-mm-dd hh:mm"));
+
+        newSheet();
+    }
+
+    @Override
+    public void writeTitle(String title) {
+        Cell cell = nextRow().createCell(0);
+        cell.setCellValue(title);
+        cell.setCellStyle(titleStyle);
+    }
+
+    @Override
+    public void writeHeader(Object... headers) {
+        this.header = headers;
+        for (int i = 0; i < headers.length; i++) {
+            int dataWidth = i < dataWidths.length ? dataWidths[i] : DEFAULT_COLUMN_WIDTH;
+            int width = Math.min(MAX_COLUMN_WIDTH, Math.max(dataWidth, String.valueOf(headers[i]).length()) + 2);
+            sheet.setColumnWidth(i, width * 256);
+        }
+        writeHeaderRow();
+    }
+
+    @Override
+    public void writeRow(Object... values) {
+        if (rowNum >= MAX_ROWS) {
+            // Sheet is full: continue on a new sheet with the same header
+            newSheet();
+            if (header != null) {
+                writeHeader(header);
+            }
+        }
+        Row row = nextRow();
+        for (int i = 0; i < values.length; i++) {
+            setCellValue(row.createCell(i), values[i]);
+        }
+    }
+
+    @Override
+    public void writeEmptyLine() {
+        rowNum++;
+    }
+
+    /**
+     * Write the workbook to the output stream, delete the temp files and close the stream.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            workbook.write(out);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+            out.close();
+        }
+    }
+
+    private void setCellValue(Cell cell, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof Number number) {
+            cell.setCellValue(number.doubleValue());
+        } else if (value instanceof LocalDate date) {
+            cell.setCellValue(date);
+            cell.setCellStyle(dateStyle);
+        } else if (value instanceof LocalDateTime dateTime) {
+            cell.setCellValue(dateTime);
+            cell.setCellStyle(dateTimeStyle);
+        } else if (value instanceof Boolean bool) {
+            cell.setCellValue(bool);
+        } else {
+            cell.setCellValue(value.toString());
+        }
+    }
+
+    private void writeHeaderRow() {
+        Row row = nextRow();
+        for (int i = 0; i < header.length; i++) {
+            Cell cell = row.createCell(i);
+            cell.setCellValue(String.valueOf(header[i]));
+            cell.setCellStyle(headerStyle);
+        }
+    }
+
+    private Row nextRow() {
+        return sheet.createRow(rowNum++);
+    }
+
+    private void newSheet() {
+        sheetCount++;
+        sheet = workbook.createSheet(sheetCount == 1 ? sheetName : sheetName + " (" + sheetCount + ")");
+        rowNum = 0;
+    }
+}
@@ -3,7 +3,8 @@ package com.rssb.application;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// Queued notifications are real emails/WhatsApp messages; tests never deliver them
+@SpringBootTest(properties = "app.notifications.outbox.dispatch-enabled=false")
 class ApplicationTests {
 
 	@Test
@@ -0,0 +1,183 @@
+package com.rssb.application.benchmark;
+
+import com.rssb.application.Application;
+import com.rssb.application.dto.AttendanceRequest;
+import com.rssb.application.dto.AuthenticatedUser;
+import com.rssb.application.entity.Program;
+import com.rssb.application.entity.ProgramApplication;
+import com.rssb.application.entity.ProgramDate;
+import com.rssb.application.entity.Role;
+import com.rssb.application.entity.Sewadar;
+import com.rssb.application.repository.ProgramRepository;
+import com.rssb.application.repository.SewadarRepository;
+import com.rssb.application.service.AttendanceService;
+import com.rssb.application.service.AttendanceStatsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of AttendanceService.markAttendance for a 500-person attendance sheet (500 new rows per operation),
+ * against the database configured in application.properties.
+ *
+ * batchSize=1 turns JDBC batching off; batchSize=50 sends the inserts in batches of 50, and rewriteBatchedInserts
+ * lets the driver turn each batch into one multi-row INSERT. The 500 sewadars (JMH-ATT-*) and the program are created
+ * per trial and deleted afterwards. Each sheet is cleared through AttendanceStatsService, so the attendance counters
+ * stay in step with the attendances table.
+ *
+ * Run with (JMH forks a JVM, so the test classpath is passed explicitly):
+ *   mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ *       "-Dexec.args=-cp %classpath com.rssb.application.benchmark.AttendanceSheetBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AttendanceSheetBenchmark {
+
+	private static final int SHEET_SIZE = 500;
+	private static final String ZONAL_ID_PREFIX = "JMH-ATT-";
+
+	@Param({"1", "50"})
+	public int batchSize;
+
+	@Param({"false", "true"})
+	public boolean rewriteBatchedInserts;
+
+	private ConfigurableApplicationContext context;
+	private AttendanceService attendanceService;
+	private AttendanceStatsService attendanceStatsService;
+	private JdbcTemplate jdbcTemplate;
+	private TransactionTemplate transaction;
+	private AttendanceRequest request;
+	private AuthenticatedUser admin;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		// Command-line arguments, so they take precedence over application.properties (which sets both)
+		context = new SpringApplicationBuilder(Application.class)
+				.web(WebApplicationType.NONE)
+				.run(
+						"--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+						"--spring.datasource.hikari.data-source-properties.reWriteBatchedInserts=" + rewriteBatchedInserts,
+						"--app.attendance-stats.rebuild-on-startup=false",
+						// Nothing here sends notifications, and queued ones must not go out from a benchmark run
+						"--app.notifications.outbox.dispatch-enabled=false",
+						"--email.enabled=false",
+						"--logging.level.com.rssb=WARN");
+		attendanceService = context.getBean(AttendanceService.class);
+		attendanceStatsService = context.getBean(AttendanceStatsService.class);
+		jdbcTemplate = context.getBean(JdbcTemplate.class);
+		transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+		List<String> zonalIds = transaction.execute(status -> createSewadars());
+		LocalDate date = LocalDate.now().minusDays(1);
+		Long programId = transaction.execute(status -> createProgram(zonalIds, date));
+
+		request = AttendanceRequest.builder().programId(programId).programDate(date).sewadarIds(zonalIds).build();
+		admin = AuthenticatedUser.builder()
+				.zonalId(ZONAL_ID_PREFIX + "INCHARGE").role(Role.ADMIN).expiresAt(Instant.now().plusSeconds(3600)).build();
+	}
+
+	@Setup(Level.Invocation)
+	public void clearSheet() {
+		transaction.executeWithoutResult(status -> {
+			// Every sewadar has one day on the sheet, so all of them leave the program
+			Map<String, Long> removedDays = new HashMap<>();
+			for (String zonalId : jdbcTemplate.queryForList(
+					"DELETE FROM attendances WHERE program_id = ? RETURNING sewadar_id", String.class, request.getProgramId())) {
+				removedDays.merge(zonalId, 1L, Long::sum);
+			}
+			Program program = context.getBean(ProgramRepository.class).findById(request.getProgramId()).orElseThrow();
+			attendanceStatsService.recordAttendanceRemoved(program, removedDays, removedDays.keySet());
+		});
+	}
+
+	@Benchmark
+	public Object markSheet() {
+		return attendanceService.markAttendance(request, admin);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		clearSheet();
+		transaction.executeWithoutResult(status -> {
+			context.getBean(ProgramRepository.class).deleteById(request.getProgramId());
+			SewadarRepository sewadarRepository = context.getBean(SewadarRepository.class);
+			List<Sewadar> sewadars = new ArrayList<>();
+			for (String zonalId : request.getSewadarIds()) {
+				sewadarRepository.findByZonalId(zonalId).ifPresent(sewadars::add);
+			}
+			sewadarRepository.findByZonalId(ZONAL_ID_PREFIX + "INCHARGE").ifPresent(sewadars::add);
+			sewadarRepository.deleteAll(sewadars);
+			sewadars.forEach(sewadar -> attendanceStatsService.recordSewadarDeleted(sewadar.getZonalId()));
+		});
+		context.close();
+	}
+
+	private List<String> createSewadars() {
+		SewadarRepository sewadarRepository = context.getBean(SewadarRepository.class);
+		List<String> zonalIds = new ArrayList<>();
+		List<Sewadar> missing = new ArrayList<>();
+		for (int i = 0; i <= SHEET_SIZE; i++) {
+			String zonalId = i == SHEET_SIZE ? ZONAL_ID_PREFIX + "INCHARGE" : String.format("%s%03d", ZONAL_ID_PREFIX, i);
+			if (i < SHEET_SIZE) {
+				zonalIds.add(zonalId);
+			}
+			if (sewadarRepository.findByZonalId(zonalId).isEmpty()) {
+				missing.add(Sewadar.builder()
+						.zonalId(zonalId).firstName("Bench").lastName(String.valueOf(i)).password("x")
+						.role(i == SHEET_SIZE ? Role.INCHARGE : Role.SEWADAR).build());
+			}
+		}
+		sewadarRepository.saveAll(missing);
+		return zonalIds;
+	}
+
+	private Long createProgram(List<String> zonalIds, LocalDate date) {
+		SewadarRepository sewadarRepository = context.getBean(SewadarRepository.class);
+		Program program = Program.builder()
+				.title("JMH attendance sheet").location("BEAS").status("active")
+				.createdBy(sewadarRepository.findByZonalId(ZONAL_ID_PREFIX + "INCHARGE").orElseThrow())
+				.build();
+		program.getProgramDates().add(ProgramDate.builder().program(program).programDate(date).status("SCHEDULED").build());
+		for (String zonalId : zonalIds) {
+			program.getApplications().add(ProgramApplication.builder()
+					.program(program).sewadar(sewadarRepository.findByZonalId(zonalId).orElseThrow()).status("APPROVED").build());
+		}
+		return context.getBean(ProgramRepository.class).save(program).getId();
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(AttendanceSheetBenchmark.class.getSimpleName()).build()).run();
+	}
+}
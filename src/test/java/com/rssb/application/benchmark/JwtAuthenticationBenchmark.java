@@ -0,0 +1,89 @@
+package com.rssb.application.benchmark;
+
+import com.rssb.application.config.JwtConfig;
+import com.rssb.application.dto.AuthenticatedUser;
+import com.rssb.application.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of authenticating a bearer token in JwtAuthenticationFilter.
+ *
+ * legacyFilter repeats what the filter used to do: four parses and signature checks, each with a freshly derived key.
+ * parseOnce is a single verification (cache miss); authenticateCached is a token the cache has seen before.
+ *
+ * Run with (JMH forks a JVM, so the test classpath is passed explicitly):
+ *   mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ *       "-Dexec.args=-cp %classpath com.rssb.application.benchmark.JwtAuthenticationBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationBenchmark {
+
+	private JwtConfig jwtConfig;
+	private JwtUtil jwtUtil;
+	private String token;
+
+	@Setup
+	public void setUp() {
+		jwtConfig = new JwtConfig();
+		jwtUtil = new JwtUtil(jwtConfig);
+		token = jwtUtil.generateToken("INC001", "INCHARGE");
+	}
+
+	@Benchmark
+	public void legacyFilter(Blackhole blackhole) {
+		String zonalId = legacyClaims().getSubject();                       // getZonalIdFromToken
+		String role = legacyClaims().get("role", String.class);             // getRoleFromToken
+		boolean valid = legacyClaims().getSubject().equals(zonalId)         // validateToken
+				&& !legacyClaims().getExpiration().before(new Date());      // isTokenExpired
+		blackhole.consume(zonalId);
+		blackhole.consume(role);
+		blackhole.consume(valid);
+	}
+
+	@Benchmark
+	public AuthenticatedUser parseOnce() {
+		return jwtUtil.parseToken(token);
+	}
+
+	@Benchmark
+	public AuthenticatedUser authenticateCached() {
+		return jwtUtil.authenticate(token);
+	}
+
+	private Claims legacyClaims() {
+		return Jwts.parser()
+				.verifyWith(Keys.hmacShaKeyFor(jwtConfig.getSecret().getBytes(StandardCharsets.UTF_8)))
+				.build()
+				.parseSignedClaims(token)
+				.getPayload();
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(JwtAuthenticationBenchmark.class.getSimpleName()).build()).run();
+	}
+}
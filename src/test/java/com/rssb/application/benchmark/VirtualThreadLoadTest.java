@@ -0,0 +1,245 @@
+package com.rssb.application.benchmark;
+
+import com.rssb.application.Application;
+import com.rssb.application.entity.Program;
+import com.rssb.application.entity.ProgramApplication;
+import com.rssb.application.entity.ProgramDate;
+import com.rssb.application.entity.Role;
+import com.rssb.application.entity.Sewadar;
+import com.rssb.application.repository.ProgramRepository;
+import com.rssb.application.repository.SewadarRepository;
+import com.rssb.application.util.JwtUtil;
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load test comparing the platform-thread and virtual-thread modes (spring.threads.virtual.enabled) over HTTP,
+ * against the database configured in application.properties.
+ *
+ * Two scenarios per mode and concurrency level, each run for a fixed time by that many client threads:
+ * - read:   GET /api/workflow/program/{id} (database only)
+ * - notify: POST /api/workflow/program/{id}/notify-missing-forms, which queues a WhatsApp Cloud API message for each
+ *           of the 20 approved sewadars without a form; the outbox dispatcher sends them in the background to a local
+ *           stub of the API that answers after 100 ms.
+ * Reported: successful requests/s, their p50/p99 latency, errors (non-200 or timeout) and the peak number of JVM
+ * (platform) threads, client threads included.
+ * The sewadars (LOAD-VT-*) and the program are created on the first run and reused.
+ *
+ * Virtual threads need a Java 21+ runtime, e.g.:
+ *   mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=/path/to/jdk-21/bin/java
+ *       "-Dexec.args=-cp %classpath com.rssb.application.benchmark.VirtualThreadLoadTest [platform|virtual|both] [50,400] [15]"
+ * (arguments: modes, comma-separated concurrency levels, seconds per run).
+ */
+public class VirtualThreadLoadTest {
+
+	private static final String ZONAL_ID_PREFIX = "LOAD-VT-";
+	private static final String PROGRAM_TITLE = "Virtual thread load test";
+	private static final int RECIPIENTS = 20;
+	private static final int DOWNSTREAM_LATENCY_MS = 100;
+	private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+	public static void main(String[] args) throws Exception {
+		String modes = args.length > 0 ? args[0] : "both";
+		int[] concurrencyLevels = Arrays.stream((args.length > 1 ? args[1] : "50,400").split(","))
+				.mapToInt(Integer::parseInt).toArray();
+		int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 15;
+		// Devtools (on the test classpath) would restart the application in a new thread and re-run main()
+		System.setProperty("spring.devtools.restart.enabled", "false");
+
+		HttpServer whatsAppStub = startWhatsAppStub();
+		List<String> results = new ArrayList<>();
+		try {
+			for (String mode : modes.equals("both") ? List.of("platform", "virtual") : List.of(modes)) {
+				runMode(mode, whatsAppStub.getAddress().getPort(), concurrencyLevels, seconds, results);
+			}
+		} finally {
+			whatsAppStub.stop(0);
+		}
+
+		System.out.printf("%n%-9s %-7s %6s %10s %9s %9s %7s %12s%n",
+				"mode", "scenario", "conc", "req/s", "p50 ms", "p99 ms", "errors", "peak threads");
+		results.forEach(System.out::println);
+		System.exit(0);
+	}
+
+	private static void runMode(String mode, int stubPort, int[] concurrencyLevels, int seconds, List<String> results)
+			throws IOException, InterruptedException {
+		// Command-line arguments, so they take precedence over application.properties
+		ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class).run(
+				"--server.port=0",
+				"--spring.threads.virtual.enabled=" + mode.equals("virtual"),
+				"--whatsapp.enabled=true",
+				"--whatsapp.mode=api",
+				"--whatsapp.api.url=http://localhost:" + stubPort,
+				"--whatsapp.phone.number.id=load-test",
+				"--whatsapp.access.token=load-test",
+				"--email.enabled=false",
+				"--notification.step3.whatsapp.enabled=true",
+				"--notification.step3.email.enabled=false",
+				"--app.attendance-stats.rebuild-on-startup=false",
+				"--app.logging.action-logging-enabled=false",
+				"--app.logging.request-response-logging-enabled=false",
+				"--app.logging.performance-logging-enabled=false",
+				"--logging.level.com.rssb=WARN",
+				"--logging.level.com.rssb.application.config.VirtualThreadsConfig=INFO",
+				"--logging.level.com.rssb.application.service.NotificationFanOutService=INFO");
+		try {
+			int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+			TransactionTemplate tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+			Long programId = tx.execute(status -> findOrCreateProgram(context));
+			String token = context.getBean(JwtUtil.class).generateToken(ZONAL_ID_PREFIX + "INCHARGE", Role.INCHARGE.name());
+
+			String base = "http://localhost:" + port + "/api/workflow/program/" + programId;
+			HttpRequest read = HttpRequest.newBuilder(URI.create(base)).timeout(REQUEST_TIMEOUT)
+					.header("Authorization", "Bearer " + token).GET().build();
+			HttpRequest notify = HttpRequest.newBuilder(URI.create(base + "/notify-missing-forms")).timeout(REQUEST_TIMEOUT)
+					.header("Authorization", "Bearer " + token).POST(HttpRequest.BodyPublishers.noBody()).build();
+			// The first read creates the workflow; do it once before the load
+			HttpClient.newHttpClient().send(read, HttpResponse.BodyHandlers.discarding());
+
+			for (int concurrency : concurrencyLevels) {
+				for (String scenario : List.of("read", "notify")) {
+					String result = run(mode, scenario, scenario.equals("read") ? read : notify, concurrency, seconds);
+					System.out.println(result);
+					results.add(result);
+				}
+			}
+		} finally {
+			context.close();
+		}
+	}
+
+	private static String run(String mode, String scenario, HttpRequest request, int concurrency, int seconds)
+			throws InterruptedException {
+		HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		threads.resetPeakThreadCount();
+
+		long startTime = System.nanoTime();
+		long deadline = startTime + Duration.ofSeconds(seconds).toNanos();
+		List<long[]> latenciesPerClient = new ArrayList<>();
+		AtomicInteger errors = new AtomicInteger();
+		ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+		for (int c = 0; c < concurrency; c++) {
+			long[] latencies = new long[20_000];
+			latenciesPerClient.add(latencies);
+			clients.execute(() -> {
+				int n = 0;
+				while (System.nanoTime() < deadline && n < latencies.length - 1) {
+					long start = System.nanoTime();
+					try {
+						HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+						if (response.statusCode() == 200) {
+							latencies[n++] = System.nanoTime() - start;
+						} else {
+							errors.incrementAndGet();
+						}
+					} catch (IOException e) {
+						errors.incrementAndGet();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						break;
+					}
+				}
+				latencies[latencies.length - 1] = n; // Count in the last slot
+			});
+		}
+		clients.shutdown();
+		clients.awaitTermination(seconds + 120L, TimeUnit.SECONDS);
+		// Requests still in flight at the deadline are waited for, so divide by the actual time
+		double elapsedSeconds = (System.nanoTime() - startTime) / 1e9;
+
+		long[] all = latenciesPerClient.stream()
+				.flatMapToLong(l -> Arrays.stream(l, 0, (int) l[l.length - 1]))
+				.sorted().toArray();
+		double throughput = all.length / elapsedSeconds;
+		return String.format("%-9s %-7s %6d %10.1f %9.1f %9.1f %7d %12d", mode, scenario, concurrency, throughput,
+				percentileMs(all, 0.50), percentileMs(all, 0.99), errors.get(), threads.getPeakThreadCount());
+	}
+
+	private static double percentileMs(long[] sorted, double p) {
+		return sorted.length == 0 ? 0 : sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))] / 1_000_000.0;
+	}
+
+	private static HttpServer startWhatsAppStub() throws IOException {
+		HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 1000);
+		byte[] body = "{\"messages\":[{\"id\":\"load-test\"}]}".getBytes(StandardCharsets.UTF_8);
+		server.createContext("/", exchange -> {
+			try {
+				exchange.getRequestBody().readAllBytes();
+				Thread.sleep(DOWNSTREAM_LATENCY_MS);
+				exchange.getResponseHeaders().add("Content-Type", "application/json");
+				exchange.sendResponseHeaders(200, body.length);
+				try (OutputStream out = exchange.getResponseBody()) {
+					out.write(body);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				exchange.close();
+			}
+		});
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.start();
+		return server;
+	}
+
+	private static Long findOrCreateProgram(ConfigurableApplicationContext context) {
+		List<Long> existing = context.getBean(JdbcTemplate.class)
+				.queryForList("SELECT id FROM programs WHERE title = ?", Long.class, PROGRAM_TITLE);
+		if (!existing.isEmpty()) {
+			return existing.get(0);
+		}
+
+		SewadarRepository sewadarRepository = context.getBean(SewadarRepository.class);
+		List<Sewadar> missing = new ArrayList<>();
+		for (int i = 0; i <= RECIPIENTS; i++) {
+			String zonalId = i == RECIPIENTS ? ZONAL_ID_PREFIX + "INCHARGE" : String.format("%s%03d", ZONAL_ID_PREFIX, i);
+			if (sewadarRepository.findByZonalId(zonalId).isEmpty()) {
+				missing.add(Sewadar.builder()
+						.zonalId(zonalId).firstName("Load").lastName(String.valueOf(i)).password("x")
+						.mobile(String.format("55500%05d", i))
+						.role(i == RECIPIENTS ? Role.INCHARGE : Role.SEWADAR).build());
+			}
+		}
+		sewadarRepository.saveAll(missing);
+
+		Program program = Program.builder()
+				.title(PROGRAM_TITLE).location("BEAS").status("active")
+				.createdBy(sewadarRepository.findByZonalId(ZONAL_ID_PREFIX + "INCHARGE").orElseThrow())
+				.build();
+		program.getProgramDates().add(ProgramDate.builder()
+				.program(program).programDate(LocalDate.now().plusDays(7)).status("SCHEDULED").build());
+		for (int i = 0; i < RECIPIENTS; i++) {
+			program.getApplications().add(ProgramApplication.builder()
+					.program(program)
+					.sewadar(sewadarRepository.findByZonalId(String.format("%s%03d", ZONAL_ID_PREFIX, i)).orElseThrow())
+					.status("APPROVED").build());
+		}
+		return context.getBean(ProgramRepository.class).save(program).getId();
+	}
+}
@@ -0,0 +1,93 @@
+package com.rssb.application.config;
+
+import com.rssb.application.entity.Sewadar;
+import com.rssb.application.repository.SewadarRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * After the initializer has aligned a sequence with a populated table, JPA inserts never reuse an existing ID.
+ * Tables already on their sequence are left alone (no ALTER TABLE, so no exclusive lock); others are migrated.
+ */
+@SpringBootTest(properties = "app.notifications.outbox.dispatch-enabled=false")
+@Transactional
+class IdSequenceInitializerTest {
+
+	@Autowired
+	private IdSequenceInitializer idSequenceInitializer;
+
+	@Autowired
+	private SewadarRepository sewadarRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Test
+	void insertsAfterAlignmentGetFreshIds() {
+		String suffix = String.valueOf(System.nanoTime() % 1_000_000_000L);
+		// A row written past the sequence (e.g. imported with its ID) leaves the sequence behind the table
+		long lastValue = jdbcTemplate.queryForObject("SELECT last_value FROM sewadars_seq", Long.class);
+		long importedId = lastValue + 4 * IdSequenceInitializer.ALLOCATION_SIZE;
+		jdbcTemplate.update("INSERT INTO sewadars (id, zonal_id, first_name, last_name, password, role) " +
+				"VALUES (?, ?, 'Imported', 'Row', 'x', 'SEWADAR')", importedId, "SEQ-" + suffix);
+
+		idSequenceInitializer.alignSequences();
+
+		long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM sewadars", Long.class);
+		assertEquals(importedId, maxId);
+		assertTrue(jdbcTemplate.queryForObject("SELECT last_value FROM sewadars_seq", Long.class)
+				>= maxId + IdSequenceInitializer.ALLOCATION_SIZE);
+
+		// More than one block, so at least one block is fetched from the realigned sequence
+		List<Sewadar> saved = new ArrayList<>();
+		for (int i = 0; i < IdSequenceInitializer.ALLOCATION_SIZE + 10; i++) {
+			saved.add(sewadarRepository.save(Sewadar.builder()
+					.zonalId("SEQ-" + suffix + "-" + i).firstName("Seq").lastName("Test").password("x").build()));
+		}
+		entityManager.flush();
+
+		Set<Long> ids = new HashSet<>();
+		for (Sewadar sewadar : saved) {
+			assertFalse(sewadar.getId() == importedId, "reused the imported ID");
+			assertTrue(ids.add(sewadar.getId()));
+		}
+		assertTrue(saved.stream().anyMatch(sewadar -> sewadar.getId() > importedId));
+	}
+
+	@Test
+	void migratedTablesAreNotAltered() {
+		idSequenceInitializer.alignSequences();
+
+		// Locks taken in this (test) transaction are held until it ends
+		assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pg_locks " +
+				"WHERE pid = pg_backend_pid() AND mode = 'AccessExclusiveLock' AND locktype = 'relation'", Long.class));
+	}
+
+	@Test
+	void tableWithoutSequenceDefaultIsMigrated() {
+		// Rolled back with the test transaction
+		jdbcTemplate.execute("ALTER TABLE sewadar_languages ALTER COLUMN id DROP DEFAULT");
+
+		idSequenceInitializer.alignSequences();
+
+		assertEquals("nextval('sewadar_languages_seq'::regclass)", jdbcTemplate.queryForObject(
+				"SELECT column_default FROM information_schema.columns " +
+				"WHERE table_name = 'sewadar_languages' AND column_name = 'id'", String.class));
+	}
+}
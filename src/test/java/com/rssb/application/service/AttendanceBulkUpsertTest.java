@@ -0,0 +1,190 @@
+package com.rssb.application.service;
+
+import com.rssb.application.dto.AttendanceGridRequest;
+import com.rssb.application.dto.AttendanceRequest;
+import com.rssb.application.dto.AuthenticatedUser;
+import com.rssb.application.dto.BulkAttendanceResponse;
+import com.rssb.application.entity.Attendance;
+import com.rssb.application.entity.Program;
+import com.rssb.application.entity.ProgramApplication;
+import com.rssb.application.entity.ProgramDate;
+import com.rssb.application.entity.Role;
+import com.rssb.application.entity.Sewadar;
+import com.rssb.application.repository.AttendanceRepository;
+import com.rssb.application.repository.ProgramApplicationRepository;
+import com.rssb.application.repository.ProgramDateRepository;
+import com.rssb.application.repository.ProgramRepository;
+import com.rssb.application.repository.SewadarRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The bulk attendance upsert (INSERT ... ON CONFLICT) behind the sheet and grid endpoints reports created and updated
+ * rows from xmax, writes each cell once and keeps the attendance counters in step.
+ */
+@SpringBootTest(properties = "app.notifications.outbox.dispatch-enabled=false")
+@Transactional
+class AttendanceBulkUpsertTest {
+
+	@Autowired
+	private AttendanceService attendanceService;
+
+	@Autowired
+	private AttendanceStatsService attendanceStatsService;
+
+	@Autowired
+	private SewadarRepository sewadarRepository;
+
+	@Autowired
+	private ProgramRepository programRepository;
+
+	@Autowired
+	private ProgramDateRepository programDateRepository;
+
+	@Autowired
+	private ProgramApplicationRepository applicationRepository;
+
+	@Autowired
+	private AttendanceRepository attendanceRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	private final AuthenticatedUser admin = AuthenticatedUser.builder()
+			.zonalId("ADMIN001").role(Role.ADMIN).expiresAt(Instant.now().plusSeconds(3600)).build();
+
+	private String suffix;
+	private Program program;
+	private LocalDate firstDay;
+
+	@BeforeEach
+	void setUp() {
+		suffix = String.valueOf(System.nanoTime() % 1_000_000_000L);
+		Sewadar creator = sewadar("C");
+		program = programRepository.save(Program.builder()
+				.title("Bulk " + suffix).location("BEAS").createdBy(creator).build());
+		firstDay = LocalDate.now().minusDays(2);
+		for (int d = 0; d < 2; d++) {
+			programDateRepository.save(ProgramDate.builder().program(program).programDate(firstDay.plusDays(d)).build());
+		}
+		// A and B are approved, C only applied
+		applicationRepository.save(ProgramApplication.builder().program(program).sewadar(sewadar("A")).status("APPROVED").build());
+		applicationRepository.save(ProgramApplication.builder().program(program).sewadar(sewadar("B")).status("APPROVED").build());
+		applicationRepository.save(ProgramApplication.builder().program(program).sewadar(sewadar("C1")).status("PENDING").build());
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	@Test
+	void upsertReportsCreatedThenUpdatedRows() {
+		String a = zonalId("A");
+		String b = zonalId("B");
+		String pending = zonalId("C1");
+
+		BulkAttendanceResponse first = bulk(List.of(a, b, pending, a), "");
+		assertEquals(2, first.getCreatedCount());
+		assertEquals(0, first.getUpdatedCount());
+		assertEquals(1, first.getRejectedCount());
+		Map<String, BulkAttendanceResponse.RowResult> firstResults = bySewadar(first);
+		assertEquals(3, firstResults.size(), "a duplicate sewadar is reported once");
+		assertEquals("CREATED", firstResults.get(a).getStatus());
+		assertEquals("CREATED", firstResults.get(b).getStatus());
+		assertEquals("NOT_APPROVED", firstResults.get(pending).getStatus());
+		assertNull(firstResults.get(pending).getAttendanceId());
+
+		// Marking the same sheet again updates the existing rows (same IDs) instead of inserting
+		BulkAttendanceResponse second = bulk(List.of(a, b), "Came late");
+		assertEquals(0, second.getCreatedCount());
+		assertEquals(2, second.getUpdatedCount());
+		Map<String, BulkAttendanceResponse.RowResult> secondResults = bySewadar(second);
+		assertEquals("UPDATED", secondResults.get(a).getStatus());
+		assertEquals(firstResults.get(a).getAttendanceId(), secondResults.get(a).getAttendanceId());
+		assertEquals(firstResults.get(b).getAttendanceId(), secondResults.get(b).getAttendanceId());
+
+		// Blank notes keep the ones already written
+		bulk(List.of(a), " ");
+		entityManager.clear();
+		List<Attendance> rows = attendanceRepository.findByProgramId(program.getId());
+		assertEquals(2, rows.size());
+		rows.forEach(row -> assertEquals("Came late", row.getNotes()));
+
+		// Only the inserts were counted
+		assertEquals(1, attendanceStatsService.getStatsForSewadar(a).getTotalDays());
+		assertEquals(1, attendanceStatsService.getStatsForSewadar(a).getTotalPrograms());
+	}
+
+	@Test
+	void gridMarksEveryDateOfEveryRow() {
+		String a = zonalId("A");
+		String b = zonalId("B");
+		LocalDate secondDay = firstDay.plusDays(1);
+		bulk(List.of(a), "");
+
+		// A's first day exists already; B is listed twice, with an overlapping date
+		BulkAttendanceResponse response = attendanceService.markAttendanceGrid(AttendanceGridRequest.builder()
+				.programId(program.getId())
+				.sewadars(List.of(
+						new AttendanceGridRequest.SewadarDates(a, List.of(firstDay, secondDay)),
+						new AttendanceGridRequest.SewadarDates(b, List.of(firstDay)),
+						new AttendanceGridRequest.SewadarDates(b, List.of(firstDay, secondDay)),
+						new AttendanceGridRequest.SewadarDates(zonalId("C1"), List.of(secondDay))))
+				.build(), admin);
+		entityManager.flush();
+		entityManager.clear();
+
+		assertEquals(3, response.getCreatedCount());
+		assertEquals(1, response.getUpdatedCount());
+		assertEquals(1, response.getRejectedCount());
+		assertEquals(4, attendanceRepository.findByProgramId(program.getId()).size());
+		assertEquals(2, attendanceStatsService.getStatsForSewadar(a).getTotalDays());
+		assertEquals(2, attendanceStatsService.getStatsForSewadar(b).getTotalDays());
+		assertEquals(1, attendanceStatsService.getStatsForSewadar(b).getTotalPrograms());
+	}
+
+	@Test
+	void gridRejectsDatesOutsideTheProgram() {
+		for (LocalDate date : List.of(firstDay.minusDays(1), LocalDate.now().plusDays(1))) {
+			AttendanceGridRequest request = AttendanceGridRequest.builder()
+					.programId(program.getId())
+					.sewadars(List.of(new AttendanceGridRequest.SewadarDates(zonalId("A"), List.of(firstDay, date))))
+					.build();
+			assertThrows(IllegalArgumentException.class, () -> attendanceService.markAttendanceGrid(request, admin));
+		}
+		assertEquals(0, attendanceRepository.findByProgramId(program.getId()).size());
+	}
+
+	private BulkAttendanceResponse bulk(List<String> zonalIds, String notes) {
+		BulkAttendanceResponse response = attendanceService.markAttendanceBulk(AttendanceRequest.builder()
+				.programId(program.getId()).programDate(firstDay).sewadarIds(zonalIds).notes(notes).build(), admin);
+		entityManager.flush();
+		return response;
+	}
+
+	private static Map<String, BulkAttendanceResponse.RowResult> bySewadar(BulkAttendanceResponse response) {
+		return response.getResults().stream()
+				.collect(Collectors.toMap(BulkAttendanceResponse.RowResult::getSewadarId, row -> row));
+	}
+
+	private Sewadar sewadar(String name) {
+		return sewadarRepository.save(Sewadar.builder()
+				.zonalId(zonalId(name)).firstName("Bulk").lastName(name).password("x").build());
+	}
+
+	private String zonalId(String name) {
+		return "BU-" + suffix + "-" + name;
+	}
+}
@@ -0,0 +1,186 @@
+package com.rssb.application.service;
+
+import com.rssb.application.dto.AttendanceGridRequest;
+import com.rssb.application.dto.AttendanceRequest;
+import com.rssb.application.dto.AttendanceResponse;
+import com.rssb.application.dto.AttendanceStats;
+import com.rssb.application.dto.AuthenticatedUser;
+import com.rssb.application.dto.BulkAttendanceResponse;
+import com.rssb.application.entity.Program;
+import com.rssb.application.entity.ProgramApplication;
+import com.rssb.application.entity.ProgramDate;
+import com.rssb.application.entity.Role;
+import com.rssb.application.entity.Sewadar;
+import com.rssb.application.repository.ProgramApplicationRepository;
+import com.rssb.application.repository.ProgramDateRepository;
+import com.rssb.application.repository.ProgramRepository;
+import com.rssb.application.repository.SewadarRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Concurrent attendance writes for the same sewadar in one program keep the program counter right: the second writer
+ * waits for the first one's counter lock and then sees its rows.
+ *
+ * Not @Transactional: each writer commits in its own transaction, so the test deletes its rows afterwards.
+ */
+@SpringBootTest(properties = "app.notifications.outbox.dispatch-enabled=false")
+class AttendanceCounterConcurrencyTest {
+
+	@Autowired
+	private AttendanceService attendanceService;
+
+	@Autowired
+	private AttendanceStatsService attendanceStatsService;
+
+	@Autowired
+	private SewadarRepository sewadarRepository;
+
+	@Autowired
+	private ProgramRepository programRepository;
+
+	@Autowired
+	private ProgramDateRepository programDateRepository;
+
+	@Autowired
+	private ProgramApplicationRepository applicationRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private final AuthenticatedUser admin = AuthenticatedUser.builder()
+			.zonalId("ADMIN001").role(Role.ADMIN).expiresAt(Instant.now().plusSeconds(3600)).build();
+
+	private String suffix;
+	private Program program;
+	private LocalDate firstDay;
+
+	@BeforeEach
+	void setUp() {
+		suffix = String.valueOf(System.nanoTime() % 1_000_000_000L);
+		Sewadar sewadar = sewadarRepository.save(Sewadar.builder()
+				.zonalId(zonalId()).firstName("Concurrent").lastName("Test").password("x").build());
+		program = programRepository.save(Program.builder()
+				.title("Concurrent " + suffix).location("BEAS").createdBy(sewadar).build());
+		firstDay = LocalDate.now().minusDays(2);
+		for (int d = 0; d < 2; d++) {
+			programDateRepository.save(ProgramDate.builder().program(program).programDate(firstDay.plusDays(d)).build());
+		}
+		applicationRepository.save(ProgramApplication.builder().program(program).sewadar(sewadar).status("APPROVED").build());
+	}
+
+	@AfterEach
+	void tearDown() {
+		Long id = program.getId();
+		jdbcTemplate.update("DELETE FROM attendances WHERE program_id = ?", id);
+		jdbcTemplate.update("DELETE FROM sewadar_attendance_stats WHERE zonal_id = ?", zonalId());
+		jdbcTemplate.update("DELETE FROM program_applications WHERE program_id = ?", id);
+		jdbcTemplate.update("DELETE FROM program_dates WHERE program_id = ?", id);
+		jdbcTemplate.update("DELETE FROM programs WHERE id = ?", id);
+		jdbcTemplate.update("DELETE FROM sewadars WHERE zonal_id = ?", zonalId());
+	}
+
+	@Test
+	void concurrentMarkingOfTwoDatesCountsTheProgramOnce() throws Exception {
+		interleave(() -> mark(firstDay), () -> mark(firstDay.plusDays(1)));
+
+		assertStats(1, 2);
+	}
+
+	@Test
+	void concurrentBulkSheetsForTwoDatesCountTheProgramOnce() throws Exception {
+		interleave(() -> markBulk(firstDay), () -> markBulk(firstDay.plusDays(1)));
+
+		assertStats(1, 2);
+	}
+
+	@Test
+	void concurrentGridsForTwoDatesCountTheProgramOnce() throws Exception {
+		interleave(() -> markGrid(firstDay), () -> markGrid(firstDay.plusDays(1)));
+
+		assertStats(1, 2);
+	}
+
+	@Test
+	void concurrentDeletesOfTheLastTwoDaysUncountTheProgram() throws Exception {
+		Long first = mark(firstDay).get(0).getId();
+		Long second = mark(firstDay.plusDays(1)).get(0).getId();
+		assertStats(1, 2);
+
+		interleave(() -> attendanceService.deleteAttendance(first, admin),
+				() -> attendanceService.deleteAttendance(second, admin));
+
+		assertStats(0, 0);
+	}
+
+	/**
+	 * Run first in a transaction that stays open for a while after it, and second in its own transaction meanwhile.
+	 */
+	private void interleave(Runnable first, Runnable second) throws Exception {
+		CountDownLatch firstDone = new CountDownLatch(1);
+		CompletableFuture<Void> firstWriter = CompletableFuture.runAsync(() ->
+				new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+					first.run();
+					firstDone.countDown();
+					sleep(1000);
+				}));
+		firstDone.await(30, TimeUnit.SECONDS);
+		CompletableFuture<Void> secondWriter = CompletableFuture.runAsync(second);
+		CompletableFuture.allOf(firstWriter, secondWriter).get(60, TimeUnit.SECONDS);
+	}
+
+	private List<AttendanceResponse> mark(LocalDate date) {
+		return attendanceService.markAttendance(AttendanceRequest.builder()
+				.programId(program.getId()).programDate(date).sewadarIds(List.of(zonalId())).build(), admin);
+	}
+
+	private void markBulk(LocalDate date) {
+		BulkAttendanceResponse response = attendanceService.markAttendanceBulk(AttendanceRequest.builder()
+				.programId(program.getId()).programDate(date).sewadarIds(List.of(zonalId())).build(), admin);
+		assertEquals(1, response.getCreatedCount());
+	}
+
+	private void markGrid(LocalDate date) {
+		BulkAttendanceResponse response = attendanceService.markAttendanceGrid(AttendanceGridRequest.builder()
+				.programId(program.getId())
+				.sewadars(List.of(new AttendanceGridRequest.SewadarDates(zonalId(), List.of(date))))
+				.build(), admin);
+		assertEquals(1, response.getCreatedCount());
+	}
+
+	private void assertStats(long programs, long days) {
+		AttendanceStats stats = attendanceStatsService.getStatsForSewadar(zonalId());
+		assertEquals(programs, stats.getTotalPrograms());
+		assertEquals(days, stats.getTotalDays());
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private String zonalId() {
+		return "CC-" + suffix;
+	}
+}
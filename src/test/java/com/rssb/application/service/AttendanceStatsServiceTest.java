@@ -0,0 +1,130 @@
+package com.rssb.application.service;
+
+import com.rssb.application.dto.AttendanceRequest;
+import com.rssb.application.dto.AttendanceResponse;
+import com.rssb.application.dto.AttendanceStats;
+import com.rssb.application.dto.AuthenticatedUser;
+import com.rssb.application.entity.Program;
+import com.rssb.application.entity.ProgramApplication;
+import com.rssb.application.entity.ProgramDate;
+import com.rssb.application.entity.Role;
+import com.rssb.application.entity.Sewadar;
+import com.rssb.application.repository.ProgramApplicationRepository;
+import com.rssb.application.repository.ProgramDateRepository;
+import com.rssb.application.repository.ProgramRepository;
+import com.rssb.application.repository.SewadarAttendanceStatsRepository;
+import com.rssb.application.repository.SewadarRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The sewadar_attendance_stats counters follow attendance writes and deletes in the same transaction.
+ */
+@SpringBootTest(properties = "app.notifications.outbox.dispatch-enabled=false")
+@Transactional
+class AttendanceStatsServiceTest {
+
+	@Autowired
+	private AttendanceService attendanceService;
+
+	@Autowired
+	private AttendanceStatsService attendanceStatsService;
+
+	@Autowired
+	private SewadarService sewadarService;
+
+	@Autowired
+	private SewadarRepository sewadarRepository;
+
+	@Autowired
+	private ProgramRepository programRepository;
+
+	@Autowired
+	private ProgramDateRepository programDateRepository;
+
+	@Autowired
+	private ProgramApplicationRepository applicationRepository;
+
+	@Autowired
+	private SewadarAttendanceStatsRepository statsRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	private final AuthenticatedUser admin = AuthenticatedUser.builder()
+			.zonalId("ADMIN001").role(Role.ADMIN).expiresAt(Instant.now().plusSeconds(3600)).build();
+
+	@Test
+	void countersFollowMarkedAndDeletedAttendance() {
+		String suffix = String.valueOf(System.nanoTime() % 1_000_000_000L);
+		Sewadar sewadar = sewadarRepository.save(Sewadar.builder()
+				.zonalId("ST-" + suffix).firstName("Stats").lastName("Test").mobile("6" + suffix).password("x").build());
+		Program program = programRepository.save(Program.builder()
+				.title("Stats " + suffix).location("BEAS").createdBy(sewadar).build());
+		LocalDate firstDay = LocalDate.now().minusDays(2);
+		for (int d = 0; d < 2; d++) {
+			programDateRepository.save(ProgramDate.builder().program(program).programDate(firstDay.plusDays(d)).build());
+		}
+		applicationRepository.save(ProgramApplication.builder().program(program).sewadar(sewadar).status("APPROVED").build());
+		entityManager.flush();
+		entityManager.clear();
+
+		List<AttendanceResponse> first = mark(program, firstDay, sewadar.getZonalId());
+		mark(program, firstDay.plusDays(1), sewadar.getZonalId());
+		// Marking the same day again must not count it twice
+		mark(program, firstDay, sewadar.getZonalId());
+		assertStats(sewadar.getZonalId(), 1, 2, 1, 2);
+
+		attendanceService.deleteAttendance(first.get(0).getId(), admin);
+		assertStats(sewadar.getZonalId(), 1, 1, 1, 1);
+	}
+
+	@Test
+	void deletingSewadarRemovesItsCounters() {
+		String suffix = String.valueOf(System.nanoTime() % 1_000_000_000L);
+		Sewadar sewadar = sewadarRepository.save(Sewadar.builder()
+				.zonalId("SD-" + suffix).firstName("Stats").lastName("Delete").mobile("5" + suffix).password("x").build());
+		Sewadar creator = sewadarRepository.save(Sewadar.builder()
+				.zonalId("SC-" + suffix).firstName("Stats").lastName("Creator").mobile("4" + suffix).password("x").build());
+		Program program = programRepository.save(Program.builder()
+				.title("Stats " + suffix).location("DELHI").createdBy(creator).build());
+		entityManager.flush();
+		attendanceStatsService.recordAttendanceAdded(program, List.of(sewadar.getZonalId()), Set.of());
+		assertTrue(statsRepository.existsById(sewadar.getZonalId()));
+
+		sewadarService.deleteSewadar(sewadar.getZonalId());
+		entityManager.flush();
+		entityManager.clear();
+
+		assertFalse(statsRepository.existsById(sewadar.getZonalId()));
+	}
+
+	private List<AttendanceResponse> mark(Program program, LocalDate date, String zonalId) {
+		List<AttendanceResponse> responses = attendanceService.markAttendance(AttendanceRequest.builder()
+				.programId(program.getId()).programDate(date).sewadarIds(List.of(zonalId)).build(), admin);
+		entityManager.flush();
+		return responses;
+	}
+
+	private void assertStats(String zonalId, long programs, long days, long beasPrograms, long beasDays) {
+		entityManager.flush();
+		entityManager.clear();
+		AttendanceStats stats = attendanceStatsService.getStatsForSewadar(zonalId);
+		assertEquals(programs, stats.getTotalPrograms());
+		assertEquals(days, stats.getTotalDays());
+		assertEquals(beasPrograms, stats.getBeasPrograms());
+		assertEquals(beasDays, stats.getBeasDays());
+	}
+}
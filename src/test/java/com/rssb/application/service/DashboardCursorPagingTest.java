@@ -0,0 +1,100 @@
+package com.rssb.application.service;
+
+import com.rssb.application.dto.ApplicationDashboardResponse;
+import com.rssb.application.dto.DashboardQueryRequest;
+import com.rssb.application.entity.Program;
+import com.rssb.application.entity.ProgramApplication;
+import com.rssb.application.entity.Sewadar;
+import com.rssb.application.repository.ProgramApplicationRepository;
+import com.rssb.application.repository.ProgramRepository;
+import com.rssb.application.repository.SewadarRepository;
+import com.rssb.application.util.CursorUtil;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Keyset (cursor) pages of the applications dashboard cover every row once, in order, including appliedAt ties.
+ */
+@SpringBootTest(properties = "app.notifications.outbox.dispatch-enabled=false")
+@Transactional
+class DashboardCursorPagingTest {
+
+	@Autowired
+	private DashboardService dashboardService;
+
+	@Autowired
+	private SewadarRepository sewadarRepository;
+
+	@Autowired
+	private ProgramRepository programRepository;
+
+	@Autowired
+	private ProgramApplicationRepository applicationRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Test
+	void cursorPagesCoverEveryApplicationOnce() {
+		String suffix = String.valueOf(System.nanoTime() % 1_000_000_000L);
+		Sewadar creator = sewadarRepository.save(Sewadar.builder()
+				.zonalId("CP-" + suffix).firstName("Cursor").lastName("Paging").mobile("3" + suffix).password("x").build());
+		Program program = programRepository.save(Program.builder()
+				.title("Cursor " + suffix).location("BEAS").createdBy(creator).build());
+		LocalDateTime tie = LocalDateTime.of(2026, 1, 1, 10, 0);
+		List<ProgramApplication> applications = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			Sewadar sewadar = sewadarRepository.save(Sewadar.builder()
+					.zonalId("CP-" + suffix + "-" + i).firstName("S" + i).lastName("Paging").mobile("2" + i + suffix)
+					.password("x").build());
+			// Three applications share the same appliedAt, so the id decides their order
+			applications.add(applicationRepository.save(ProgramApplication.builder()
+					.program(program).sewadar(sewadar).appliedAt(i < 3 ? tie : tie.plusMinutes(i)).build()));
+		}
+		entityManager.flush();
+		entityManager.clear();
+
+		for (String order : List.of("ASC", "DESC")) {
+			Comparator<ProgramApplication> expectedOrder = Comparator.comparing(ProgramApplication::getAppliedAt)
+					.thenComparing(ProgramApplication::getId);
+			List<Long> expected = applications.stream()
+					.sorted("ASC".equals(order) ? expectedOrder : expectedOrder.reversed())
+					.map(ProgramApplication::getId)
+					.toList();
+
+			List<Long> seen = new ArrayList<>();
+			String cursor = null;
+			do {
+				ApplicationDashboardResponse page = dashboardService.getApplications(DashboardQueryRequest.builder()
+						.programId(program.getId()).paginationMode("CURSOR").cursor(cursor).size(2).sortOrder(order)
+						.build(), creator.getZonalId(), "ADMIN");
+				page.getApplications().forEach(item -> seen.add(item.getApplicationId()));
+				cursor = page.getNextCursor();
+			} while (cursor != null);
+
+			assertEquals(expected, seen, order);
+		}
+	}
+
+	@Test
+	void cursorRoundTripsItsParts() {
+		String cursor = CursorUtil.encode("appliedAt", "DESC", null, "id|with|separators");
+		assertArrayEquals(new String[]{"appliedAt", "DESC", "", "id|with|separators"}, CursorUtil.decode(cursor, 4));
+		assertThrows(IllegalArgumentException.class, () -> CursorUtil.decode(CursorUtil.encode("appliedAt", "DESC"), 4));
+		assertThrows(IllegalArgumentException.class, () -> CursorUtil.decode("not base64!", 4));
+		assertFalse(cursor.contains("|"));
+	}
+}
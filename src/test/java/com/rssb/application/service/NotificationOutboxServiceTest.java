@@ -0,0 +1,215 @@
+package com.rssb.application.service;
+
+import com.rssb.application.entity.NotificationOutbox;
+import com.rssb.application.repository.NotificationOutboxRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+/**
+ * The outbox dispatcher claims due rows, records sent ones, retries failures with exponential backoff up to
+ * max-attempts (permanent rejections fail at once) and sends at most max-batches-per-tick batches per run.
+ *
+ * Not @Transactional: sends are recorded from the fan-out threads, which must see the rows. The scheduled run is
+ * switched off, and the tests dispatch with a due-row query limited to their own program ID, so notifications
+ * queued by anything else in the database are neither sent nor touched.
+ */
+@SpringBootTest(properties = {
+		"app.notifications.outbox.dispatch-enabled=false",
+		"app.notifications.outbox.max-attempts=5",
+		"app.notifications.outbox.initial-backoff-seconds=30",
+		"app.notifications.outbox.batch-size=2",
+		"app.notifications.outbox.max-batches-per-tick=2"})
+class NotificationOutboxServiceTest {
+
+	@Autowired
+	private NotificationOutboxService outboxService;
+
+	@Autowired
+	private NotificationOutboxRepository outboxRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@MockitoBean
+	private EmailService emailService;
+
+	@MockitoBean
+	private WhatsAppService whatsAppService;
+
+	private final List<Long> created = new ArrayList<>();
+	private String suffix;
+	private Long programId;
+
+	@BeforeEach
+	void setUp() {
+		suffix = String.valueOf(System.nanoTime() % 1_000_000_000L);
+		// No program has a negative ID, so only this test's rows carry it
+		programId = -Long.parseLong(suffix) - 1;
+		when(emailService.isConfigured()).thenReturn(true);
+		// Addresses containing "fail" are not delivered, the server rejects those containing "reject" for good
+		when(emailService.sendAllAsync(anyList())).thenAnswer(invocation -> {
+			List<EmailService.Message> messages = invocation.getArgument(0);
+			return CompletableFuture.completedFuture(messages.stream()
+					.map(message -> message.to().contains("reject")
+							? new EmailService.Result(false, "550 no such user", true)
+							: message.to().contains("fail")
+							? new EmailService.Result(false, "Connection timed out")
+							: new EmailService.Result(true, null))
+					.toList());
+		});
+	}
+
+	@AfterEach
+	void tearDown() {
+		outboxRepository.deleteAllById(created);
+	}
+
+	@Test
+	void failedSendsAreRetriedWithBackoffUntilMaxAttempts() {
+		Long sent = email("ok");
+		Long failing = email("fail");
+		Long whatsApp = save(NotificationOutbox.builder()
+				.channel(NotificationOutbox.Channel.WHATSAPP).recipient("9" + suffix).message("Hello").build());
+
+		LocalDateTime before = LocalDateTime.now();
+		dispatch();
+
+		NotificationOutbox delivered = outboxRepository.findById(sent).orElseThrow();
+		assertEquals(NotificationOutbox.Status.SENT, delivered.getStatus());
+		assertEquals(1, delivered.getAttempts());
+		assertNotNull(delivered.getSentAt());
+
+		NotificationOutbox retry = outboxRepository.findById(failing).orElseThrow();
+		assertEquals(NotificationOutbox.Status.PENDING, retry.getStatus());
+		assertEquals(1, retry.getAttempts());
+		assertEquals("Connection timed out", retry.getLastError());
+		assertBackoff(retry, before, 30);
+
+		// WhatsApp is not configured (mock), which retrying cannot fix
+		assertEquals(NotificationOutbox.Status.FAILED, outboxRepository.findById(whatsApp).orElseThrow().getStatus());
+
+		// The backoff doubles with every attempt
+		makeDue(failing, 1);
+		before = LocalDateTime.now();
+		dispatch();
+		retry = outboxRepository.findById(failing).orElseThrow();
+		assertEquals(NotificationOutbox.Status.PENDING, retry.getStatus());
+		assertEquals(2, retry.getAttempts());
+		assertBackoff(retry, before, 60);
+
+		// The last allowed attempt fails for good
+		makeDue(failing, 4);
+		dispatch();
+		retry = outboxRepository.findById(failing).orElseThrow();
+		assertEquals(NotificationOutbox.Status.FAILED, retry.getStatus());
+		assertEquals(5, retry.getAttempts());
+	}
+
+	@Test
+	void permanentlyRejectedRecipientFailsWithoutRetry() {
+		Long rejected = email("reject");
+
+		dispatch();
+
+		NotificationOutbox row = outboxRepository.findById(rejected).orElseThrow();
+		assertEquals(NotificationOutbox.Status.FAILED, row.getStatus());
+		assertEquals(1, row.getAttempts());
+		assertEquals("550 no such user", row.getLastError());
+	}
+
+	@Test
+	void expiredClaimOfTheLastAttemptIsNotSentAgain() {
+		// A dispatcher claimed the last attempt and died before recording the outcome
+		Long abandoned = save(NotificationOutbox.builder()
+				.channel(NotificationOutbox.Channel.EMAIL).recipient(address("ok")).subject("Test").message("Hello")
+				.status(NotificationOutbox.Status.SENDING).attempts(5).nextAttemptAt(LocalDateTime.now().minusSeconds(1))
+				.build());
+
+		dispatch();
+
+		NotificationOutbox row = outboxRepository.findById(abandoned).orElseThrow();
+		assertEquals(NotificationOutbox.Status.FAILED, row.getStatus());
+		assertTrue(row.getLastError().startsWith("Gave up"), row.getLastError());
+	}
+
+	@Test
+	void oneRunSendsAtMostMaxBatchesPerTick() {
+		// Two batches of two per run
+		for (int i = 0; i < 5; i++) {
+			email("ok" + i);
+		}
+
+		dispatch();
+		assertEquals(4, countWithStatus(NotificationOutbox.Status.SENT));
+		assertEquals(1, countWithStatus(NotificationOutbox.Status.PENDING));
+
+		// The rest goes out on the next run
+		dispatch();
+		assertEquals(5, countWithStatus(NotificationOutbox.Status.SENT));
+	}
+
+	private void dispatch() {
+		outboxService.dispatch(this::lockDue);
+	}
+
+	// NotificationOutboxRepository.lockDue limited to this test's rows (runs in the dispatcher's claim transaction)
+	@SuppressWarnings("unchecked")
+	private List<NotificationOutbox> lockDue(LocalDateTime now, int limit) {
+		return entityManager.createNativeQuery("SELECT * FROM notification_outbox WHERE program_id = :programId " +
+						"AND status IN ('PENDING', 'SENDING') AND next_attempt_at <= :now " +
+						"ORDER BY next_attempt_at, id LIMIT :limit FOR UPDATE SKIP LOCKED", NotificationOutbox.class)
+				.setParameter("programId", programId)
+				.setParameter("now", now)
+				.setParameter("limit", limit)
+				.getResultList();
+	}
+
+	private Long email(String name) {
+		return save(NotificationOutbox.builder()
+				.channel(NotificationOutbox.Channel.EMAIL).recipient(address(name)).subject("Test").message("Hello").build());
+	}
+
+	private Long save(NotificationOutbox notification) {
+		notification.setProgramId(programId);
+		Long id = outboxRepository.save(notification).getId();
+		created.add(id);
+		return id;
+	}
+
+	private String address(String name) {
+		return "outbox-" + suffix + "-" + name + "@example.com";
+	}
+
+	private void makeDue(Long id, int attempts) {
+		NotificationOutbox notification = outboxRepository.findById(id).orElseThrow();
+		notification.setAttempts(attempts);
+		notification.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+		outboxRepository.save(notification);
+	}
+
+	private long countWithStatus(NotificationOutbox.Status status) {
+		return outboxRepository.findAllById(created).stream().filter(n -> n.getStatus() == status).count();
+	}
+
+	private static void assertBackoff(NotificationOutbox notification, LocalDateTime before, long seconds) {
+		LocalDateTime nextAttemptAt = notification.getNextAttemptAt();
+		assertTrue(!nextAttemptAt.isBefore(before.plusSeconds(seconds - 1))
+				&& !nextAttemptAt.isAfter(LocalDateTime.now().plusSeconds(seconds + 1)), "next attempt at " + nextAttemptAt);
+	}
+}
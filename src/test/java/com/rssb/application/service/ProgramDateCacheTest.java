@@ -0,0 +1,136 @@
+package com.rssb.application.service;
+
+import com.rssb.application.dto.AttendanceGridRequest;
+import com.rssb.application.dto.AttendanceRequest;
+import com.rssb.application.dto.AuthenticatedUser;
+import com.rssb.application.dto.BulkAttendanceResponse;
+import com.rssb.application.dto.ProgramRequest;
+import com.rssb.application.entity.Program;
+import com.rssb.application.entity.ProgramApplication;
+import com.rssb.application.entity.ProgramDate;
+import com.rssb.application.entity.Role;
+import com.rssb.application.entity.Sewadar;
+import com.rssb.application.repository.ProgramApplicationRepository;
+import com.rssb.application.repository.ProgramDateRepository;
+import com.rssb.application.repository.ProgramRepository;
+import com.rssb.application.repository.SewadarRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The cached Program.programDates collection follows date changes made through updateProgram, so attendance (single
+ * date or grid) can be marked on added dates and not on removed ones right away.
+ *
+ * Not @Transactional: the second-level cache is only filled and invalidated when transactions commit, so the test
+ * commits its rows and deletes them afterwards.
+ */
+@SpringBootTest(properties = "app.notifications.outbox.dispatch-enabled=false")
+class ProgramDateCacheTest {
+
+	@Autowired
+	private AttendanceService attendanceService;
+
+	@Autowired
+	private ProgramService programService;
+
+	@Autowired
+	private SewadarRepository sewadarRepository;
+
+	@Autowired
+	private ProgramRepository programRepository;
+
+	@Autowired
+	private ProgramDateRepository programDateRepository;
+
+	@Autowired
+	private ProgramApplicationRepository applicationRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final AuthenticatedUser admin = AuthenticatedUser.builder()
+			.zonalId("ADMIN001").role(Role.ADMIN).expiresAt(Instant.now().plusSeconds(3600)).build();
+
+	private String suffix;
+	private Program program;
+	private LocalDate firstDay;
+
+	@BeforeEach
+	void setUp() {
+		suffix = String.valueOf(System.nanoTime() % 1_000_000_000L);
+		Sewadar sewadar = sewadarRepository.save(Sewadar.builder()
+				.zonalId(zonalId()).firstName("Cache").lastName("Test").password("x").build());
+		program = programRepository.save(Program.builder()
+				.title("Cache " + suffix).location("BEAS").createdBy(sewadar).build());
+		firstDay = LocalDate.now().minusDays(3);
+		for (int d = 0; d < 2; d++) {
+			programDateRepository.save(ProgramDate.builder().program(program).programDate(firstDay.plusDays(d)).build());
+		}
+		applicationRepository.save(ProgramApplication.builder().program(program).sewadar(sewadar).status("APPROVED").build());
+	}
+
+	@AfterEach
+	void tearDown() {
+		Long id = program.getId();
+		jdbcTemplate.update("DELETE FROM attendances WHERE program_id = ?", id);
+		jdbcTemplate.update("DELETE FROM sewadar_attendance_stats WHERE zonal_id = ?", zonalId());
+		jdbcTemplate.update("DELETE FROM program_applications WHERE program_id = ?", id);
+		jdbcTemplate.update("DELETE FROM program_dates WHERE program_id = ?", id);
+		jdbcTemplate.update("DELETE FROM program_workflows WHERE program_id = ?", id);
+		jdbcTemplate.update("DELETE FROM program_notification_preferences WHERE program_id = ?", id);
+		jdbcTemplate.update("DELETE FROM programs WHERE id = ?", id);
+		jdbcTemplate.update("DELETE FROM sewadars WHERE zonal_id = ?", zonalId());
+	}
+
+	@Test
+	void attendanceFollowsUpdatedProgramDates() {
+		// Loads the program's dates into the cache
+		mark(firstDay);
+
+		LocalDate addedDay = firstDay.plusDays(2);
+		programService.updateProgram(program.getId(), ProgramRequest.builder()
+				.title(program.getTitle()).location("BEAS").programDates(List.of(firstDay.plusDays(1), addedDay)).build());
+
+		assertEquals(1, mark(addedDay));
+		assertThrows(IllegalArgumentException.class, () -> mark(firstDay));
+	}
+
+	@Test
+	void gridFollowsUpdatedProgramDates() {
+		mark(firstDay);
+
+		LocalDate addedDay = firstDay.plusDays(2);
+		programService.updateProgram(program.getId(), ProgramRequest.builder()
+				.title(program.getTitle()).location("BEAS").programDates(List.of(firstDay.plusDays(1), addedDay)).build());
+
+		assertEquals(2, markGrid(List.of(firstDay.plusDays(1), addedDay)).getCreatedCount());
+		assertThrows(IllegalArgumentException.class, () -> markGrid(List.of(firstDay)));
+	}
+
+	private BulkAttendanceResponse markGrid(List<LocalDate> dates) {
+		return attendanceService.markAttendanceGrid(AttendanceGridRequest.builder()
+				.programId(program.getId())
+				.sewadars(List.of(new AttendanceGridRequest.SewadarDates(zonalId(), dates)))
+				.build(), admin);
+	}
+
+	private int mark(LocalDate date) {
+		return attendanceService.markAttendance(AttendanceRequest.builder()
+				.programId(program.getId()).programDate(date).sewadarIds(List.of(zonalId())).build(), admin).size();
+	}
+
+	private String zonalId() {
+		return "PC-" + suffix;
+	}
+}
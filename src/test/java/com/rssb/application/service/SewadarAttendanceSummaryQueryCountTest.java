@@ -0,0 +1,90 @@
+package com.rssb.application.service;
+
+import com.rssb.application.dto.SewadarAttendanceSummaryResponse;
+import com.rssb.application.entity.Attendance;
+import com.rssb.application.entity.Program;
+import com.rssb.application.entity.ProgramDate;
+import com.rssb.application.entity.Sewadar;
+import com.rssb.application.repository.AttendanceRepository;
+import com.rssb.application.repository.ProgramDateRepository;
+import com.rssb.application.repository.ProgramRepository;
+import com.rssb.application.repository.SewadarRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pins the number of SQL statements of the sewadar attendance summary,
+ * so it stays independent of how many programs and days the sewadar attended.
+ */
+@SpringBootTest(properties = {
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"app.notifications.outbox.dispatch-enabled=false"})
+@Transactional
+class SewadarAttendanceSummaryQueryCountTest {
+
+	@Autowired
+	private AttendanceService attendanceService;
+
+	@Autowired
+	private SewadarRepository sewadarRepository;
+
+	@Autowired
+	private ProgramRepository programRepository;
+
+	@Autowired
+	private ProgramDateRepository programDateRepository;
+
+	@Autowired
+	private AttendanceRepository attendanceRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void summaryRunsTwoStatementsRegardlessOfHistory() {
+		String suffix = String.valueOf(System.nanoTime() % 1_000_000_000L);
+		String zonalId = "QC-" + suffix;
+		Sewadar sewadar = sewadarRepository.save(Sewadar.builder()
+				.zonalId(zonalId).firstName("Query").lastName("Count").mobile("7" + suffix).password("x").build());
+		for (int p = 0; p < 5; p++) {
+			Program program = programRepository.save(Program.builder()
+					.title("Program " + p).location(p % 2 == 0 ? "BEAS" : "DELHI").createdBy(sewadar).build());
+			for (int d = 0; d < 3; d++) {
+				ProgramDate date = programDateRepository.save(ProgramDate.builder()
+						.program(program).programDate(LocalDate.of(2026, 1, 1).plusDays(p * 10L + d)).build());
+				attendanceRepository.save(Attendance.builder().program(program).programDate(date).sewadar(sewadar).build());
+			}
+		}
+		entityManager.flush();
+		entityManager.clear();
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		SewadarAttendanceSummaryResponse summary = attendanceService.getSewadarAttendanceSummary(zonalId);
+
+		assertEquals(2, statistics.getPrepareStatementCount());
+		assertEquals(0, statistics.getEntityLoadCount());
+		assertEquals(5, summary.getTotalProgramsCount());
+		assertEquals(15, summary.getTotalDaysAttended());
+		assertEquals(3, summary.getBeasProgramsCount());
+		assertEquals(9, summary.getBeasDaysAttended());
+		assertEquals(2, summary.getNonBeasProgramsCount());
+		assertEquals(6, summary.getNonBeasDaysAttended());
+		assertTrue(summary.getBeasAttendances().stream().allMatch(detail -> detail.getDaysParticipated() == 3));
+	}
+}
@@ -0,0 +1,156 @@
+package com.rssb.application.service;
+
+import com.rssb.application.dto.SewadarImportResponse;
+import com.rssb.application.entity.Gender;
+import com.rssb.application.entity.Sewadar;
+import com.rssb.application.entity.SewadarLanguage;
+import com.rssb.application.repository.SewadarRepository;
+import jakarta.persistence.EntityManager;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sewadar import from CSV and XLSX: valid rows are inserted, and every other row is reported with its reason
+ * (invalid values, duplicates within the file and against existing sewadars).
+ */
+@SpringBootTest(properties = "app.notifications.outbox.dispatch-enabled=false")
+@Transactional
+class SewadarImportServiceTest {
+
+	@Autowired
+	private SewadarImportService sewadarImportService;
+
+	@Autowired
+	private SewadarRepository sewadarRepository;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	private String suffix;
+
+	@BeforeEach
+	void setUp() {
+		// Nine digits, so "777" + suffix is a valid Aadhar number
+		suffix = String.format("%09d", System.nanoTime() % 1_000_000_000L);
+	}
+
+	@Test
+	void csvImportsValidRowsAndReportsTheRest() {
+		sewadarRepository.save(Sewadar.builder()
+				.zonalId(zonalId("OLD")).firstName("Existing").lastName("Sewadar").mobile("8" + suffix).password("x").build());
+		entityManager.flush();
+
+		String csv = String.join("\n",
+				"Zonal ID,first_name,lastName,mobile,address1,languages,gender,aadharNumber,joiningDate,password",
+				zonalId("1") + ",Asha,\"Kaur, Jr\",7" + suffix + ",Street 1,Hindi; Punjabi,female,777" + suffix + ",2020-01-31,secret1",
+				zonalId("1") + ",Again,Same ID,,,,,,,",
+				zonalId("OLD") + ",Taken,Zonal ID,,,,,,,",
+				zonalId("5") + ",Same,Mobile,7" + suffix + ",,,,,,",
+				zonalId("6") + ",Bad,Aadhar,,,,,12345,,",
+				zonalId("7") + ",Bad,Date,,,,,,31-01-2020,",
+				zonalId("8") + ",No last name,,,,,,,,",
+				zonalId("9") + ",Bad,Gender,,,,other,,,",
+				zonalId("10") + ",Ravi,Default Password,,,,,,,",
+				",,,,,,,,,");
+
+		SewadarImportResponse response = sewadarImportService.importSewadars("sewadars.csv", utf8(csv));
+
+		assertEquals(9, response.getTotalRows());
+		assertEquals(2, response.getImportedCount());
+		assertEquals(7, response.getFailedCount());
+		Map<Integer, String> errors = response.getErrors().stream()
+				.collect(Collectors.toMap(SewadarImportResponse.RowError::getRowNumber, SewadarImportResponse.RowError::getMessage));
+		assertEquals(List.of(3, 4, 5, 6, 7, 8, 9), errors.keySet().stream().sorted().toList());
+		assertTrue(errors.get(3).contains("already exists"), errors.get(3));
+		assertTrue(errors.get(4).contains("already exists"), errors.get(4));
+		assertTrue(errors.get(5).contains("Mobile"), errors.get(5));
+		assertTrue(errors.get(6).contains("Aadhar"), errors.get(6));
+		assertTrue(errors.get(7).contains("joiningdate"), errors.get(7));
+		assertTrue(errors.get(8).contains("required"), errors.get(8));
+		assertTrue(errors.get(9).contains("Gender"), errors.get(9));
+
+		entityManager.clear();
+		Sewadar imported = sewadarRepository.findByZonalId(zonalId("1")).orElseThrow();
+		assertEquals("Kaur, Jr", imported.getLastName());
+		assertEquals(Gender.FEMALE, imported.getGender());
+		assertEquals(LocalDate.of(2020, 1, 31), imported.getJoiningDate());
+		assertEquals("Street 1", imported.getAddress().getAddress1());
+		assertEquals(List.of("Hindi", "Punjabi"), imported.getLanguages().stream().map(SewadarLanguage::getLanguage).toList());
+		assertTrue(passwordEncoder.matches("secret1", imported.getPassword()));
+		assertTrue(passwordEncoder.matches("password123",
+				sewadarRepository.findByZonalId(zonalId("10")).orElseThrow().getPassword()));
+	}
+
+	@Test
+	void xlsxImportsValidRowsAndReportsDuplicates() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+			Sheet sheet = workbook.createSheet();
+			List<List<String>> rows = List.of(
+					List.of("zonalId", "firstName", "lastName", "mobile"),
+					List.of(zonalId("1"), "Asha", "Kaur", "7" + suffix),
+					List.of(zonalId("2"), "Ravi", "Same Mobile", "7" + suffix),
+					List.of(zonalId("3"), "Meena", "Devi", "6" + suffix));
+			for (int r = 0; r < rows.size(); r++) {
+				Row row = sheet.createRow(r);
+				for (int c = 0; c < rows.get(r).size(); c++) {
+					row.createCell(c).setCellValue(rows.get(r).get(c));
+				}
+			}
+			workbook.write(out);
+		}
+
+		SewadarImportResponse response = sewadarImportService.importSewadars("Sewadars.XLSX",
+				new ByteArrayInputStream(out.toByteArray()));
+
+		assertEquals(3, response.getTotalRows());
+		assertEquals(2, response.getImportedCount());
+		assertEquals(1, response.getErrors().size());
+		assertEquals(3, response.getErrors().get(0).getRowNumber());
+		assertEquals(zonalId("2"), response.getErrors().get(0).getZonalId());
+		entityManager.clear();
+		assertTrue(sewadarRepository.findByZonalId(zonalId("3")).isPresent());
+	}
+
+	@Test
+	void rejectsUnreadableFiles() {
+		assertThrows(IllegalArgumentException.class,
+				() -> sewadarImportService.importSewadars("sewadars.txt", utf8("zonalId,firstName,lastName")));
+		assertThrows(IllegalArgumentException.class,
+				() -> sewadarImportService.importSewadars("sewadars.csv", utf8("zonalId,name\nZ1,Asha")));
+		assertThrows(IllegalArgumentException.class,
+				() -> sewadarImportService.importSewadars("sewadars.csv", utf8("")));
+	}
+
+	private String zonalId(String name) {
+		return "IM-" + suffix + "-" + name;
+	}
+
+	private static InputStream utf8(String text) {
+		return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+	}
+}